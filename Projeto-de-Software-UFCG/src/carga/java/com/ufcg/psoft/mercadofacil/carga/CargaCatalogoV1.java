@@ -0,0 +1,170 @@
+package com.ufcg.psoft.mercadofacil.carga;
+
+import com.ufcg.psoft.mercadofacil.MercadoFacilApplication;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Teste de carga das listagens do catálogo. Sobe a aplicação com a configuração padrão e com o
+ * perfil {@code producao} (HTTP/2, gzip e conector ajustado), carrega os mesmos produtos e
+ * compara vazão, latências e bytes transferidos em {@code GET /v1/produtos} (páginas de
+ * {@code limite} produtos a partir de cursores aleatórios) e em uma exportação NDJSON completa.
+ * O cliente pede gzip e HTTP/2 nos dois casos; cada servidor responde com o que suporta.
+ * <p>
+ * Opções ({@code --nome=valor}): {@code clientes} (64), {@code segundos} (20),
+ * {@code aquecimento} (5), {@code produtos} (50000), {@code limite} (100) e {@code perfis}
+ * ({@code padrao,producao}). Com {@code url} a carga vai para um servidor já em execução e já
+ * carregado.
+ * <pre>./gradlew testeCargaCatalogo -PcargaArgs="--clientes=128 --segundos=30"</pre>
+ */
+public class CargaCatalogoV1 {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = CargaProdutoV1.opcoes(args);
+        int clientes = Integer.parseInt(opcoes.getOrDefault("clientes", "64"));
+        int segundos = Integer.parseInt(opcoes.getOrDefault("segundos", "20"));
+        int aquecimento = Integer.parseInt(opcoes.getOrDefault("aquecimento", "5"));
+        int produtos = Integer.parseInt(opcoes.getOrDefault("produtos", "50000"));
+        int limite = Integer.parseInt(opcoes.getOrDefault("limite", "100"));
+
+        if (opcoes.containsKey("url")) {
+            medir(opcoes.get("url"), opcoes.get("url"), clientes, produtos, limite, aquecimento, segundos);
+            return;
+        }
+        for (String perfil : opcoes.getOrDefault("perfis", "padrao,producao").split(",")) {
+            try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(MercadoFacilApplication.class)
+                    .web(WebApplicationType.SERVLET)
+                    .profiles(perfil.equals("padrao") ? new String[0] : new String[]{perfil})
+                    .properties(
+                            "server.port=0",
+                            "spring.main.banner-mode=off",
+                            "logging.level.root=WARN")
+                    .run()) {
+                carregar(contexto, produtos);
+                int porta = ((ServletWebServerApplicationContext) contexto).getWebServer().getPort();
+                medir(perfil, "http://localhost:" + porta, clientes, produtos, limite, aquecimento, segundos);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void carregar(ConfigurableApplicationContext contexto, int produtos) {
+        ProdutoRepository<Produto, Long> repository = contexto.getBean(ProdutoRepository.class);
+        List<Produto> lote = new ArrayList<>(1000);
+        for (long id = 1; id <= produtos; id++) {
+            lote.add(Produto.builder()
+                    .id(id)
+                    .nome("Produto " + id)
+                    .codigoBarra(String.valueOf(7_890_000_000_000L + id))
+                    .fabricante("Empresa " + id % 10)
+                    .preco(1.0 + id % 1000)
+                    .build());
+            if (lote.size() == 1000 || id == produtos) {
+                repository.saveAll(lote);
+                lote.clear();
+            }
+        }
+    }
+
+    static void medir(String nome, String url, int clientes, int produtos, int limite, int aquecimento, int segundos)
+            throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest[] paginas = new HttpRequest[Math.max(1, produtos / limite)];
+        for (int i = 0; i < paginas.length; i++) {
+            paginas[i] = HttpRequest.newBuilder(URI.create(url + "/v1/produtos?limite=" + limite + "&depoisDe=" + (long) i * limite))
+                    .header("Accept", "application/json")
+                    .header("Accept-Encoding", "gzip")
+                    .GET()
+                    .build();
+        }
+        rodar(http, paginas, clientes, aquecimento);
+        Medicao medicao = rodar(http, paginas, clientes, segundos);
+        CargaProdutoV1.Resultado resultado = medicao.resultado;
+        System.out.printf(Locale.ROOT,
+                "%-12s %s gzip=%s paginas: rps=%.0f p50=%.2fms p99=%.2fms erros=%d bytes/resposta=%d MB/s=%.1f%n",
+                nome, medicao.versao, medicao.comprimido, resultado.rps(), resultado.p50() / 1e6,
+                resultado.p99() / 1e6, resultado.erros(), medicao.bytes / Math.max(1, resultado.total()),
+                medicao.bytes / 1e6 / segundos);
+
+        HttpRequest exportacao = HttpRequest.newBuilder(URI.create(url + "/v1/produtos"))
+                .header("Accept", "application/x-ndjson")
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+        long antes = System.nanoTime();
+        HttpResponse<byte[]> resposta = http.send(exportacao, HttpResponse.BodyHandlers.ofByteArray());
+        System.out.printf(Locale.ROOT, "%-12s exportacao: status=%d bytes=%d tempo=%.0fms%n",
+                nome, resposta.statusCode(), resposta.body().length, (System.nanoTime() - antes) / 1e6);
+    }
+
+    private static Medicao rodar(HttpClient http, HttpRequest[] requisicoes, int clientes, int segundos)
+            throws Exception {
+        long inicio = System.nanoTime();
+        long fim = inicio + Duration.ofSeconds(segundos).toNanos();
+        AtomicLong erros = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        AtomicReference<HttpResponse<byte[]>> ultima = new AtomicReference<>();
+        CargaProdutoV1.Latencias[] latencias = new CargaProdutoV1.Latencias[clientes];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?>[] tarefas = new Future<?>[clientes];
+            for (int c = 0; c < clientes; c++) {
+                CargaProdutoV1.Latencias minhas = latencias[c] = new CargaProdutoV1.Latencias();
+                tarefas[c] = executor.submit(() -> {
+                    ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                    while (System.nanoTime() < fim) {
+                        HttpRequest requisicao = requisicoes[aleatorio.nextInt(requisicoes.length)];
+                        long antes = System.nanoTime();
+                        try {
+                            // O corpo não é descomprimido: o tamanho é o que passou pela rede.
+                            HttpResponse<byte[]> resposta = http.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+                            if (resposta.statusCode() != 200) {
+                                erros.incrementAndGet();
+                            }
+                            bytes.addAndGet(resposta.body().length);
+                            ultima.set(resposta);
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                        }
+                        minhas.add(System.nanoTime() - antes);
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+        HttpResponse<byte[]> exemplo = ultima.get();
+        return new Medicao(
+                CargaProdutoV1.Resultado.de(latencias, erros.get(), System.nanoTime() - inicio),
+                bytes.get(),
+                exemplo == null ? "-" : exemplo.version().toString(),
+                exemplo != null && exemplo.headers().firstValue("Content-Encoding").orElse("").equals("gzip"));
+    }
+
+    private record Medicao(CargaProdutoV1.Resultado resultado, long bytes, String versao, boolean comprimido) {
+    }
+}
@@ -0,0 +1,183 @@
+package com.ufcg.psoft.mercadofacil.carga;
+
+import com.ufcg.psoft.mercadofacil.MercadoFacilApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga de {@code PUT /v1/produtos/{id}}. Sobe a aplicação em cada modo de execução
+ * (threads de plataforma e threads virtuais), dispara requisições com um número fixo de
+ * clientes concorrentes e informa vazão e latências p50/p99/p99.9.
+ * <p>
+ * Opções ({@code --nome=valor}): {@code clientes} (256), {@code segundos} (20),
+ * {@code aquecimento} (5), {@code produtos} (10000) e {@code modos}
+ * ({@code plataforma,virtual}). Com {@code url} a carga vai para um servidor já em execução.
+ * <pre>./gradlew testeCarga -PcargaArgs="--clientes=512 --segundos=30"</pre>
+ */
+public class CargaProdutoV1 {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = opcoes(args);
+        int clientes = Integer.parseInt(opcoes.getOrDefault("clientes", "256"));
+        int segundos = Integer.parseInt(opcoes.getOrDefault("segundos", "20"));
+        int aquecimento = Integer.parseInt(opcoes.getOrDefault("aquecimento", "5"));
+        int produtos = Integer.parseInt(opcoes.getOrDefault("produtos", "10000"));
+
+        if (opcoes.containsKey("url")) {
+            Resultado resultado = medir(opcoes.get("url"), clientes, produtos, aquecimento, segundos);
+            imprimir(opcoes.get("url"), resultado);
+            return;
+        }
+        for (String modo : opcoes.getOrDefault("modos", "plataforma,virtual").split(",")) {
+            try (var contexto = new SpringApplicationBuilder(MercadoFacilApplication.class)
+                    .web(WebApplicationType.SERVLET)
+                    .properties(
+                            "server.port=0",
+                            "spring.main.banner-mode=off",
+                            "logging.level.root=WARN",
+                            "mercadofacil.threads-virtuais.habilitado=" + modo.equals("virtual"))
+                    .run()) {
+                int porta = ((ServletWebServerApplicationContext) contexto).getWebServer().getPort();
+                Resultado resultado = medir("http://localhost:" + porta, clientes, produtos, aquecimento, segundos);
+                imprimir(modo, resultado);
+            }
+        }
+    }
+
+    static Resultado medir(String url, int clientes, int produtos, int aquecimento, int segundos) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest[] requisicoes = new HttpRequest[produtos];
+        for (int i = 0; i < produtos; i++) {
+            long id = i + 1L;
+            requisicoes[i] = HttpRequest.newBuilder(URI.create(url + "/v1/produtos/" + id))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(corpo(id), StandardCharsets.UTF_8))
+                    .build();
+        }
+        rodar(http, requisicoes, clientes, aquecimento);
+        return rodar(http, requisicoes, clientes, segundos);
+    }
+
+    private static Resultado rodar(HttpClient http, HttpRequest[] requisicoes, int clientes, int segundos)
+            throws Exception {
+        long inicio = System.nanoTime();
+        long fim = inicio + Duration.ofSeconds(segundos).toNanos();
+        AtomicLong erros = new AtomicLong();
+        Latencias[] latencias = new Latencias[clientes];
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?>[] tarefas = new Future<?>[clientes];
+            for (int c = 0; c < clientes; c++) {
+                Latencias minhas = latencias[c] = new Latencias();
+                tarefas[c] = executor.submit(() -> {
+                    ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                    while (System.nanoTime() < fim) {
+                        HttpRequest requisicao = requisicoes[aleatorio.nextInt(requisicoes.length)];
+                        long antes = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() != 200) {
+                                erros.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            erros.incrementAndGet();
+                        }
+                        minhas.add(System.nanoTime() - antes);
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+        return Resultado.de(latencias, erros.get(), System.nanoTime() - inicio);
+    }
+
+    static String corpo(long id) {
+        String semVerificador = String.format("7899137%05d", id % 100_000);
+        int soma = 0;
+        for (int i = 0; i < 12; i++) {
+            int digito = semVerificador.charAt(i) - '0';
+            soma += (i & 1) == 0 ? digito : digito * 3;
+        }
+        String codigoBarra = semVerificador + (10 - soma % 10) % 10;
+        return String.format(Locale.ROOT,
+                "{\"id\":%d,\"nome\":\"Produto %d\",\"preco\":%.2f,\"codigoBarra\":\"%s\",\"fabricante\":\"Empresa %d\"}",
+                id, id, 1.0 + id % 1000, codigoBarra, id % 10);
+    }
+
+    private static void imprimir(String modo, Resultado resultado) {
+        System.out.printf(Locale.ROOT,
+                "%-12s requisicoes=%d erros=%d rps=%.0f p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                modo, resultado.total, resultado.erros, resultado.rps,
+                resultado.p50 / 1e6, resultado.p99 / 1e6, resultado.p999 / 1e6, resultado.max / 1e6);
+    }
+
+    static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                opcoes.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return opcoes;
+    }
+
+    static final class Latencias {
+        long[] valores = new long[1024];
+        int tamanho;
+
+        void add(long nanos) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = nanos;
+        }
+    }
+
+    record Resultado(long total, long erros, double rps, long p50, long p99, long p999, long max) {
+
+        static Resultado de(Latencias[] porCliente, long erros, long duracaoNanos) {
+            int total = 0;
+            for (Latencias latencias : porCliente) {
+                total += latencias.tamanho;
+            }
+            long[] todas = new long[total];
+            int posicao = 0;
+            for (Latencias latencias : porCliente) {
+                System.arraycopy(latencias.valores, 0, todas, posicao, latencias.tamanho);
+                posicao += latencias.tamanho;
+            }
+            Arrays.sort(todas);
+            if (total == 0) {
+                return new Resultado(0, erros, 0, 0, 0, 0, 0);
+            }
+            return new Resultado(total, erros, total / (duracaoNanos / 1e9),
+                    percentil(todas, 0.50), percentil(todas, 0.99), percentil(todas, 0.999), todas[total - 1]);
+        }
+
+        private static long percentil(long[] ordenadas, double p) {
+            return ordenadas[Math.min(ordenadas.length - 1, (int) Math.ceil(p * ordenadas.length) - 1)];
+        }
+    }
+}
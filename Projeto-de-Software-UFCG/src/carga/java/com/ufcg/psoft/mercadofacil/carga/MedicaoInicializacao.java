@@ -0,0 +1,200 @@
+package com.ufcg.psoft.mercadofacil.carga;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Mede, para cada forma de executar a aplicação, o tempo entre iniciar o processo e
+ * {@code /actuator/health} responder, o tempo até o primeiro {@code PUT /v1/produtos/{id}} bem
+ * sucedido, e a memória residente (RSS) logo após subir e depois de uma rodada de requisições.
+ * Cada alvo é iniciado {@code rodadas} vezes e a mediana é informada. A memória é lida de
+ * {@code /proc}, então só é medida no Linux.
+ * <p>
+ * Alvos: {@code jvm} (jar executável), {@code aot} (jar de {@code build/rapido} com as
+ * definições de beans geradas pelo AOT), {@code cds} (o mesmo, com o arquivo de classes do
+ * CDS; se o arquivo não existe ou é mais antigo que o jar, é gerado antes por {@link #treinar})
+ * e {@code nativo}.
+ * <p>
+ * Opções ({@code --nome=valor}): {@code jar}, {@code rapido}, {@code cds} e {@code nativo}
+ * (caminhos dos arquivos de cada alvo), {@code alvos} ({@code jvm,aot,cds,nativo}),
+ * {@code rodadas} (5) e {@code requisicoes} (2000). Alvos cujo arquivo não existe são pulados.
+ * Com {@code treinar=true}, apenas (re)gera o arquivo do CDS.
+ * <pre>./gradlew inicializacaoRapida nativeCompile medirInicializacao</pre>
+ */
+public class MedicaoInicializacao {
+
+    private static final Duration LIMITE_INICIALIZACAO = Duration.ofSeconds(120);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = CargaProdutoV1.opcoes(args);
+        int rodadas = Integer.parseInt(opcoes.getOrDefault("rodadas", "5"));
+        int requisicoes = Integer.parseInt(opcoes.getOrDefault("requisicoes", "2000"));
+        String java = java();
+        String rapido = opcoes.getOrDefault("rapido", "");
+        Path cds = Path.of(opcoes.getOrDefault("cds", rapido.replaceFirst("\\.jar$", ".jsa")));
+        if (Boolean.parseBoolean(opcoes.getOrDefault("treinar", "false"))) {
+            treinar(Path.of(rapido), cds, requisicoes);
+            return;
+        }
+
+        for (String alvo : opcoes.getOrDefault("alvos", "jvm,aot,cds,nativo").split(",")) {
+            List<String> comando = switch (alvo) {
+                case "jvm" -> List.of(java, "-jar", opcoes.getOrDefault("jar", ""));
+                case "aot" -> List.of(java, "-Dspring.aot.enabled=true", "-jar", rapido);
+                case "cds" -> List.of(java, "-XX:SharedArchiveFile=" + cds, "-Dspring.aot.enabled=true", "-jar", rapido);
+                case "nativo" -> List.of(opcoes.getOrDefault("nativo", ""));
+                default -> throw new IllegalArgumentException("Alvo desconhecido: " + alvo);
+            };
+            Path arquivo = Path.of(comando.get(comando.size() - 1));
+            if (!Files.isRegularFile(arquivo)) {
+                System.out.printf("%-8s pulado: %s não existe%n", alvo, arquivo);
+                continue;
+            }
+            if (alvo.equals("cds") && (!Files.isRegularFile(cds)
+                    || Files.getLastModifiedTime(cds).compareTo(Files.getLastModifiedTime(arquivo)) < 0)) {
+                treinar(Path.of(rapido), cds, requisicoes);
+            }
+            Medida[] medidas = new Medida[rodadas];
+            for (int i = 0; i < rodadas; i++) {
+                medidas[i] = medir(comando, requisicoes);
+            }
+            imprimir(alvo, medidas);
+        }
+    }
+
+    /**
+     * Rodada de treino do CDS: sobe o jar com as definições do AOT, exercita as rotas principais
+     * e encerra a aplicação normalmente, quando a JVM grava em {@code arquivo} as classes que
+     * carregou. O arquivo só vale para a mesma JVM e o mesmo classpath.
+     */
+    static void treinar(Path rapido, Path arquivo, int requisicoes) throws Exception {
+        Files.deleteIfExists(arquivo);
+        medir(List.of(java(), "-XX:ArchiveClassesAtExit=" + arquivo, "-Dspring.aot.enabled=true", "-jar",
+                rapido.toString()), requisicoes);
+        if (!Files.isRegularFile(arquivo)) {
+            throw new IllegalStateException("A JVM não gerou o arquivo do CDS: " + arquivo);
+        }
+        System.out.printf("%-8s arquivo gerado: %s (%d KB)%n", "cds", arquivo, Files.size(arquivo) / 1024);
+    }
+
+    static Medida medir(List<String> comando, int requisicoes) throws Exception {
+        int porta = portaLivre();
+        String url = "http://localhost:" + porta;
+        List<String> completo = new ArrayList<>(comando);
+        completo.addAll(List.of(
+                "--server.port=" + porta,
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN"));
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest saude = HttpRequest.newBuilder(URI.create(url + "/actuator/health")).build();
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(completo)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            aguardar(processo, http, saude, inicio, comando);
+            long pronto = System.nanoTime() - inicio;
+            aguardar(processo, http, escrita(url, 1), inicio, comando);
+            long primeiraEscrita = System.nanoTime() - inicio;
+            long rssInicial = memoria(processo.pid(), "VmRSS");
+            for (int i = 0; i < requisicoes; i++) {
+                long id = i % 100 + 1;
+                HttpRequest requisicao = switch (i % 3) {
+                    case 0 -> escrita(url, id);
+                    case 1 -> HttpRequest.newBuilder(URI.create(url + "/v1/produtos/" + id)).build();
+                    default -> HttpRequest.newBuilder(URI.create(url + "/v1/produtos?limite=20")).build();
+                };
+                http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+            }
+            return new Medida(pronto, primeiraEscrita, rssInicial,
+                    memoria(processo.pid(), "VmRSS"), memoria(processo.pid(), "VmHWM"));
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    private static HttpRequest escrita(String url, long id) {
+        return HttpRequest.newBuilder(URI.create(url + "/v1/produtos/" + id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(CargaProdutoV1.corpo(id), StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static void aguardar(Process processo, HttpClient http, HttpRequest requisicao, long inicio,
+            List<String> comando) throws InterruptedException {
+        while (!responde(http, requisicao)) {
+            if (!processo.isAlive() || System.nanoTime() - inicio > LIMITE_INICIALIZACAO.toNanos()) {
+                throw new IllegalStateException("A aplicação não subiu: " + String.join(" ", comando));
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static boolean responde(HttpClient http, HttpRequest requisicao) throws InterruptedException {
+        try {
+            return http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static String java() {
+        return ProcessHandle.current().info().command().orElse("java");
+    }
+
+    // Em kB, ou -1 fora do Linux.
+    private static long memoria(long pid, String campo) {
+        try {
+            for (String linha : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (linha.startsWith(campo + ":")) {
+                    return Long.parseLong(linha.substring(campo.length() + 1).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        return -1;
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    static void imprimir(String alvo, Medida[] medidas) {
+        System.out.printf(Locale.ROOT,
+                "%-8s rodadas=%d pronto=%.0fms primeiro-put=%.0fms rss.inicial=%.0fMB rss.apos-carga=%.0fMB rss.pico=%.0fMB%n",
+                alvo, medidas.length,
+                mediana(medidas, Medida::pronto) / 1e6,
+                mediana(medidas, Medida::primeiraEscrita) / 1e6,
+                mediana(medidas, Medida::rssInicial) / 1024.0,
+                mediana(medidas, Medida::rssAposCarga) / 1024.0,
+                mediana(medidas, Medida::rssPico) / 1024.0);
+    }
+
+    private static long mediana(Medida[] medidas, ToLongFunction<Medida> valor) {
+        long[] valores = Arrays.stream(medidas).mapToLong(valor).sorted().toArray();
+        return valores[valores.length / 2];
+    }
+
+    record Medida(long pronto, long primeiraEscrita, long rssInicial, long rssAposCarga, long rssPico) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.ufcg.psoft.mercadofacil;
+
+import com.ufcg.psoft.mercadofacil.model.Cliente;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+
+/**
+ * Massa de dados determinística compartilhada pelos benchmarks.
+ */
+public final class DadosBenchmark {
+
+    private static final String[] FABRICANTES = {
+            "Empresa Um", "Empresa Dois", "Empresa Tres", "Empresa Quatro", "Empresa Cinco",
+            "Empresa Seis", "Empresa Sete", "Empresa Oito", "Empresa Nove", "Empresa Dez"
+    };
+
+    private DadosBenchmark() {
+    }
+
+    /** Produto com código de barras único em todo o intervalo de ids, mas fora da empresa 9137. */
+    public static Produto produto(long id) {
+        return Produto.builder()
+                .id(id)
+                .nome("Produto " + id)
+                .codigoBarra(codigoBarra(789_000_000_000L + id))
+                .fabricante(FABRICANTES[(int) (id % FABRICANTES.length)])
+                .preco(1.0 + id % 1000)
+                .build();
+    }
+
+    /** Produto que passa pelas regras de ProdutoAlterarImplService; ids de 0 a 99.999. */
+    public static Produto produtoValido(long id) {
+        return produto(id).toBuilder()
+                .codigoBarra(codigoBarra(789_913_700_000L + id))
+                .build();
+    }
+
+    public static Lote lote(long id, Produto produto) {
+        return Lote.builder()
+                .id(id)
+                .produto(produto)
+                .numeroDeItens((int) (id % 500))
+                .build();
+    }
+
+    /**
+     * Cliente com CPF único em todo o intervalo de ids ({@link #cpf(long)}). Nome e endereço
+     * são compartilhados entre clientes para que massas de milhões caibam na memória.
+     */
+    public static Cliente cliente(long id) {
+        return Cliente.builder()
+                .id(id)
+                .cpf(cpf(id))
+                .nome(FABRICANTES[(int) (id % FABRICANTES.length)].replace("Empresa", "Cliente"))
+                .idade((int) (18 + id % 80))
+                .endereco("Rua Aprígio Veloso, 882")
+                .build();
+    }
+
+    /** CPF de 11 dígitos, distinto para cada id até 10^10, espalhado pelo intervalo. */
+    public static long cpf(long id) {
+        return 10_000_000_000L + (id * 7_919L) % 90_000_000_000L;
+    }
+
+    /** Completa os 12 primeiros dígitos de um EAN-13 com o dígito verificador. */
+    public static String codigoBarra(long semVerificador) {
+        char[] digitos = new char[13];
+        int soma = 0;
+        long resto = semVerificador;
+        for (int i = 11; i >= 0; i--) {
+            int digito = (int) (resto % 10);
+            resto /= 10;
+            digitos[i] = (char) ('0' + digito);
+            soma += (i & 1) == 0 ? digito : digito * 3;
+        }
+        digitos[12] = (char) ('0' + (10 - soma % 10) % 10);
+        return new String(digitos);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ufcg.psoft.mercadofacil.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.mercadofacil.DadosBenchmark;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificação e decodificação de uma lista de registros em JSON (ObjectMapper configurado como
+ * o do Spring) e no formato binário dos codecs. O tamanho de cada carga é impresso no início.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormatoBenchmark {
+
+    private static final int REGISTROS = 100;
+
+    @Param({"json", "binario"})
+    String formato;
+
+    @Param({"produto", "lote"})
+    String tipo;
+
+    ObjectMapper objectMapper;
+    JavaType tipoJson;
+    Codec<Object> codec;
+    List<Object> registros;
+    byte[] carga;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        registros = new ArrayList<>(REGISTROS);
+        for (long id = 1; id <= REGISTROS; id++) {
+            Produto produto = DadosBenchmark.produto(id).toBuilder().versao(id).build();
+            registros.add(tipo.equals("produto") ? produto : DadosBenchmark.lote(id, produto));
+        }
+        Class<?> classe = tipo.equals("produto") ? Produto.class : Lote.class;
+        tipoJson = objectMapper.getTypeFactory().constructCollectionType(List.class, classe);
+        codec = (Codec<Object>) (tipo.equals("produto") ? new ProdutoCodec() : new LoteCodec());
+        carga = codificar();
+        System.out.printf("%n%s de %d %ss: %d bytes%n", formato, REGISTROS, tipo, carga.length);
+    }
+
+    @Benchmark
+    public byte[] codificar() throws IOException {
+        if (formato.equals("json")) {
+            return objectMapper.writeValueAsBytes(registros);
+        }
+        SaidaBinaria saida = new SaidaBinaria(64 * REGISTROS);
+        Codec.escreverSequencia(registros.iterator(), codec, saida);
+        return saida.toByteArray();
+    }
+
+    @Benchmark
+    public List<?> decodificar() throws IOException {
+        if (formato.equals("json")) {
+            return objectMapper.readValue(carga, tipoJson);
+        }
+        return Codec.lerSequencia(codec, new EntradaBinaria(carga));
+    }
+}
@@ -0,0 +1,75 @@
+package com.ufcg.psoft.mercadofacil.metricas;
+
+import com.ufcg.psoft.mercadofacil.DadosBenchmark;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoRepository;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoVolatilRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do {@link MetricasInterceptor} sobre {@code ProdutoRepository.find}: repositório direto,
+ * atrás de um proxy sem interceptadores e atrás do proxy com as métricas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricasInterceptorBenchmark {
+
+    private static final int PRODUTOS = 10_000;
+
+    ProdutoRepository<Produto, Long> direto;
+    ProdutoRepository<Produto, Long> proxy;
+    ProdutoRepository<Produto, Long> instrumentado;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        direto = new ProdutoVolatilRepository();
+        for (long id = 1; id <= PRODUTOS; id++) {
+            direto.save(DadosBenchmark.produto(id));
+        }
+        proxy = (ProdutoRepository<Produto, Long>) new ProxyFactory(direto).getProxy();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ProxyFactory fabrica = new ProxyFactory(direto);
+        fabrica.addAdvisor(MetricasInterceptor.repositorio(() -> registry));
+        instrumentado = (ProdutoRepository<Produto, Long>) fabrica.getProxy();
+    }
+
+    @Benchmark
+    public Produto direto() {
+        return direto.find(id());
+    }
+
+    @Benchmark
+    public Produto proxy() {
+        return proxy.find(id());
+    }
+
+    @Benchmark
+    public Produto instrumentado() {
+        return instrumentado.find(id());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Produto instrumentadoConcorrente() {
+        return instrumentado.find(id());
+    }
+
+    private static long id() {
+        return ThreadLocalRandom.current().nextLong(1, PRODUTOS + 1L);
+    }
+}
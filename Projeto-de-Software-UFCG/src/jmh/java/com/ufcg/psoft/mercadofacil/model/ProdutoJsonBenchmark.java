@@ -0,0 +1,45 @@
+package com.ufcg.psoft.mercadofacil.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.mercadofacil.DadosBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização e desserialização de Produto com um ObjectMapper configurado como o do Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProdutoJsonBenchmark {
+
+    ObjectMapper objectMapper;
+    Produto produto;
+    byte[] json;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        produto = DadosBenchmark.produtoValido(10L);
+        json = objectMapper.writeValueAsBytes(produto);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        return objectMapper.writeValueAsBytes(produto);
+    }
+
+    @Benchmark
+    public Produto desserializar() throws IOException {
+        return objectMapper.readValue(json, Produto.class);
+    }
+}
@@ -0,0 +1,113 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.DadosBenchmark;
+import com.ufcg.psoft.mercadofacil.alteracoes.AlteracoesDescartadasException;
+import com.ufcg.psoft.mercadofacil.alteracoes.PublicadorAlteracoes;
+import com.ufcg.psoft.mercadofacil.alteracoes.RegistroAlteracoes;
+import com.ufcg.psoft.mercadofacil.model.Alteracao;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da publicação de alterações no caminho de escrita: o mesmo repositório de produtos
+ * sem publicação ({@code nenhum}), publicando no registro sem consumidores
+ * ({@code registro}) e com um consumidor que lê devagar e fica para trás
+ * ({@code consumidorLento}), caso em que quem escreve não deve desacelerar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AlteracoesBenchmark {
+
+    private static final int PRODUTOS = 100_000;
+    private static final int AMOSTRA = 1024;
+
+    @Param({"nenhum", "registro", "consumidorLento"})
+    String publicador;
+
+    ProdutoVolatilRepository repository;
+    Produto[] amostra;
+    Thread consumidor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        repository = new ProdutoVolatilRepository();
+        for (long id = 1; id <= PRODUTOS; id++) {
+            repository.save(DadosBenchmark.produto(id));
+        }
+        if (!publicador.equals("nenhum")) {
+            RegistroAlteracoes registro = new RegistroAlteracoes(65_536);
+            repository.alteracoes = registro;
+            if (publicador.equals("consumidorLento")) {
+                consumidor = new Thread(() -> consumir(registro), "consumidor-lento");
+                consumidor.setDaemon(true);
+                consumidor.start();
+            }
+        } else {
+            repository.alteracoes = PublicadorAlteracoes.NENHUM;
+        }
+        amostra = new Produto[AMOSTRA];
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        for (int i = 0; i < AMOSTRA; i++) {
+            amostra[i] = DadosBenchmark.produto(aleatorio.nextLong(1, PRODUTOS + 1L));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (consumidor != null) {
+            consumidor.interrupt();
+        }
+    }
+
+    // O preço muda a cada chamada: um produto igual ao guardado não é regravado nem publicado.
+    @Benchmark
+    public Produto update() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        return repository.update(amostra[aleatorio.nextInt(AMOSTRA)]
+                .toBuilder()
+                .preco(aleatorio.nextInt(1, 1_000_000))
+                .build());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Produto updateConcorrente() {
+        return update();
+    }
+
+    // Lê 64 alterações por milissegundo, bem menos do que se publica, e recomeça do início
+    // disponível quando é ultrapassado.
+    private static void consumir(RegistroAlteracoes registro) {
+        long ultima = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Alteracao> lidas = registro.ler(ultima, 64);
+                if (lidas.isEmpty()) {
+                    registro.aguardar(ultima, 100, TimeUnit.MILLISECONDS);
+                } else {
+                    ultima = lidas.get(lidas.size() - 1).getSequencia();
+                    Thread.sleep(1);
+                }
+            } catch (AlteracoesDescartadasException e) {
+                ultima = e.getPrimeiraDisponivel() - 1;
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+}
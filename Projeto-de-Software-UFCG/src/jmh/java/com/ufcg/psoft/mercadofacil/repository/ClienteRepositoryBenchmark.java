@@ -0,0 +1,70 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.DadosBenchmark;
+import com.ufcg.psoft.mercadofacil.model.Cliente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de ClienteRepository por id e por CPF sobre repositórios pré-carregados com até
+ * 10 milhões de clientes. O tempo médio por consulta deve ficar estável entre os tamanhos; a
+ * diferença que sobra vem das faltas de cache, não do número de clientes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(jvmArgsAppend = "-Xmx4g")
+public class ClienteRepositoryBenchmark {
+
+    @Param({"1000", "1000000", "10000000"})
+    int registros;
+
+    ClienteRepository<Cliente, Long> repository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        repository = new ClienteVolatilRepository();
+        for (long id = 1; id <= registros; id++) {
+            repository.save(DadosBenchmark.cliente(id));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Benchmark
+    public Cliente find() {
+        return repository.find(ThreadLocalRandom.current().nextLong(1, registros + 1L));
+    }
+
+    @Benchmark
+    public Cliente findByCpf() {
+        return repository.findByCpf(DadosBenchmark.cpf(ThreadLocalRandom.current().nextLong(1, registros + 1L)));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Cliente findByCpfConcorrente() {
+        return findByCpf();
+    }
+
+    @Benchmark
+    public Cliente findByCpfAusente() {
+        return repository.findByCpf(DadosBenchmark.cpf(ThreadLocalRandom.current().nextLong(registros + 1L, 2L * registros + 2)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retirada de itens por {@link LoteRepository#alterarItens} com uma thread e com 64 threads,
+ * todas no mesmo lote ou espalhadas entre {@value #LOTES} lotes.
+ * <p>
+ * Ao fim de cada iteração, os itens retirados com sucesso são comparados com o que falta no
+ * estoque; se alguma atualização se perdeu, o benchmark falha.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoteEstoqueBenchmark {
+
+    private static final int LOTES = 1024;
+    private static final int ESTOQUE = 2_000_000_000;
+    private static final long LOTE_QUENTE = 1L;
+
+    @Param({"volatil", "mapeado"})
+    String implementacao;
+
+    LoteRepository<Lote, Long> repository;
+    LongAdder retirados;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        repository = LoteRepositoryBenchmark.criar(implementacao, new Produto[0]);
+        retirados = new LongAdder();
+    }
+
+    @Setup(Level.Iteration)
+    public void reabastecer() {
+        for (long id = 1; id <= LOTES; id++) {
+            repository.update(Lote.builder().id(id).numeroDeItens(ESTOQUE).build());
+        }
+        retirados.reset();
+    }
+
+    @TearDown(Level.Iteration)
+    public void conferir() {
+        long restante = 0;
+        for (long id = 1; id <= LOTES; id++) {
+            restante += repository.find(id).getNumeroDeItens();
+        }
+        long esperado = (long) ESTOQUE * LOTES - retirados.sum();
+        if (restante != esperado) {
+            throw new IllegalStateException(
+                    "Atualizações perdidas: restam " + restante + " itens, esperados " + esperado);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.deleteAll();
+        if (repository instanceof Closeable arquivo) {
+            arquivo.close();
+        }
+    }
+
+    @Benchmark
+    public int loteQuente() {
+        return retirar(LOTE_QUENTE);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public int loteQuenteConcorrente() {
+        return retirar(LOTE_QUENTE);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public int lotesEspalhadosConcorrente() {
+        return retirar(ThreadLocalRandom.current().nextLong(1, LOTES + 1L));
+    }
+
+    private int retirar(long id) {
+        int itens = repository.alterarItens(id, -1);
+        if (itens >= 0) {
+            retirados.increment();
+        }
+        return itens;
+    }
+}
@@ -0,0 +1,181 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.DadosBenchmark;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Operações de LoteRepository sobre repositórios pré-carregados. Os métodos com sufixo
+ * {@code Concorrente} rodam com uma thread por processador disponível.
+ * <p>
+ * Para comparar um novo motor de armazenamento, acrescente-o em {@link #criar} e em
+ * {@code implementacao}. O repositório {@code mapeado} usa um arquivo temporário; para medir
+ * um disco específico, use {@code -Djava.io.tmpdir=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoteRepositoryBenchmark {
+
+    private static final int PRODUTOS = 1000;
+
+    @Param({"volatil", "mapeado"})
+    String implementacao;
+
+    @Param({"1000", "100000", "1000000"})
+    int registros;
+
+    LoteRepository<Lote, Long> repository;
+    Produto[] produtos;
+    AtomicLong proximoId;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        produtos = new Produto[PRODUTOS];
+        for (int i = 0; i < PRODUTOS; i++) {
+            produtos[i] = DadosBenchmark.produto(i + 1);
+        }
+        repository = criar(implementacao, produtos);
+        for (long id = 1; id <= registros; id++) {
+            repository.save(DadosBenchmark.lote(id, produtos[(int) (id % PRODUTOS)]));
+        }
+        proximoId = new AtomicLong(registros);
+    }
+
+    @TearDown(Level.Iteration)
+    public void removerInseridos() {
+        for (long id = registros + 1L; id <= proximoId.get(); id++) {
+            repository.delete(Lote.builder().id(id).build());
+        }
+        proximoId.set(registros);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.deleteAll();
+        if (repository instanceof Closeable arquivo) {
+            arquivo.close();
+        }
+    }
+
+    static LoteRepository<Lote, Long> criar(String implementacao, Produto[] produtos) throws IOException {
+        switch (implementacao) {
+            case "volatil":
+                return new LoteVolatilRepository();
+            case "mapeado":
+                Path arquivo = Files.createTempFile("lotes", ".dat");
+                Files.delete(arquivo);
+                arquivo.toFile().deleteOnExit();
+                LoteMapeadoRepository mapeado = new LoteMapeadoRepository(arquivo.toString());
+                mapeado.produtoRepository = new ProdutoVolatilRepository();
+                mapeado.produtoRepository.saveAll(Arrays.asList(produtos));
+                return mapeado;
+            default:
+                throw new IllegalArgumentException("Implementação desconhecida: " + implementacao);
+        }
+    }
+
+    @Benchmark
+    public Lote find() {
+        return repository.find(idExistente());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Lote findConcorrente() {
+        return find();
+    }
+
+    @Benchmark
+    public Lote save() {
+        long id = proximoId.incrementAndGet();
+        return repository.save(DadosBenchmark.lote(id, produtos[(int) (id % PRODUTOS)]));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Lote saveConcorrente() {
+        return save();
+    }
+
+    @Benchmark
+    public Lote update() {
+        long id = idExistente();
+        return repository.update(DadosBenchmark.lote(id, produtos[(int) (id % PRODUTOS)]));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Lote updateConcorrente() {
+        return update();
+    }
+
+    @Benchmark
+    public List<Lote> findAll() {
+        return repository.findAll();
+    }
+
+    /**
+     * Total de itens em estoque: varredura dos registros no repositório mapeado e soma sobre
+     * {@code streamAll} nos demais.
+     */
+    @Benchmark
+    public long totalDeItens() {
+        if (repository instanceof LoteMapeadoRepository mapeado) {
+            return mapeado.totalDeItens();
+        }
+        try (var lotes = repository.streamAll()) {
+            return lotes.mapToLong(Lote::getNumeroDeItens).sum();
+        }
+    }
+
+    /**
+     * Estoque de um produto pelo índice mantido a cada escrita.
+     */
+    @Benchmark
+    public long estoqueDoProduto() {
+        return repository.totalDeItens(produtoAleatorio());
+    }
+
+    /**
+     * Estoque de um produto somando os lotes de {@code streamAll}, como antes do índice.
+     */
+    @Benchmark
+    public long estoqueDoProdutoPorVarredura() {
+        long produtoId = produtoAleatorio();
+        try (var lotes = repository.streamAll()) {
+            return lotes.filter(lote -> lote.getProduto().getId() == produtoId)
+                    .mapToLong(Lote::getNumeroDeItens)
+                    .sum();
+        }
+    }
+
+    private long produtoAleatorio() {
+        return ThreadLocalRandom.current().nextLong(1, PRODUTOS + 1L);
+    }
+
+    private long idExistente() {
+        return ThreadLocalRandom.current().nextLong(1, registros + 1L);
+    }
+}
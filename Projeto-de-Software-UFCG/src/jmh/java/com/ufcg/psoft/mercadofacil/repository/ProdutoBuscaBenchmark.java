@@ -0,0 +1,74 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca por texto em um catálogo pré-carregado: uma consulta seletiva (um produto), uma ampla
+ * (um décimo do catálogo, da qual se lê só a primeira página) e a página seguinte da ampla.
+ * A memória estimada do índice é impressa na preparação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProdutoBuscaBenchmark {
+
+    private static final int LIMITE = 20;
+
+    @Param({"1000000"})
+    int registros;
+
+    ProdutoVolatilRepository repository;
+    String seletiva;
+    Long cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        repository = new ProdutoVolatilRepository();
+        ProdutoDuravelRepositoryBenchmark.carregar(repository, registros);
+        seletiva = "produto " + (registros / 2 + 7);
+        List<Produto> primeira = repository.findByTexto("empresa sete", null, LIMITE);
+        cursor = primeira.get(LIMITE - 1).getId();
+        System.out.printf("%nÍndice de texto: %d bytes (%.1f por produto)%n",
+                repository.memoriaIndiceTexto(), repository.memoriaIndiceTexto() / (double) registros);
+    }
+
+    @Benchmark
+    public List<Produto> buscaSeletiva() {
+        return repository.findByTexto(seletiva, null, LIMITE);
+    }
+
+    @Benchmark
+    public List<Produto> buscaAmpla() {
+        return repository.findByTexto("empresa sete", null, LIMITE);
+    }
+
+    @Benchmark
+    public List<Produto> buscaAmplaPaginaSeguinte() {
+        return repository.findByTexto("empresa sete", cursor, LIMITE);
+    }
+
+    /**
+     * Referência sem índice: percorre o catálogo com {@code String.contains}.
+     */
+    @Benchmark
+    public List<Produto> buscaSeletivaPorVarredura() {
+        String termo = seletiva.substring("produto ".length());
+        try (var produtos = repository.streamAll()) {
+            return produtos.filter(produto -> produto.getNome().toLowerCase().contains(termo))
+                    .limit(LIMITE)
+                    .toList();
+        }
+    }
+}
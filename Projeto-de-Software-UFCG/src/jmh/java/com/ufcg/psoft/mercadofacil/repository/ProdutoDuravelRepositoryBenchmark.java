@@ -0,0 +1,146 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.DadosBenchmark;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Vazão de escrita do repositório durável com uma e com 64 threads (em que o group commit
+ * divide cada {@code fsync} entre várias escritas) e tempo de recuperação na inicialização.
+ * <p>
+ * Os arquivos ficam em um diretório temporário; para medir um disco específico, use
+ * {@code -Djava.io.tmpdir=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProdutoDuravelRepositoryBenchmark {
+
+    private static final int AMOSTRA = 1024;
+    private static final long REGISTROS_POR_INSTANTANEO = 100_000;
+
+    @Param({"100000"})
+    int registros;
+
+    Path diretorio;
+    ProdutoDuravelRepository repository;
+    Produto[] amostra;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        diretorio = Files.createTempDirectory("produtos-duravel");
+        repository = new ProdutoDuravelRepository(diretorio.toString(), REGISTROS_POR_INSTANTANEO);
+        carregar(repository, registros);
+        amostra = new Produto[AMOSTRA];
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        for (int i = 0; i < AMOSTRA; i++) {
+            amostra[i] = DadosBenchmark.produto(aleatorio.nextLong(1, registros + 1L))
+                    .toBuilder()
+                    .preco(aleatorio.nextInt(1, 1000))
+                    .build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.close();
+        apagar(diretorio);
+    }
+
+    @Benchmark
+    public Produto update() {
+        return repository.update(amostra[ThreadLocalRandom.current().nextInt(AMOSTRA)]);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Produto updateConcorrente() {
+        return repository.update(amostra[ThreadLocalRandom.current().nextInt(AMOSTRA)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long recuperar(Recuperacao recuperacao) throws IOException {
+        try (ProdutoDuravelRepository recuperado =
+                     new ProdutoDuravelRepository(recuperacao.diretorio.toString(), Long.MAX_VALUE)) {
+            return recuperado.getArmazenamento().getRegistrosRecuperados();
+        }
+    }
+
+    /**
+     * Diretório com um instantâneo de {@code produtos} produtos seguido de {@code cauda}
+     * registros no diário.
+     */
+    @State(Scope.Benchmark)
+    public static class Recuperacao {
+
+        @Param({"100000", "1000000"})
+        int produtos;
+
+        @Param({"0", "100000"})
+        int cauda;
+
+        Path diretorio;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            diretorio = Files.createTempDirectory("produtos-recuperacao");
+            try (ProdutoDuravelRepository repository =
+                         new ProdutoDuravelRepository(diretorio.toString(), Long.MAX_VALUE)) {
+                carregar(repository, produtos);
+                repository.getArmazenamento().instantaneo();
+                List<Produto> alterados = new ArrayList<>(cauda);
+                for (int i = 0; i < cauda; i++) {
+                    alterados.add(DadosBenchmark.produto(i % produtos + 1L).toBuilder().preco(i + 1).build());
+                }
+                repository.updateAll(alterados);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            apagar(diretorio);
+        }
+    }
+
+    static void carregar(ProdutoRepository<Produto, Long> repository, int registros) {
+        List<Produto> lote = new ArrayList<>(10_000);
+        for (long id = 1; id <= registros; id++) {
+            lote.add(DadosBenchmark.produto(id));
+            if (lote.size() == 10_000) {
+                repository.saveAll(lote);
+                lote.clear();
+            }
+        }
+        repository.saveAll(lote);
+    }
+
+    static void apagar(Path diretorio) throws IOException {
+        try (Stream<Path> arquivos = Files.walk(diretorio)) {
+            for (Path arquivo : arquivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(arquivo);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.DadosBenchmark;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Operações de ProdutoRepository sobre repositórios pré-carregados. Os métodos com sufixo
+ * {@code Concorrente} rodam com uma thread por processador disponível.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProdutoRepositoryBenchmark {
+
+    private static final int AMOSTRA = 1024;
+    private static final int PAGINA = 20;
+
+    @Param({"volatil", "cache"})
+    String implementacao;
+
+    @Param({"1000", "100000", "1000000"})
+    int registros;
+
+    ProdutoRepository<Produto, Long> repository;
+    Produto[] amostra;
+    AtomicLong proximoId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        repository = criar(implementacao);
+        for (long id = 1; id <= registros; id++) {
+            repository.save(DadosBenchmark.produto(id));
+        }
+        amostra = new Produto[AMOSTRA];
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        for (int i = 0; i < AMOSTRA; i++) {
+            amostra[i] = DadosBenchmark.produto(aleatorio.nextLong(1, registros + 1L))
+                    .toBuilder()
+                    .preco(aleatorio.nextInt(1, 1000))
+                    .build();
+        }
+        proximoId = new AtomicLong(registros);
+    }
+
+    @TearDown(Level.Iteration)
+    public void removerInseridos() {
+        for (long id = registros + 1L; id <= proximoId.get(); id++) {
+            repository.delete(Produto.builder().id(id).build());
+        }
+        proximoId.set(registros);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        repository.deleteAll();
+    }
+
+    static ProdutoRepository<Produto, Long> criar(String implementacao) {
+        switch (implementacao) {
+            case "volatil":
+                return new ProdutoVolatilRepository();
+            case "cache":
+                return new ProdutoCacheRepository(new ProdutoVolatilRepository(), 10_000);
+            default:
+                throw new IllegalArgumentException("Implementação desconhecida: " + implementacao);
+        }
+    }
+
+    @Benchmark
+    public Produto find() {
+        return repository.find(ThreadLocalRandom.current().nextLong(1, registros + 1L));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Produto findConcorrente() {
+        return find();
+    }
+
+    @Benchmark
+    public Produto findByCodigoBarra() {
+        return repository.findByCodigoBarra(amostraAleatoria().getCodigoBarra());
+    }
+
+    @Benchmark
+    public Produto save() {
+        return repository.save(DadosBenchmark.produto(proximoId.incrementAndGet()));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Produto saveConcorrente() {
+        return save();
+    }
+
+    @Benchmark
+    public Produto update() {
+        return repository.update(amostraAleatoria());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Produto updateConcorrente() {
+        return update();
+    }
+
+    @Benchmark
+    public List<Produto> findAll() {
+        return repository.findAll();
+    }
+
+    /**
+     * Uma página de 20 produtos a partir de um cursor aleatório; compare com {@link #findAll()}.
+     */
+    @Benchmark
+    public List<Produto> findPage() {
+        return repository.findPage(ThreadLocalRandom.current().nextLong(registros), PAGINA);
+    }
+
+    @Benchmark
+    public List<Double> findPageProjetado() {
+        return repository.findPage(ThreadLocalRandom.current().nextLong(registros), PAGINA, Produto::getPreco);
+    }
+
+    private Produto amostraAleatoria() {
+        return amostra[ThreadLocalRandom.current().nextInt(AMOSTRA)];
+    }
+}
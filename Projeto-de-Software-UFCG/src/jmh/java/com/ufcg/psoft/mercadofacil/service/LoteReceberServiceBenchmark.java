@@ -0,0 +1,116 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.repository.LoteDuravelRepository;
+import com.ufcg.psoft.mercadofacil.repository.LoteRepository;
+import com.ufcg.psoft.mercadofacil.repository.LoteVolatilRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Vazão sustentada de cadastro de lotes: gravação chamada a chamada com
+ * {@link LoteRepository#save} contra a fila de recebimento, que grava em grupos. Nos métodos
+ * {@code receber}, a espera por vaga na fila prende quem envia à vazão de gravação; o que
+ * sobra na fila ao fim de uma iteração (no máximo {@value #CAPACIDADE} lotes) é gravado antes
+ * da seguinte.
+ * <p>
+ * O repositório {@code duravel} usa um diretório temporário; para medir um disco específico,
+ * use {@code -Djava.io.tmpdir=...}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LoteReceberServiceBenchmark {
+
+    private static final int CAPACIDADE = 16_384;
+    private static final int TAMANHO_GRUPO = 512;
+    private static final long ESPERA_MS = 60_000;
+
+    @Param({"volatil", "duravel"})
+    String implementacao;
+
+    Path diretorio;
+    LoteRepository<Lote, Long> repository;
+    LoteReceberImplService service;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        if (implementacao.equals("duravel")) {
+            diretorio = Files.createTempDirectory("lotes-recebimento");
+            repository = new LoteDuravelRepository(diretorio.toString(), Long.MAX_VALUE);
+        } else {
+            repository = new LoteVolatilRepository();
+        }
+        service = new LoteReceberImplService(repository, CAPACIDADE, TAMANHO_GRUPO, ESPERA_MS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void esvaziarFila() {
+        while (service.getPendentes() > 0) {
+            Thread.onSpinWait();
+        }
+        // O último grupo drenado pode estar sendo gravado; um lote de sentinela espera por ele.
+        service.receber(novoLote()).join();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        service.close();
+        repository.deleteAll();
+        if (repository instanceof Closeable arquivo) {
+            arquivo.close();
+        }
+        if (diretorio != null) {
+            try (Stream<Path> arquivos = Files.walk(diretorio)) {
+                for (Path arquivo : arquivos.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(arquivo);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Lote salvar() {
+        return repository.save(novoLote());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Lote salvarConcorrente() {
+        return salvar();
+    }
+
+    @Benchmark
+    public CompletableFuture<Lote> receber() {
+        return service.receber(novoLote());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public CompletableFuture<Lote> receberConcorrente() {
+        return receber();
+    }
+
+    private static Lote novoLote() {
+        return Lote.builder().numeroDeItens(ThreadLocalRandom.current().nextInt(1, 500)).build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.DadosBenchmark;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoVolatilRepository;
+import com.ufcg.psoft.mercadofacil.validacao.CodigoBarraValidator;
+import com.ufcg.psoft.mercadofacil.validacao.RegrasProduto;
+import com.ufcg.psoft.mercadofacil.validacao.ValidadorProduto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão de ProdutoAlterarImplService.alterar com produtos válidos, sobre o repositório volátil.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProdutoAlterarServiceBenchmark {
+
+    private static final int PRODUTOS = 100_000;
+    private static final int AMOSTRA = 1024;
+
+    ProdutoAlterarImplService service;
+    Produto[] amostra;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        service = new ProdutoAlterarImplService();
+        service.produtoRepository = new ProdutoVolatilRepository();
+        service.validadorProduto = new ValidadorProduto(RegrasProduto.padrao(new CodigoBarraValidator()));
+        for (long id = 0; id < PRODUTOS; id++) {
+            service.produtoRepository.save(DadosBenchmark.produtoValido(id));
+        }
+        amostra = new Produto[AMOSTRA];
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        for (int i = 0; i < AMOSTRA; i++) {
+            amostra[i] = DadosBenchmark.produtoValido(aleatorio.nextLong(PRODUTOS))
+                    .toBuilder()
+                    .preco(aleatorio.nextInt(1, 1000))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public Produto alterar() {
+        return service.alterar(amostra[ThreadLocalRandom.current().nextInt(AMOSTRA)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Produto alterarConcorrente() {
+        return alterar();
+    }
+}
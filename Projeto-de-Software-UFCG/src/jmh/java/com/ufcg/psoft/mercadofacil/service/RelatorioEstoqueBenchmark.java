@@ -0,0 +1,83 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.DadosBenchmark;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.model.ValorEstoque;
+import com.ufcg.psoft.mercadofacil.repository.LoteVolatilRepository;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoVolatilRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Valor do estoque por fabricante com {@value #PRODUTOS} produtos e até 10 milhões de lotes:
+ * pelo relatório, com 1 e 4 threads, e percorrendo todos os lotes em uma thread, como seria
+ * sem os totais por produto.
+ * <p>
+ * O ganho com mais threads só aparece com processadores livres para elas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = "-Xmx4g")
+public class RelatorioEstoqueBenchmark {
+
+    private static final int PRODUTOS = 100_000;
+
+    @Param({"1000000", "10000000"})
+    int lotes;
+
+    @Param({"1", "4"})
+    int paralelismo;
+
+    RelatorioEstoqueImplService service;
+    LoteVolatilRepository loteRepository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ProdutoVolatilRepository produtoRepository = new ProdutoVolatilRepository();
+        Produto[] produtos = new Produto[PRODUTOS];
+        for (int id = 0; id < PRODUTOS; id++) {
+            produtos[id] = produtoRepository.save(DadosBenchmark.produto(id));
+        }
+        loteRepository = new LoteVolatilRepository();
+        for (long id = 1; id <= lotes; id++) {
+            loteRepository.save(DadosBenchmark.lote(id, produtos[(int) (id % PRODUTOS)]));
+        }
+        service = new RelatorioEstoqueImplService(paralelismo);
+        service.produtoRepository = produtoRepository;
+        service.loteRepository = loteRepository;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public List<ValorEstoque> relatorio() {
+        return service.valorPorFabricante();
+    }
+
+    @Benchmark
+    public Map<String, Double> percorrerLotes() {
+        Map<String, Double> valores = new HashMap<>();
+        loteRepository.streamAll().forEach(lote -> valores.merge(lote.getProduto().getFabricante(),
+                lote.getNumeroDeItens() * lote.getProduto().getPreco(), Double::sum));
+        return valores;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ufcg.psoft.mercadofacil.validacao;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o validador de EAN-13 com a validação que existia em ProdutoAlterarImplService.
+ * Rode com {@code ./gradlew jmh -PjmhIncludes=CodigoBarraValidatorBenchmark -PjmhProfilers=gc}
+ * para ver também a alocação por operação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CodigoBarraValidatorBenchmark {
+
+    @Param({"7899137500100", "7899137545674", "1119137550604"})
+    String codigoBarra;
+
+    CodigoBarraValidator validator;
+
+    @Setup
+    public void setup() {
+        validator = new CodigoBarraValidator();
+    }
+
+    @Benchmark
+    public CodigoBarraValidacao validator() {
+        return validator.validar(codigoBarra);
+    }
+
+    /** Cópia fiel da validação original, inclusive o laço que nunca preenchia os dígitos. */
+    @Benchmark
+    public int legado() {
+        if (codigoBarra.length() != 13) {
+            return 1;
+        }
+        if (!codigoBarra.substring(0, 3).equals("789")) {
+            return 2;
+        }
+        if (!codigoBarra.substring(4, 8).equals("91357")) {
+            return 3;
+        }
+        String[] strArray = codigoBarra.split("");
+        int[] digitos = new int[13];
+        for (int i = 13; i <= 0; i--) {
+            digitos[i] = Integer.parseInt(strArray[i]);
+        }
+        return somaLegada(digitos);
+    }
+
+    /** Validação que o validador substitui, com o prefixo da empresa e o laço já corrigidos. */
+    @Benchmark
+    public int legadoCorrigido() {
+        if (codigoBarra.length() != 13) {
+            return 1;
+        }
+        if (!codigoBarra.substring(0, 3).equals("789")) {
+            return 2;
+        }
+        if (!codigoBarra.substring(3, 7).equals("9137")) {
+            return 3;
+        }
+        String[] strArray = codigoBarra.split("");
+        int[] digitos = new int[13];
+        for (int i = 12; i >= 0; i--) {
+            digitos[i] = Integer.parseInt(strArray[i]);
+        }
+        return somaLegada(digitos);
+    }
+
+    private static int somaLegada(int[] digitos) {
+        int soma1 = 0;
+        for (int ii = 1; ii < 13; ii += 2) {
+            soma1 += digitos[ii];
+        }
+        soma1 *= 3;
+        int soma2 = 0;
+        for (int iii = 2; iii < 13; iii += 2) {
+            soma2 += digitos[iii];
+        }
+        return (soma1 + soma2 + digitos[0]) % 10;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ufcg.psoft.mercadofacil.alteracoes;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * O consumidor pediu alterações que já saíram do registro, ou passou um cursor de outra
+ * execução. Ele deve recarregar o estado completo e continuar com o cursor
+ * {@link #getDepoisDe()}, anterior a {@link #getPrimeiraDisponivel()}.
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class AlteracoesDescartadasException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long primeiraDisponivel;
+    private final String depoisDe;
+
+    public AlteracoesDescartadasException(long primeiraDisponivel, String depoisDe) {
+        super("Alterações descartadas!", null, false, false);
+        this.primeiraDisponivel = primeiraDisponivel;
+        this.depoisDe = depoisDe;
+    }
+
+    public long getPrimeiraDisponivel() {
+        return primeiraDisponivel;
+    }
+
+    public String getDepoisDe() {
+        return depoisDe;
+    }
+}
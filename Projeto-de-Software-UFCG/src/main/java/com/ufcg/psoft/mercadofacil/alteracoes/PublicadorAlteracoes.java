@@ -0,0 +1,29 @@
+package com.ufcg.psoft.mercadofacil.alteracoes;
+
+import com.ufcg.psoft.mercadofacil.model.Alteracao;
+
+/**
+ * Destino das alterações gravadas pelos repositórios. Os repositórios publicam sob a trava do
+ * registro alterado, de modo que, para um mesmo id, a ordem das sequências é a ordem das
+ * escritas; por isso a publicação não pode bloquear.
+ */
+@FunctionalInterface
+public interface PublicadorAlteracoes {
+
+    PublicadorAlteracoes NENHUM = (entidade, tipo, id, dados, delta) -> {
+    };
+
+    void publicar(Alteracao.Entidade entidade, Alteracao.Tipo tipo, Long id, Object dados, Integer delta);
+
+    default void salvo(Alteracao.Entidade entidade, Long id, Object dados) {
+        publicar(entidade, Alteracao.Tipo.SALVO, id, dados, null);
+    }
+
+    default void removido(Alteracao.Entidade entidade, Long id) {
+        publicar(entidade, Alteracao.Tipo.REMOVIDO, id, null, null);
+    }
+
+    default void limpo(Alteracao.Entidade entidade) {
+        publicar(entidade, Alteracao.Tipo.LIMPO, null, null, null);
+    }
+}
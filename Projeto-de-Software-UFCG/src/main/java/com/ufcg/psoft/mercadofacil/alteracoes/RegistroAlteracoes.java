@@ -0,0 +1,193 @@
+package com.ufcg.psoft.mercadofacil.alteracoes;
+
+import com.ufcg.psoft.mercadofacil.model.Alteracao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registro das últimas alterações em um anel de tamanho fixo (potência de dois), no estilo do
+ * Disruptor: cada publicação reserva a próxima sequência com um incremento atômico e grava a
+ * alteração na posição {@code sequencia & mascara}. Quem publica nunca espera por quem lê; um
+ * consumidor que ficar mais de uma volta para trás recebe
+ * {@link AlteracoesDescartadasException} e deve recomeçar do estado completo.
+ * <p>
+ * Os leitores veem apenas o prefixo contínuo já publicado: a leitura para na primeira
+ * sequência reservada e ainda não gravada. Consumidores em dia esperam em uma
+ * {@link Condition}; quem publica só a sinaliza se houver alguém esperando e se conseguir a
+ * trava sem esperar, e os consumidores conferem o anel a cada {@value #VERIFICACAO_MS} ms para
+ * não dependerem de um sinal perdido.
+ * <p>
+ * As sequências começam em 1 a cada inicialização; por isso, os cursores entregues aos
+ * consumidores levam a época da execução antes da sequência ({@code época-sequência}), e um
+ * cursor de outra execução é recusado com {@link AlteracoesDescartadasException}.
+ */
+@Component
+public class RegistroAlteracoes implements PublicadorAlteracoes {
+
+    static final long VERIFICACAO_MS = 10;
+
+    private final AtomicReferenceArray<Alteracao> anel;
+    private final int mascara;
+    private final String epoca;
+    private final AtomicLong ultima = new AtomicLong();
+    private final AtomicInteger aguardando = new AtomicInteger();
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition novaAlteracao = trava.newCondition();
+
+    @Autowired
+    public RegistroAlteracoes(@Value("${mercadofacil.alteracoes.capacidade:65536}") int capacidade) {
+        this(capacidade, Long.toString(System.currentTimeMillis(), Character.MAX_RADIX));
+    }
+
+    RegistroAlteracoes(int capacidade, String epoca) {
+        if (capacidade < 1 || capacidade > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacidade);
+        }
+        int tamanho = capacidade == 1 ? 1 : Integer.highestOneBit(capacidade - 1) << 1;
+        this.anel = new AtomicReferenceArray<>(tamanho);
+        this.mascara = tamanho - 1;
+        this.epoca = epoca;
+    }
+
+    @Override
+    public void publicar(Alteracao.Entidade entidade, Alteracao.Tipo tipo, Long id, Object dados, Integer delta) {
+        long sequencia = ultima.incrementAndGet();
+        Alteracao alteracao = Alteracao.builder()
+                .sequencia(sequencia)
+                .entidade(entidade)
+                .tipo(tipo)
+                .id(id)
+                .dados(dados)
+                .delta(delta)
+                .build();
+        int indice = (int) sequencia & mascara;
+        Alteracao atual;
+        do {
+            atual = anel.get(indice);
+            // Quem publicou uma volta depois já ocupou a posição; esta alteração se perdeu.
+            if (atual != null && atual.getSequencia() > sequencia) {
+                return;
+            }
+        } while (!anel.compareAndSet(indice, atual, alteracao));
+        if (aguardando.get() > 0 && trava.tryLock()) {
+            try {
+                novaAlteracao.signalAll();
+            } finally {
+                trava.unlock();
+            }
+        }
+    }
+
+    /**
+     * Até {@code limite} alterações com sequência maior que {@code depoisDe}, em ordem.
+     *
+     * @throws AlteracoesDescartadasException se alguma delas já saiu do anel
+     */
+    public List<Alteracao> ler(long depoisDe, int limite) {
+        if (depoisDe < 0 || depoisDe > ultima.get() || depoisDe + 1 < primeiraDisponivel()) {
+            throw descartadas();
+        }
+        List<Alteracao> lidas = new ArrayList<>(Math.min(limite, 256));
+        for (long sequencia = depoisDe + 1; lidas.size() < limite; sequencia++) {
+            Alteracao alteracao = anel.get((int) sequencia & mascara);
+            if (alteracao == null || alteracao.getSequencia() < sequencia) {
+                break;
+            }
+            if (alteracao.getSequencia() > sequencia) {
+                throw descartadas();
+            }
+            lidas.add(alteracao);
+        }
+        return lidas;
+    }
+
+    /**
+     * Espera até que a alteração seguinte a {@code depoisDe} seja publicada.
+     *
+     * @return false se o tempo acabar antes
+     */
+    public boolean aguardar(long depoisDe, long espera, TimeUnit unidade) throws InterruptedException {
+        if (publicada(depoisDe + 1)) {
+            return true;
+        }
+        long limite = System.nanoTime() + unidade.toNanos(espera);
+        aguardando.incrementAndGet();
+        trava.lock();
+        try {
+            while (!publicada(depoisDe + 1)) {
+                long restante = limite - System.nanoTime();
+                if (restante <= 0) {
+                    return false;
+                }
+                novaAlteracao.awaitNanos(Math.min(restante, TimeUnit.MILLISECONDS.toNanos(VERIFICACAO_MS)));
+            }
+            return true;
+        } finally {
+            trava.unlock();
+            aguardando.decrementAndGet();
+        }
+    }
+
+    /**
+     * Sequência da última alteração reservada; um consumidor novo começa depois dela.
+     */
+    public long getUltima() {
+        return ultima.get();
+    }
+
+    public long primeiraDisponivel() {
+        return Math.max(1, ultima.get() - anel.length() + 1);
+    }
+
+    public int getCapacidade() {
+        return anel.length();
+    }
+
+    public String getEpoca() {
+        return epoca;
+    }
+
+    /**
+     * Cursor de um consumidor que já leu até {@code sequencia}.
+     */
+    public String cursor(long sequencia) {
+        return epoca + '-' + sequencia;
+    }
+
+    /**
+     * Sequência de um cursor entregue por {@link #cursor(long)}.
+     *
+     * @throws AlteracoesDescartadasException se o cursor não é desta execução
+     */
+    public long sequencia(String cursor) {
+        int separador = cursor.lastIndexOf('-');
+        if (separador != epoca.length() || !cursor.startsWith(epoca)) {
+            throw descartadas();
+        }
+        try {
+            return Long.parseLong(cursor, separador + 1, cursor.length(), 10);
+        } catch (NumberFormatException e) {
+            throw descartadas();
+        }
+    }
+
+    private AlteracoesDescartadasException descartadas() {
+        long primeira = primeiraDisponivel();
+        return new AlteracoesDescartadasException(primeira, cursor(primeira - 1));
+    }
+
+    private boolean publicada(long sequencia) {
+        Alteracao alteracao = anel.get((int) sequencia & mascara);
+        return alteracao != null && alteracao.getSequencia() >= sequencia;
+    }
+}
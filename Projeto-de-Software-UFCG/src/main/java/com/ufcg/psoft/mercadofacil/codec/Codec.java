@@ -0,0 +1,73 @@
+package com.ufcg.psoft.mercadofacil.codec;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Codificação binária compacta de um tipo do modelo, com esquema fixo (sem nomes de campos).
+ */
+public interface Codec<T> {
+
+    void escrever(T valor, DataOutput saida) throws IOException;
+
+    T ler(Entrada entrada) throws IOException;
+
+    /**
+     * Versão do esquema. Deve mudar sempre que os campos escritos mudarem, para que dados
+     * persistidos com outro esquema sejam recusados em vez de lidos errado.
+     */
+    default int versao() {
+        return 1;
+    }
+
+    static void escreverTexto(String texto, DataOutput saida) throws IOException {
+        if (texto == null) {
+            saida.writeInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        saida.writeInt(bytes.length);
+        saida.write(bytes);
+    }
+
+    static String lerTexto(Entrada entrada) throws IOException {
+        int tamanho = entrada.lerInt();
+        return tamanho < 0 ? null : entrada.lerTexto(tamanho);
+    }
+
+    static void escreverId(Long id, DataOutput saida) throws IOException {
+        saida.writeBoolean(id != null);
+        if (id != null) {
+            saida.writeLong(id);
+        }
+    }
+
+    static Long lerId(Entrada entrada) throws IOException {
+        return entrada.lerBooleano() ? entrada.lerLong() : null;
+    }
+
+    /**
+     * Escreve cada valor precedido de {@code true} e, ao final, {@code false}, de modo que a
+     * sequência pode ser escrita sem conhecer seu tamanho.
+     */
+    static <T> void escreverSequencia(Iterator<? extends T> valores, Codec<T> codec, DataOutput saida)
+            throws IOException {
+        while (valores.hasNext()) {
+            saida.writeBoolean(true);
+            codec.escrever(valores.next(), saida);
+        }
+        saida.writeBoolean(false);
+    }
+
+    static <T> List<T> lerSequencia(Codec<T> codec, Entrada entrada) throws IOException {
+        List<T> valores = new ArrayList<>();
+        while (entrada.lerBooleano()) {
+            valores.add(codec.ler(entrada));
+        }
+        return valores;
+    }
+}
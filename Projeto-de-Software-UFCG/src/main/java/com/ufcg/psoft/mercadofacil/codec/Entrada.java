@@ -0,0 +1,28 @@
+package com.ufcg.psoft.mercadofacil.codec;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+/**
+ * As leituras de que os codecs precisam. {@link EntradaBinaria} as faz direto sobre um array;
+ * {@link #de(DataInput)} adapta um fluxo, como o instantâneo lido do disco.
+ */
+public interface Entrada {
+
+    boolean lerBooleano() throws IOException;
+
+    int lerInt() throws IOException;
+
+    long lerLong() throws IOException;
+
+    double lerDouble() throws IOException;
+
+    /**
+     * Os próximos {@code quantidade} bytes, decodificados como UTF-8.
+     */
+    String lerTexto(int quantidade) throws IOException;
+
+    static Entrada de(DataInput entrada) {
+        return new EntradaFluxo(entrada);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ufcg.psoft.mercadofacil.codec;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link Entrada} sobre um array já lido, par de {@link SaidaBinaria}. Lança
+ * {@link EOFException} ao tentar ler além do fim, antes de alocar qualquer texto.
+ */
+public final class EntradaBinaria implements Entrada {
+
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final byte[] bytes;
+    private final int fim;
+    private int posicao;
+
+    public EntradaBinaria(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    public EntradaBinaria(byte[] bytes, int inicio, int quantidade) {
+        this.bytes = bytes;
+        this.posicao = inicio;
+        this.fim = inicio + quantidade;
+    }
+
+    @Override
+    public boolean lerBooleano() throws IOException {
+        exigir(1);
+        return bytes[posicao++] != 0;
+    }
+
+    @Override
+    public int lerInt() throws IOException {
+        exigir(4);
+        int valor = (int) INT.get(bytes, posicao);
+        posicao += 4;
+        return valor;
+    }
+
+    @Override
+    public long lerLong() throws IOException {
+        exigir(8);
+        long valor = (long) LONG.get(bytes, posicao);
+        posicao += 8;
+        return valor;
+    }
+
+    @Override
+    public double lerDouble() throws IOException {
+        return Double.longBitsToDouble(lerLong());
+    }
+
+    /**
+     * Decodifica direto do array, sem cópia intermediária.
+     */
+    @Override
+    public String lerTexto(int quantidade) throws IOException {
+        exigir(quantidade);
+        String texto = new String(bytes, posicao, quantidade, StandardCharsets.UTF_8);
+        posicao += quantidade;
+        return texto;
+    }
+
+    private void exigir(int quantidade) throws EOFException {
+        if (quantidade > fim - posicao) {
+            throw new EOFException();
+        }
+    }
+}
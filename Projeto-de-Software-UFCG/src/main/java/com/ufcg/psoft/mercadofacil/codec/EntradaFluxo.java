@@ -0,0 +1,44 @@
+package com.ufcg.psoft.mercadofacil.codec;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link Entrada} sobre um {@link DataInput}.
+ */
+final class EntradaFluxo implements Entrada {
+
+    private final DataInput entrada;
+
+    EntradaFluxo(DataInput entrada) {
+        this.entrada = entrada;
+    }
+
+    @Override
+    public boolean lerBooleano() throws IOException {
+        return entrada.readBoolean();
+    }
+
+    @Override
+    public int lerInt() throws IOException {
+        return entrada.readInt();
+    }
+
+    @Override
+    public long lerLong() throws IOException {
+        return entrada.readLong();
+    }
+
+    @Override
+    public double lerDouble() throws IOException {
+        return entrada.readDouble();
+    }
+
+    @Override
+    public String lerTexto(int quantidade) throws IOException {
+        byte[] bytes = new byte[quantidade];
+        entrada.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,36 @@
+package com.ufcg.psoft.mercadofacil.codec;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class LoteCodec implements Codec<Lote> {
+
+    private final ProdutoCodec produtoCodec = new ProdutoCodec();
+
+    @Override
+    public void escrever(Lote lote, DataOutput saida) throws IOException {
+        Codec.escreverId(lote.getId(), saida);
+        saida.writeInt(lote.getNumeroDeItens());
+        saida.writeBoolean(lote.getProduto() != null);
+        if (lote.getProduto() != null) {
+            produtoCodec.escrever(lote.getProduto(), saida);
+        }
+    }
+
+    @Override
+    public Lote ler(Entrada entrada) throws IOException {
+        return Lote.builder()
+                .id(Codec.lerId(entrada))
+                .numeroDeItens(entrada.lerInt())
+                .produto(entrada.lerBooleano() ? produtoCodec.ler(entrada) : null)
+                .build();
+    }
+
+    // O esquema do lote só muda junto com o do produto que ele embute.
+    @Override
+    public int versao() {
+        return produtoCodec.versao();
+    }
+}
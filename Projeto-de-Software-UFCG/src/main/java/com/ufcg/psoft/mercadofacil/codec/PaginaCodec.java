@@ -0,0 +1,32 @@
+package com.ufcg.psoft.mercadofacil.codec;
+
+import com.ufcg.psoft.mercadofacil.model.Pagina;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Os itens da página como uma sequência, seguidos do cursor da página seguinte.
+ */
+public class PaginaCodec<T> implements Codec<Pagina<T>> {
+
+    private final Codec<T> itens;
+
+    public PaginaCodec(Codec<T> itens) {
+        this.itens = itens;
+    }
+
+    @Override
+    public void escrever(Pagina<T> pagina, DataOutput saida) throws IOException {
+        Codec.escreverSequencia(pagina.getItens().iterator(), itens, saida);
+        Codec.escreverId(pagina.getProximo(), saida);
+    }
+
+    @Override
+    public Pagina<T> ler(Entrada entrada) throws IOException {
+        return Pagina.<T>builder()
+                .itens(Codec.lerSequencia(itens, entrada))
+                .proximo(Codec.lerId(entrada))
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.ufcg.psoft.mercadofacil.codec;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class ProdutoCodec implements Codec<Produto> {
+
+    // 2: acrescentou a versão do produto.
+    private static final int VERSAO = 2;
+
+    @Override
+    public void escrever(Produto produto, DataOutput saida) throws IOException {
+        Codec.escreverId(produto.getId(), saida);
+        Codec.escreverTexto(produto.getNome(), saida);
+        saida.writeDouble(produto.getPreco());
+        Codec.escreverTexto(produto.getCodigoBarra(), saida);
+        Codec.escreverTexto(produto.getFabricante(), saida);
+        Codec.escreverId(produto.getVersao(), saida);
+    }
+
+    @Override
+    public Produto ler(Entrada entrada) throws IOException {
+        return Produto.builder()
+                .id(Codec.lerId(entrada))
+                .nome(Codec.lerTexto(entrada))
+                .preco(entrada.lerDouble())
+                .codigoBarra(Codec.lerTexto(entrada))
+                .fabricante(Codec.lerTexto(entrada))
+                .versao(Codec.lerId(entrada))
+                .build();
+    }
+
+    @Override
+    public int versao() {
+        return VERSAO;
+    }
+}
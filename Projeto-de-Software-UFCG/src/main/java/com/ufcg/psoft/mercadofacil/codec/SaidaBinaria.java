@@ -0,0 +1,143 @@
+package com.ufcg.psoft.mercadofacil.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * {@link DataOutput} sobre um array que cresce conforme a escrita, sem as travas de
+ * {@link DataOutputStream} e {@link ByteArrayOutputStream}, que dominam o custo quando cada
+ * registro é feito de muitos campos pequenos. Não é segura para uso por várias threads.
+ */
+public final class SaidaBinaria implements DataOutput {
+
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private byte[] bytes;
+    private int tamanho;
+
+    public SaidaBinaria(int capacidade) {
+        bytes = new byte[Math.max(capacidade, 16)];
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, tamanho);
+    }
+
+    /**
+     * Escreve o conteúdo em {@code saida} e esvazia o buffer, mantendo a capacidade.
+     */
+    public void descarregar(OutputStream saida) throws IOException {
+        saida.write(bytes, 0, tamanho);
+        tamanho = 0;
+    }
+
+    @Override
+    public void write(int b) {
+        garantir(1);
+        bytes[tamanho++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b) {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int inicio, int quantidade) {
+        garantir(quantidade);
+        System.arraycopy(b, inicio, bytes, tamanho, quantidade);
+        tamanho += quantidade;
+    }
+
+    @Override
+    public void writeBoolean(boolean v) {
+        write(v ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int v) {
+        write(v);
+    }
+
+    @Override
+    public void writeShort(int v) {
+        garantir(2);
+        SHORT.set(bytes, tamanho, (short) v);
+        tamanho += 2;
+    }
+
+    @Override
+    public void writeChar(int v) {
+        writeShort(v);
+    }
+
+    @Override
+    public void writeInt(int v) {
+        garantir(4);
+        INT.set(bytes, tamanho, v);
+        tamanho += 4;
+    }
+
+    @Override
+    public void writeLong(long v) {
+        garantir(8);
+        LONG.set(bytes, tamanho, v);
+        tamanho += 8;
+    }
+
+    @Override
+    public void writeFloat(float v) {
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    public void writeDouble(double v) {
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    public void writeBytes(String s) {
+        garantir(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            bytes[tamanho++] = (byte) s.charAt(i);
+        }
+    }
+
+    @Override
+    public void writeChars(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            writeChar(s.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeUTF(String s) {
+        ByteArrayOutputStream codificado = new ByteArrayOutputStream(s.length() + 2);
+        try {
+            new DataOutputStream(codificado).writeUTF(s);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        write(codificado.toByteArray());
+    }
+
+    private void garantir(int quantidade) {
+        if (tamanho + quantidade > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, tamanho + quantidade));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ufcg.psoft.mercadofacil.config;
+
+import com.ufcg.psoft.mercadofacil.model.Alteracao;
+import com.ufcg.psoft.mercadofacil.model.Cliente;
+import com.ufcg.psoft.mercadofacil.model.Estoque;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Pagina;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.model.ProdutoAlteracaoResultado;
+import com.ufcg.psoft.mercadofacil.model.Reserva;
+import com.ufcg.psoft.mercadofacil.validacao.ErroValidacao;
+import com.ufcg.psoft.mercadofacil.validacao.ResultadoValidacao;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Dicas para a imagem nativa do GraalVM, que só enxerga por reflexão o que for declarado no
+ * build. O AOT do Spring já cobre os tipos de {@code @RequestBody} e dos retornos dos
+ * controladores; aqui entram os modelos lidos e escritos diretamente pelo {@code ObjectMapper}
+ * (lote de alterações, exportações NDJSON, respostas de validação e eventos SSE), os builders
+ * usados pelo Jackson via {@code @Jacksonized} e os campos acessados por {@code VarHandle}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(ImagemNativaConfig.Dicas.class)
+public class ImagemNativaConfig {
+
+    static class Dicas implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar jackson = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            jackson.registerReflectionHints(hints.reflection(),
+                    Produto.class, Lote.class, Pagina.class, Reserva.class, Estoque.class,
+                    ProdutoAlteracaoResultado.class, Cliente.class,
+                    ResultadoValidacao.class, ErroValidacao.class, Alteracao.class);
+            for (Class<?> builder : new Class<?>[]{
+                    Produto.ProdutoBuilder.class, Lote.LoteBuilder.class, Cliente.ClienteBuilder.class}) {
+                hints.reflection().registerType(builder,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            hints.reflection().registerType(Lote.class, MemberCategory.DECLARED_FIELDS);
+            hints.reflection().registerType(
+                    TypeReference.of("com.ufcg.psoft.mercadofacil.repository.LoteVolatilRepository$Registro"),
+                    MemberCategory.DECLARED_FIELDS);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.ufcg.psoft.mercadofacil.config;
+
+import com.ufcg.psoft.mercadofacil.alteracoes.RegistroAlteracoes;
+import com.ufcg.psoft.mercadofacil.metricas.MetricasInterceptor;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoCacheRepository;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoDuravelRepository;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoVolatilRepository;
+import com.ufcg.psoft.mercadofacil.service.LoteReceberImplService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import java.util.function.Supplier;
+
+/**
+ * Métricas da aplicação, expostas em {@code /actuator/prometheus}: duração das chamadas aos
+ * serviços de alteração de produto e aos repositórios, rejeições por código, a memória do
+ * índice de busca de produtos, a fila de recebimento de lotes, a última sequência do registro
+ * de alterações e os contadores do cache de produtos, quando habilitado. As requisições HTTP
+ * são medidas pelo próprio Spring ({@code http.server.requests}).
+ * <p>
+ * Desabilitado com {@code mercadofacil.metricas.habilitado=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mercadofacil.metricas.habilitado", havingValue = "true", matchIfMissing = true)
+public class MetricasConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor metricasServico(ObjectProvider<MeterRegistry> registry) {
+        return MetricasInterceptor.servico(registry::getObject);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor metricasRepositorio(ObjectProvider<MeterRegistry> registry) {
+        return MetricasInterceptor.repositorio(registry::getObject);
+    }
+
+    @Bean
+    public MeterBinder metricasCacheProdutos(ObjectProvider<ProdutoCacheRepository> cache) {
+        return registry -> cache.ifAvailable(produtos -> {
+            FunctionCounter.builder("mercadofacil.cache.produtos.acertos", produtos,
+                    repositorio -> repositorio.estatisticas().hitCount()).register(registry);
+            FunctionCounter.builder("mercadofacil.cache.produtos.faltas", produtos,
+                    repositorio -> repositorio.estatisticas().missCount()).register(registry);
+            FunctionCounter.builder("mercadofacil.cache.produtos.remocoes", produtos,
+                    repositorio -> repositorio.estatisticas().evictionCount()).register(registry);
+            Gauge.builder("mercadofacil.cache.produtos.tamanho", produtos, ProdutoCacheRepository::tamanho)
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder metricasRecebimentoLotes(ObjectProvider<LoteReceberImplService> recebimento) {
+        return registry -> recebimento.ifAvailable(lotes -> {
+            Gauge.builder("mercadofacil.lotes.recebimento.pendentes", lotes, LoteReceberImplService::getPendentes)
+                    .register(registry);
+            FunctionCounter.builder("mercadofacil.lotes.recebimento.gravados", lotes,
+                    LoteReceberImplService::getGravados).register(registry);
+            FunctionCounter.builder("mercadofacil.lotes.recebimento.grupos", lotes,
+                    LoteReceberImplService::getGrupos).register(registry);
+            FunctionCounter.builder("mercadofacil.lotes.recebimento.recusados", lotes,
+                    LoteReceberImplService::getRecusados).register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder metricasAlteracoes(ObjectProvider<RegistroAlteracoes> registro) {
+        return registry -> registro.ifAvailable(alteracoes ->
+                FunctionCounter.builder("mercadofacil.alteracoes.publicadas", alteracoes,
+                        RegistroAlteracoes::getUltima).register(registry));
+    }
+
+    @Bean
+    public MeterBinder metricasIndiceTexto(
+            ObjectProvider<ProdutoVolatilRepository> volatil,
+            ObjectProvider<ProdutoDuravelRepository> duravel) {
+        return registry -> {
+            volatil.ifAvailable(produtos -> registrarIndiceTexto(registry, produtos::memoriaIndiceTexto));
+            duravel.ifAvailable(produtos -> registrarIndiceTexto(registry, produtos::memoriaIndiceTexto));
+        };
+    }
+
+    private static void registrarIndiceTexto(MeterRegistry registry, Supplier<Number> bytes) {
+        Gauge.builder("mercadofacil.busca.indice", bytes)
+                .baseUnit("bytes")
+                .description("Estimativa da memória ocupada pelo índice de busca de produtos")
+                .register(registry);
+    }
+}
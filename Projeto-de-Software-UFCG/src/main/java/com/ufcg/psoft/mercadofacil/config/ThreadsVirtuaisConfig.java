@@ -0,0 +1,34 @@
+package com.ufcg.psoft.mercadofacil.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Modo opcional em que cada requisição do Tomcat, e o processamento assíncrono do Spring MVC
+ * (respostas em fluxo), roda em uma thread virtual. Os serviços e repositórios são chamados
+ * na thread da requisição e, portanto, também rodam em threads virtuais.
+ * <p>
+ * Habilitado com {@code mercadofacil.threads-virtuais.habilitado=true} ou com o perfil
+ * {@code virtual}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mercadofacil.threads-virtuais.habilitado", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> threadsVirtuaisTomcat() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -0,0 +1,40 @@
+package com.ufcg.psoft.mercadofacil.config;
+
+import com.ufcg.psoft.mercadofacil.validacao.CodigoBarraValidator;
+import com.ufcg.psoft.mercadofacil.validacao.RegraProduto;
+import com.ufcg.psoft.mercadofacil.validacao.RegrasProduto;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Regras padrão de validação de produtos. Outras regras podem ser adicionadas como beans
+ * {@link RegraProduto}; o {@code @Order} define a posição na cadeia.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ValidacaoConfig {
+
+    @Bean
+    @Order(10)
+    public RegraProduto regraPreco() {
+        return RegrasProduto.preco();
+    }
+
+    @Bean
+    @Order(20)
+    public RegraProduto regraNome() {
+        return RegrasProduto.nome();
+    }
+
+    @Bean
+    @Order(30)
+    public RegraProduto regraFabricante() {
+        return RegrasProduto.fabricante();
+    }
+
+    @Bean
+    @Order(40)
+    public RegraProduto regraCodigoBarra(CodigoBarraValidator codigoBarraValidator) {
+        return RegrasProduto.codigoBarra(codigoBarraValidator);
+    }
+}
@@ -0,0 +1,69 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.ufcg.psoft.mercadofacil.alteracoes.AlteracoesDescartadasException;
+import com.ufcg.psoft.mercadofacil.alteracoes.RegistroAlteracoes;
+import com.ufcg.psoft.mercadofacil.model.PaginaAlteracoes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Alterações de produtos e lotes, em ordem de sequência. Os cursores ({@code depoisDe},
+ * {@code proximo} e os ids dos eventos) valem só para a execução que os entregou. Sem
+ * {@code depoisDe}, o consumidor começa pelas alterações feitas a partir de agora.
+ */
+@RestController
+@RequestMapping("/v1/alteracoes")
+public class AlteracaoV1Controller {
+
+    static final int LIMITE_MAXIMO = 1000;
+    static final long ESPERA_MAXIMA_MS = 30_000;
+
+    @Autowired
+    RegistroAlteracoes registroAlteracoes;
+
+    @Autowired
+    EsperaAlteracoes esperaAlteracoes;
+
+    /**
+     * Até {@code limite} alterações posteriores a {@code depoisDe}. Se ainda não houver
+     * nenhuma, espera até {@code esperaMs} pela próxima (long polling) sem ocupar a thread da
+     * requisição. {@code proximo} é o {@code depoisDe} da chamada seguinte.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<PaginaAlteracoes> listarAlteracoes(
+            @RequestParam(required = false) String depoisDe,
+            @RequestParam(defaultValue = "100") int limite,
+            @RequestParam(defaultValue = "0") long esperaMs) {
+        long inicio = depoisDe == null ? registroAlteracoes.getUltima() : registroAlteracoes.sequencia(depoisDe);
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        return esperaAlteracoes.esperar(inicio, tamanho, Math.min(esperaMs, ESPERA_MAXIMA_MS));
+    }
+
+    /**
+     * Fluxo contínuo de alterações; {@code Last-Event-ID}, enviado pelo navegador ao
+     * reconectar, tem precedência sobre {@code depoisDe}.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharAlteracoes(
+            @RequestParam(required = false) String depoisDe,
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoEvento) {
+        long inicio = ultimoEvento != null ? registroAlteracoes.sequencia(ultimoEvento)
+                : depoisDe != null ? registroAlteracoes.sequencia(depoisDe)
+                : registroAlteracoes.getUltima();
+        return FluxoAlteracoes.de(registroAlteracoes, inicio);
+    }
+
+    @ExceptionHandler(AlteracoesDescartadasException.class)
+    public ResponseEntity<ProblemDetail> alteracoesDescartadas(AlteracoesDescartadasException e) {
+        ProblemDetail problema = ProblemDetail.forStatusAndDetail(HttpStatus.GONE, e.getMessage());
+        problema.setProperty("primeiraDisponivel", e.getPrimeiraDisponivel());
+        problema.setProperty("depoisDe", e.getDepoisDe());
+        return ResponseEntity.status(HttpStatus.GONE).body(problema);
+    }
+}
@@ -0,0 +1,60 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.ufcg.psoft.mercadofacil.model.Cliente;
+import com.ufcg.psoft.mercadofacil.model.Pagina;
+import com.ufcg.psoft.mercadofacil.service.ClienteAlterarService;
+import com.ufcg.psoft.mercadofacil.service.ClienteListarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping(
+        value = "/v1/clientes",
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class ClienteV1Controller {
+
+    @Autowired
+    ClienteAlterarService clienteAlterarService;
+
+    @Autowired
+    ClienteListarService clienteListarService;
+
+    /**
+     * Lista uma página de clientes em ordem de id.
+     */
+    @GetMapping(params = "!cpf")
+    public Pagina<Cliente> listarClientes(
+            @RequestParam(required = false) Long depoisDe,
+            @RequestParam(defaultValue = "20") int limite) {
+        return clienteListarService.listarPagina(depoisDe, limite);
+    }
+
+    /**
+     * Consulta o cliente pelo CPF, informado só com os dígitos.
+     */
+    @GetMapping(params = "cpf")
+    public Cliente consultarClientePorCpf(@RequestParam long cpf) {
+        return encontrado(clienteListarService.consultarPorCpf(cpf));
+    }
+
+    @GetMapping("/{id}")
+    public Cliente consultarCliente(@PathVariable Long id) {
+        return encontrado(clienteListarService.consultar(id));
+    }
+
+    @PutMapping("/{id}")
+    public Cliente atualizarCliente(@PathVariable Long id, @RequestBody Cliente cliente) {
+        return clienteAlterarService.alterar(cliente.toBuilder().id(id).build());
+    }
+
+    private static Cliente encontrado(Cliente cliente) {
+        if (cliente == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cliente não encontrado!");
+        }
+        return cliente;
+    }
+}
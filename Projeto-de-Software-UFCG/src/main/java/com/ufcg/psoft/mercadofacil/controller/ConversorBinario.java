@@ -0,0 +1,96 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.ufcg.psoft.mercadofacil.codec.Codec;
+import com.ufcg.psoft.mercadofacil.codec.EntradaBinaria;
+import com.ufcg.psoft.mercadofacil.codec.LoteCodec;
+import com.ufcg.psoft.mercadofacil.codec.PaginaCodec;
+import com.ufcg.psoft.mercadofacil.codec.ProdutoCodec;
+import com.ufcg.psoft.mercadofacil.codec.SaidaBinaria;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Pagina;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Lê e escreve {@link Produto}, {@link Lote} e páginas deles no formato binário dos codecs,
+ * negociado pelo tipo {@value #BINARIO_VALUE}. Os campos seguem um esquema fixo, sem nomes,
+ * e números vão em binário, então não há análise de texto nem reflexão.
+ */
+@Component
+public class ConversorBinario extends AbstractHttpMessageConverter<Object> {
+
+    public static final String BINARIO_VALUE = "application/vnd.mercadofacil.binario";
+    public static final MediaType BINARIO = MediaType.parseMediaType(BINARIO_VALUE);
+
+    private static final int TAMANHO_INICIAL = 1024;
+
+    private static final Map<Class<?>, Codec<?>> CODECS = Map.of(
+            Produto.class, new ProdutoCodec(),
+            Lote.class, new LoteCodec());
+
+    public ConversorBinario() {
+        super(BINARIO);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return CODECS.containsKey(clazz) || clazz == Pagina.class;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return mediaType != null && super.canRead(mediaType);
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+        return CODECS.containsKey(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    @NonNull
+    protected Object readInternal(@NonNull Class<?> clazz, @NonNull HttpInputMessage entrada) throws IOException {
+        try {
+            return CODECS.get(clazz).ler(new EntradaBinaria(entrada.getBody().readAllBytes()));
+        } catch (EOFException e) {
+            throw new HttpMessageNotReadableException("Corpo binário incompleto!", e, entrada);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(@NonNull Object valor, @NonNull HttpOutputMessage saida) throws IOException {
+        SaidaBinaria dados = new SaidaBinaria(TAMANHO_INICIAL);
+        if (valor instanceof Pagina<?> pagina) {
+            new PaginaCodec<>(codecDosItens(pagina)).escrever((Pagina<Object>) pagina, dados);
+        } else {
+            ((Codec<Object>) CODECS.get(valor.getClass())).escrever(valor, dados);
+        }
+        saida.getHeaders().setContentLength(dados.tamanho());
+        dados.descarregar(saida.getBody());
+    }
+
+    // Uma página vazia é escrita com qualquer codec, já que nenhum item é codificado.
+    @SuppressWarnings("unchecked")
+    private static Codec<Object> codecDosItens(Pagina<?> pagina) {
+        if (pagina.getItens().isEmpty()) {
+            return (Codec<Object>) CODECS.get(Produto.class);
+        }
+        Codec<?> codec = CODECS.get(pagina.getItens().get(0).getClass());
+        if (codec == null) {
+            throw new HttpMessageNotWritableException("Itens sem formato binário: " + pagina.getItens().get(0).getClass().getSimpleName());
+        }
+        return (Codec<Object>) codec;
+    }
+}
@@ -0,0 +1,110 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.ufcg.psoft.mercadofacil.alteracoes.AlteracoesDescartadasException;
+import com.ufcg.psoft.mercadofacil.alteracoes.RegistroAlteracoes;
+import com.ufcg.psoft.mercadofacil.model.Alteracao;
+import com.ufcg.psoft.mercadofacil.model.PaginaAlteracoes;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Long polling de alterações sem prender a thread da requisição. Uma única thread virtual
+ * atende todas as esperas: aguarda no registro a alteração seguinte ao menor cursor pendente,
+ * entrega as páginas que ficaram prontas e encerra com a página vazia as esperas vencidas. A
+ * thread só existe enquanto houver esperas.
+ */
+@Component
+class EsperaAlteracoes {
+
+    // Margem para o Spring não expirar a resposta antes da própria espera.
+    private static final long FOLGA_MS = 5_000;
+
+    private final RegistroAlteracoes registro;
+    private final ConcurrentLinkedQueue<Espera> esperas = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean vigiando = new AtomicBoolean();
+
+    EsperaAlteracoes(RegistroAlteracoes registro) {
+        this.registro = registro;
+    }
+
+    /**
+     * Até {@code limite} alterações posteriores a {@code depoisDe}; se ainda não houver
+     * nenhuma, a resposta sai na primeira publicada em até {@code esperaMs}.
+     *
+     * @throws AlteracoesDescartadasException se as alterações pedidas já saíram do registro
+     */
+    DeferredResult<PaginaAlteracoes> esperar(long depoisDe, int limite, long esperaMs) {
+        DeferredResult<PaginaAlteracoes> resultado = new DeferredResult<>(esperaMs + FOLGA_MS,
+                () -> pagina(depoisDe, List.of()));
+        List<Alteracao> alteracoes = registro.ler(depoisDe, limite);
+        if (!alteracoes.isEmpty() || esperaMs <= 0) {
+            resultado.setResult(pagina(depoisDe, alteracoes));
+            return resultado;
+        }
+        esperas.add(new Espera(depoisDe, limite, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaMs),
+                resultado));
+        if (vigiando.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("alteracoes-espera").start(this::vigiar);
+        }
+        return resultado;
+    }
+
+    PaginaAlteracoes pagina(long depoisDe, List<Alteracao> alteracoes) {
+        long ultima = alteracoes.isEmpty() ? depoisDe : alteracoes.get(alteracoes.size() - 1).getSequencia();
+        return PaginaAlteracoes.builder()
+                .itens(alteracoes)
+                .proximo(registro.cursor(ultima))
+                .build();
+    }
+
+    private void vigiar() {
+        try {
+            do {
+                while (!esperas.isEmpty()) {
+                    long menor = Long.MAX_VALUE;
+                    long prazo = Long.MAX_VALUE;
+                    for (Espera espera : esperas) {
+                        menor = Math.min(menor, espera.depoisDe());
+                        prazo = Math.min(prazo, espera.prazo());
+                    }
+                    registro.aguardar(menor, Math.max(1, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    entregar();
+                }
+                vigiando.set(false);
+                // Uma espera pode ter entrado depois da última volta sem iniciar outra thread.
+            } while (!esperas.isEmpty() && vigiando.compareAndSet(false, true));
+        } catch (InterruptedException e) {
+            // As esperas restantes terminam pelo tempo limite do DeferredResult.
+            vigiando.set(false);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void entregar() {
+        long agora = System.nanoTime();
+        for (Espera espera : esperas) {
+            if (espera.resultado().isSetOrExpired()) {
+                esperas.remove(espera);
+                continue;
+            }
+            try {
+                List<Alteracao> alteracoes = registro.ler(espera.depoisDe(), espera.limite());
+                if (!alteracoes.isEmpty() || agora - espera.prazo() >= 0) {
+                    espera.resultado().setResult(pagina(espera.depoisDe(), alteracoes));
+                    esperas.remove(espera);
+                }
+            } catch (AlteracoesDescartadasException e) {
+                espera.resultado().setErrorResult(e);
+                esperas.remove(espera);
+            }
+        }
+    }
+
+    private record Espera(long depoisDe, int limite, long prazo, DeferredResult<PaginaAlteracoes> resultado) {
+    }
+}
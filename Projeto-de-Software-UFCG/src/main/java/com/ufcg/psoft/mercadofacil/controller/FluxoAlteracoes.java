@@ -0,0 +1,76 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.ufcg.psoft.mercadofacil.alteracoes.AlteracoesDescartadasException;
+import com.ufcg.psoft.mercadofacil.alteracoes.RegistroAlteracoes;
+import com.ufcg.psoft.mercadofacil.model.Alteracao;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Envia as alterações por Server-Sent Events, uma por evento, com o cursor como id, de
+ * modo que um cliente que reconecta com {@code Last-Event-ID} continua de onde parou. Cada
+ * assinatura tem uma thread virtual própria, que bloqueia na escrita quando o cliente lê
+ * devagar; quem publica nunca espera por ela. Sem alterações, um comentário é enviado a cada
+ * {@value #PULSO_S} s para que um cliente desconectado seja notado.
+ */
+final class FluxoAlteracoes {
+
+    private static final int ALTERACOES_POR_LEITURA = 256;
+    private static final long PULSO_S = 15;
+
+    private FluxoAlteracoes() {
+    }
+
+    static SseEmitter de(RegistroAlteracoes registro, long depoisDe) {
+        SseEmitter emitter = new SseEmitter();
+        AtomicBoolean ativo = new AtomicBoolean(true);
+        emitter.onCompletion(() -> ativo.set(false));
+        emitter.onTimeout(() -> ativo.set(false));
+        emitter.onError(erro -> ativo.set(false));
+        Thread.ofVirtual()
+                .name("alteracoes-sse")
+                .start(() -> enviar(registro, depoisDe, emitter, ativo));
+        return emitter;
+    }
+
+    private static void enviar(RegistroAlteracoes registro, long depoisDe, SseEmitter emitter, AtomicBoolean ativo) {
+        long ultima = depoisDe;
+        try {
+            while (ativo.get()) {
+                List<Alteracao> alteracoes = registro.ler(ultima, ALTERACOES_POR_LEITURA);
+                if (alteracoes.isEmpty()) {
+                    if (!registro.aguardar(ultima, PULSO_S, TimeUnit.SECONDS)) {
+                        emitter.send(SseEmitter.event().comment("pulso"));
+                    }
+                    continue;
+                }
+                for (Alteracao alteracao : alteracoes) {
+                    emitter.send(SseEmitter.event()
+                            .id(registro.cursor(alteracao.getSequencia()))
+                            .data(alteracao, MediaType.APPLICATION_JSON));
+                    ultima = alteracao.getSequencia();
+                }
+            }
+        } catch (AlteracoesDescartadasException e) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .name("descartadas")
+                        .data(e.getDepoisDe()));
+                emitter.complete();
+            } catch (IOException | IllegalStateException erro) {
+                emitter.completeWithError(erro);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectado ou emissor já encerrado pelo Spring.
+            emitter.completeWithError(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.mercadofacil.codec.LoteCodec;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Reserva;
+import com.ufcg.psoft.mercadofacil.service.LoteListarService;
+import com.ufcg.psoft.mercadofacil.service.LoteReceberService;
+import com.ufcg.psoft.mercadofacil.service.LoteReservarService;
+import com.ufcg.psoft.mercadofacil.service.RecebimentoSaturadoException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping(
+        value = "/v1/lotes",
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class LoteV1Controller {
+
+    @Autowired
+    LoteListarService loteListarService;
+
+    @Autowired
+    LoteReservarService loteReservarService;
+
+    @Autowired
+    LoteReceberService loteReceberService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarLotes() {
+        return RespostaNdjson.de(objectMapper, loteListarService::listarTodos);
+    }
+
+    @GetMapping(produces = ConversorBinario.BINARIO_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarLotesBinario() {
+        return RespostaBinaria.de(new LoteCodec(), loteListarService::listarTodos);
+    }
+
+    /**
+     * Cadastra um lote pela fila de recebimento. A resposta sai quando o lote for gravado; com
+     * a fila cheia, responde 429 de imediato.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<Lote>> receberLote(@RequestBody Lote lote) {
+        return loteReceberService.receber(lote)
+                .thenApply(salvo -> ResponseEntity.status(HttpStatus.CREATED).body(salvo));
+    }
+
+    @PostMapping("/{id}/reservas")
+    public Reserva reservarItens(
+            @PathVariable Long id,
+            @RequestParam int quantidade) {
+        return loteReservarService.reservar(id, quantidade);
+    }
+
+    @PostMapping("/reservas/{reservaId}/confirmacao")
+    public ResponseEntity<Void> confirmarReserva(@PathVariable Long reservaId) {
+        loteReservarService.confirmar(reservaId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/reservas/{reservaId}")
+    public ResponseEntity<Void> liberarReserva(@PathVariable Long reservaId) {
+        loteReservarService.liberar(reservaId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(RecebimentoSaturadoException.class)
+    public ResponseEntity<Void> recebimentoSaturado() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .build();
+    }
+}
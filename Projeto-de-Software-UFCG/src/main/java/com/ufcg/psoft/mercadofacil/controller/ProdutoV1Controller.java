@@ -1,25 +1,313 @@
 package com.ufcg.psoft.mercadofacil.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.mercadofacil.model.Estoque;
+import com.ufcg.psoft.mercadofacil.model.Pagina;
 import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.model.ProdutoAlteracaoResultado;
+import com.ufcg.psoft.mercadofacil.service.ProdutoAlterarLoteService;
 import com.ufcg.psoft.mercadofacil.service.ProdutoAlterarService;
+import com.ufcg.psoft.mercadofacil.service.ProdutoAlterarVersionadoService;
+import com.ufcg.psoft.mercadofacil.service.ProdutoEstoqueService;
+import com.ufcg.psoft.mercadofacil.service.ProdutoInvalidoException;
+import com.ufcg.psoft.mercadofacil.service.ProdutoListarService;
+import com.ufcg.psoft.mercadofacil.service.VersaoDesatualizadaException;
+import com.ufcg.psoft.mercadofacil.validacao.ResultadoValidacao;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping(
         value = "/v1/produtos",
-        produces = MediaType.APPLICATION_JSON_VALUE
+        produces = {MediaType.APPLICATION_JSON_VALUE, ConversorBinario.BINARIO_VALUE}
 )
 public class ProdutoV1Controller {
 
+    private static final Map<String, Function<Produto, Object>> CAMPOS = Map.of(
+            "id", Produto::getId,
+            "nome", Produto::getNome,
+            "preco", Produto::getPreco,
+            "codigoBarra", Produto::getCodigoBarra,
+            "fabricante", Produto::getFabricante,
+            "versao", Produto::getVersao);
+
     @Autowired
     ProdutoAlterarService produtoAtualizarService;
 
+    @Autowired
+    ProdutoAlterarVersionadoService produtoAlterarVersionadoService;
+
+    @Autowired
+    ProdutoAlterarLoteService produtoAlterarLoteService;
+
+    @Autowired
+    ProdutoListarService produtoListarService;
+
+    @Autowired
+    ProdutoEstoqueService produtoEstoqueService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    /**
+     * Exporta todos os produtos, um por linha. A exportação não aceita filtros.
+     */
+    @GetMapping(params = {"!q", "!campos"}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarProdutos() {
+        return RespostaNdjson.de(objectMapper, produtoListarService::listarTodos);
+    }
+
+    /**
+     * Busca e projeção pedidas em NDJSON respondem 406. Sem esta rota, o pedido só
+     * corresponderia à exportação pelo tipo e responderia 400 pelos parâmetros.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void recusarExportacaoFiltrada() throws HttpMediaTypeNotAcceptableException {
+        throw new HttpMediaTypeNotAcceptableException(List.of(MediaType.APPLICATION_JSON, ConversorBinario.BINARIO));
+    }
+
+    /**
+     * Lista uma página de produtos em ordem de id.
+     */
+    @GetMapping(params = {"!q", "!campos"})
+    public Pagina<Produto> listarProdutos(
+            @RequestParam(required = false) Long depoisDe,
+            @RequestParam(defaultValue = "20") int limite) {
+        return produtoListarService.listarPagina(depoisDe, limite);
+    }
+
+    /**
+     * Como {@link #listarProdutos(Long, int)}, mas cada item traz apenas os campos pedidos, por
+     * exemplo {@code campos=id,preco}. Disponível só em JSON.
+     */
+    @GetMapping(params = {"!q", "campos"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Pagina<Map<String, Object>> listarProdutosProjetados(
+            @RequestParam(required = false) Long depoisDe,
+            @RequestParam(defaultValue = "20") int limite,
+            @RequestParam List<String> campos) {
+        for (String campo : campos) {
+            if (!CAMPOS.containsKey(campo)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo inválido: " + campo);
+            }
+        }
+        return produtoListarService.listarPagina(depoisDe, limite, produto -> {
+            Map<String, Object> projecao = new LinkedHashMap<>();
+            for (String campo : campos) {
+                projecao.put(campo, CAMPOS.get(campo).apply(produto));
+            }
+            return projecao;
+        });
+    }
+
+    /**
+     * Busca produtos cujo nome ou fabricante contém todos os termos de {@code q}. Para a página
+     * seguinte, repita a consulta com {@code depoisDe} igual ao {@code proximo} da resposta.
+     */
+    @GetMapping(params = "q")
+    public Pagina<Produto> buscarProdutos(
+            @RequestParam String q,
+            @RequestParam(required = false) Long depoisDe,
+            @RequestParam(defaultValue = "20") int limite) {
+        return produtoListarService.buscar(q, depoisDe, limite);
+    }
+
+    /**
+     * Responde com o produto e sua versão no {@code ETag}. Se o {@code If-None-Match} trouxer a
+     * versão atual, responde 304 sem corpo.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Produto> consultarProduto(@PathVariable Long id, WebRequest request) {
+        Produto produto = produtoListarService.consultar(id);
+        if (produto == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Produto não encontrado!");
+        }
+        if (request.checkNotModified(etag(produto))) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag(produto)).body(produto);
+    }
+
+    @GetMapping("/{id}/estoque")
+    public Estoque consultarEstoque(@PathVariable Long id) {
+        return produtoEstoqueService.consultar(id);
+    }
+
+    /**
+     * Altera o produto do caminho. Com {@code If-Match}, a alteração só é aplicada se o produto
+     * ainda estiver na versão do {@code ETag} informado; caso contrário, responde 412. Com
+     * {@code If-Match: *}, basta que o produto exista.
+     */
     @PutMapping("/{id}")
-    public Produto atualizarProduto(
+    public ResponseEntity<Produto> atualizarProduto(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Produto produto) {
-        return produtoAtualizarService.alterar(produto);
+        Produto alterado = produto.toBuilder().id(id).build();
+        Produto salvo;
+        if (ifMatch == null) {
+            salvo = produtoAtualizarService.alterar(alterado);
+        } else if (ifMatch.trim().equals("*")) {
+            if (produtoListarService.consultar(id) == null) {
+                throw new VersaoDesatualizadaException();
+            }
+            salvo = produtoAtualizarService.alterar(alterado);
+        } else {
+            salvo = produtoAlterarVersionadoService.alterar(alterado, versao(ifMatch));
+        }
+        return ResponseEntity.ok().eTag(etag(salvo)).body(salvo);
+    }
+
+    /**
+     * Lê um array JSON de produtos e responde com um array com o resultado de cada item, na
+     * mesma ordem. Entrada e saída são processadas em fluxo, sem carregar o array inteiro.
+     * <p>
+     * Como a resposta já começou a ser enviada, um erro de sintaxe no meio do array não muda o
+     * status: os produtos lidos até ali são processados normalmente e a resposta termina com um
+     * resultado de falha no índice do item que não pôde ser lido, fechando o array.
+     */
+    @PutMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void atualizarProdutos(
+            InputStream corpo,
+            HttpServletResponse response) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(corpo)) {
+            if (primeiroToken(parser) != JsonToken.START_ARRAY) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Esperado um array de produtos!");
+            }
+            ProdutoIterator produtos = new ProdutoIterator(parser);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+                generator.writeStartArray();
+                produtoAlterarLoteService.alterarTodos(produtos, resultado -> {
+                    try {
+                        generator.writeObject(resultado);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                if (produtos.erro != null) {
+                    generator.writeObject(ProdutoAlteracaoResultado.builder()
+                            .indice(produtos.lidos)
+                            .sucesso(false)
+                            .erro(produtos.erro)
+                            .build());
+                }
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    /**
+     * Produto recusado pela validação: responde 400 com todas as violações, por exemplo
+     * {@code {"erros":[{"codigo":"NOME_INVALIDO","mensagem":"Nome inválido!"}]}}.
+     */
+    @ExceptionHandler(ProdutoInvalidoException.class)
+    public ResponseEntity<ResultadoValidacao> produtoInvalido(ProdutoInvalidoException e) {
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(e.getResultado());
+    }
+
+    private static String etag(Produto produto) {
+        return "\"" + produto.getVersao() + "\"";
+    }
+
+    // Só ETags fortes com uma versão numérica podem corresponder a um produto.
+    private static long versao(String ifMatch) {
+        String etag = ifMatch.trim();
+        if (etag.length() < 3 || etag.charAt(0) != '"' || etag.charAt(etag.length() - 1) != '"') {
+            throw new VersaoDesatualizadaException();
+        }
+        try {
+            return Long.parseLong(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new VersaoDesatualizadaException();
+        }
+    }
+
+    private static JsonToken primeiroToken(JsonParser parser) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Esperado um array de produtos!");
+        }
+    }
+
+    /**
+     * Lê cada produto antes de {@link #hasNext()} responder, para que um erro de sintaxe encerre
+     * a iteração em vez de escapar no meio do processamento; o erro fica em {@link #erro}.
+     */
+    private class ProdutoIterator implements Iterator<Produto> {
+        private final JsonParser parser;
+        private Produto proximo;
+        private boolean lido;
+        private boolean terminado;
+        long lidos;
+        String erro;
+
+        ProdutoIterator(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!lido && !terminado) {
+                ler();
+            }
+            return lido;
+        }
+
+        @Override
+        public Produto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lido = false;
+            lidos++;
+            return proximo;
+        }
+
+        private void ler() {
+            try {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY) {
+                    terminado = true;
+                } else if (token == null) {
+                    interromper("Array de produtos incompleto!");
+                } else {
+                    proximo = objectMapper.readValue(parser, Produto.class);
+                    lido = true;
+                }
+            } catch (JsonProcessingException e) {
+                interromper("JSON inválido: " + e.getOriginalMessage());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void interromper(String motivo) {
+            erro = motivo;
+            terminado = true;
+        }
     }
 }
@@ -0,0 +1,45 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.ufcg.psoft.mercadofacil.model.Estoque;
+import com.ufcg.psoft.mercadofacil.model.HistogramaPrecos;
+import com.ufcg.psoft.mercadofacil.model.ValorEstoque;
+import com.ufcg.psoft.mercadofacil.service.RelatorioEstoqueService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(
+        value = "/v1/relatorios",
+        produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class RelatorioV1Controller {
+
+    @Autowired
+    RelatorioEstoqueService relatorioEstoqueService;
+
+    @GetMapping("/valor-por-fabricante")
+    public List<ValorEstoque> valorPorFabricante() {
+        return relatorioEstoqueService.valorPorFabricante();
+    }
+
+    /**
+     * Produtos com menos de {@code abaixoDe} itens em estoque, do menor estoque para o maior.
+     */
+    @GetMapping("/estoque-baixo")
+    public List<Estoque> estoqueBaixo(
+            @RequestParam(defaultValue = "10") long abaixoDe,
+            @RequestParam(defaultValue = "100") int limite) {
+        return relatorioEstoqueService.estoqueBaixo(abaixoDe, limite);
+    }
+
+    @GetMapping("/histograma-precos")
+    public HistogramaPrecos histogramaPrecos(@RequestParam(defaultValue = "10") int faixas) {
+        return relatorioEstoqueService.histogramaPrecos(faixas);
+    }
+}
@@ -0,0 +1,43 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.ufcg.psoft.mercadofacil.codec.Codec;
+import com.ufcg.psoft.mercadofacil.codec.SaidaBinaria;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Escreve um fluxo como uma sequência binária dos codecs, com as mesmas garantias de
+ * {@link RespostaNdjson}: os registros são lidos do repositório à medida que são enviados.
+ */
+final class RespostaBinaria {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private RespostaBinaria() {
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> de(Codec<T> codec, Supplier<? extends Stream<? extends T>> registros) {
+        StreamingResponseBody corpo = saida -> {
+            try (Stream<? extends T> fluxo = registros.get()) {
+                // Mesmo formato de Codec.escreverSequencia, descarregado em blocos.
+                SaidaBinaria dados = new SaidaBinaria(TAMANHO_BUFFER);
+                for (Iterator<? extends T> it = fluxo.iterator(); it.hasNext(); ) {
+                    dados.writeBoolean(true);
+                    codec.escrever(it.next(), dados);
+                    if (dados.tamanho() >= TAMANHO_BUFFER) {
+                        dados.descarregar(saida);
+                    }
+                }
+                dados.writeBoolean(false);
+                dados.descarregar(saida);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(ConversorBinario.BINARIO)
+                .body(corpo);
+    }
+}
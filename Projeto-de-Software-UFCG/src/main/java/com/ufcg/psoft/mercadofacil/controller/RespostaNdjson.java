@@ -0,0 +1,45 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Escreve um fluxo como NDJSON (um objeto JSON por linha). A escrita acontece fora da thread
+ * do Tomcat e bloqueia quando o cliente lê devagar; como o fluxo é preguiçoso, os registros
+ * só são lidos do repositório à medida que o cliente os consome.
+ */
+final class RespostaNdjson {
+
+    private static final int REGISTROS_POR_DESCARGA = 256;
+
+    private RespostaNdjson() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> de(ObjectMapper objectMapper, Supplier<? extends Stream<?>> registros) {
+        StreamingResponseBody corpo = saida -> {
+            try (Stream<?> fluxo = registros.get();
+                 JsonGenerator generator = objectMapper.createGenerator(saida)) {
+                generator.setRootValueSeparator(null);
+                int pendentes = 0;
+                for (Iterator<?> it = fluxo.iterator(); it.hasNext(); ) {
+                    generator.writeObject(it.next());
+                    generator.writeRaw('\n');
+                    if (++pendentes == REGISTROS_POR_DESCARGA) {
+                        generator.flush();
+                        pendentes = 0;
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+}
@@ -0,0 +1,138 @@
+package com.ufcg.psoft.mercadofacil.metricas;
+
+import com.ufcg.psoft.mercadofacil.service.ProdutoInvalidoException;
+import com.ufcg.psoft.mercadofacil.validacao.ErroValidacao;
+import com.ufcg.psoft.mercadofacil.validacao.ResultadoValidacao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Mede a duração das chamadas interceptadas, com histogramas de percentis, marcando a classe,
+ * o método e se a chamada terminou com exceção. Com {@code contarRejeicoes}, cada violação de
+ * um produto recusado é contada pelo seu código, tanto quando a chamada lança
+ * {@link ProdutoInvalidoException} quanto quando devolve um {@link ResultadoValidacao} com
+ * violações, como na validação do lote de alterações. As demais falhas, como conflitos de versão
+ * ou erros de E/S, aparecem apenas no timer de erro.
+ * <p>
+ * É um {@link MethodInterceptor} simples, e não um aspecto com {@code @Around}, para não criar
+ * um join point a cada chamada; os timers são criados uma vez por classe e método e guardados
+ * em um mapa próprio, de modo que uma chamada não consulta o registro de métricas. O registro é
+ * obtido apenas no primeiro timer, pois os advisors são criados antes dos demais beans.
+ */
+public class MetricasInterceptor implements MethodInterceptor {
+
+    public static final String SERVICO = "mercadofacil.servico";
+    public static final String REPOSITORIO = "mercadofacil.repositorio";
+    public static final String REJEICOES = "mercadofacil.produto.rejeicoes";
+
+    /** Serviços de alteração de produto, incluindo métodos públicos fora da interface. */
+    public static final String PONTOS_SERVICO =
+            "execution(* com.ufcg.psoft.mercadofacil.service.ProdutoAlterarService+.*(..))";
+    /** Métodos declarados nas interfaces dos repositórios. */
+    public static final String PONTOS_REPOSITORIO =
+            "execution(* com.ufcg.psoft.mercadofacil.repository.ProdutoRepository.*(..))"
+                    + " || execution(* com.ufcg.psoft.mercadofacil.repository.LoteRepository.*(..))";
+
+    // O intervalo padrão dos histogramas começa em 1 ms; as chamadas aos repositórios levam
+    // microssegundos e cairiam todas no primeiro balde.
+    private static final Duration MENOR_DURACAO = Duration.ofNanos(1_000);
+    private static final Duration MAIOR_DURACAO = Duration.ofSeconds(10);
+
+    private final Supplier<MeterRegistry> registry;
+    private final String nome;
+    private final boolean contarRejeicoes;
+    private final ConcurrentHashMap<Chave, Timer[]> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ErroValidacao, Counter> rejeicoes = new ConcurrentHashMap<>();
+
+    public MetricasInterceptor(Supplier<MeterRegistry> registry, String nome, boolean contarRejeicoes) {
+        this.registry = registry;
+        this.nome = nome;
+        this.contarRejeicoes = contarRejeicoes;
+    }
+
+    public static Advisor servico(Supplier<MeterRegistry> registry) {
+        return advisor(PONTOS_SERVICO, new MetricasInterceptor(registry, SERVICO, true));
+    }
+
+    public static Advisor repositorio(Supplier<MeterRegistry> registry) {
+        return advisor(PONTOS_REPOSITORIO, new MetricasInterceptor(registry, REPOSITORIO, false));
+    }
+
+    @Override
+    public Object invoke(MethodInvocation chamada) throws Throwable {
+        Timer[] timersDoMetodo = timers(chamada);
+        long inicio = System.nanoTime();
+        try {
+            Object resultado = chamada.proceed();
+            timersDoMetodo[0].record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            if (contarRejeicoes && resultado instanceof ResultadoValidacao validacao) {
+                contar(validacao);
+            }
+            return resultado;
+        } catch (Throwable e) {
+            timersDoMetodo[1].record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            if (contarRejeicoes && e instanceof ProdutoInvalidoException invalido) {
+                contar(invalido.getResultado());
+            }
+            throw e;
+        }
+    }
+
+    private Timer[] timers(MethodInvocation chamada) {
+        Object alvo = chamada.getThis();
+        Chave chave = new Chave(alvo == null ? chamada.getMethod().getDeclaringClass() : alvo.getClass(),
+                chamada.getMethod());
+        Timer[] existentes = timers.get(chave);
+        if (existentes != null) {
+            return existentes;
+        }
+        return timers.computeIfAbsent(chave, nova -> new Timer[]{
+                timer(nova, "sucesso"),
+                timer(nova, "erro")
+        });
+    }
+
+    private Timer timer(Chave chave, String resultado) {
+        return Timer.builder(nome)
+                .tag("classe", chave.classe().getSimpleName())
+                .tag("metodo", chave.metodo().getName())
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MENOR_DURACAO)
+                .maximumExpectedValue(MAIOR_DURACAO)
+                .register(registry.get());
+    }
+
+    private void contar(ResultadoValidacao validacao) {
+        for (ErroValidacao erro : validacao.getErros()) {
+            Counter contador = rejeicoes.get(erro);
+            if (contador == null) {
+                contador = rejeicoes.computeIfAbsent(erro, chave -> Counter.builder(REJEICOES)
+                        .tag("codigo", chave.getCodigo())
+                        .register(registry.get()));
+            }
+            contador.increment();
+        }
+    }
+
+    private static Advisor advisor(String expressao, MetricasInterceptor interceptor) {
+        AspectJExpressionPointcut pontos = new AspectJExpressionPointcut();
+        pontos.setExpression(expressao);
+        return new DefaultPointcutAdvisor(pontos, interceptor);
+    }
+
+    private record Chave(Class<?> classe, Method metodo) {
+    }
+}
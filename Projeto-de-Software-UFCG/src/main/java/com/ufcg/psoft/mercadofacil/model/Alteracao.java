@@ -0,0 +1,39 @@
+package com.ufcg.psoft.mercadofacil.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Uma alteração gravada em um repositório. {@code sequencia} é única e crescente entre todas
+ * as alterações; {@code dados} traz o estado gravado (ausente em remoções e limpezas) e
+ * {@code delta}, apenas em {@link Tipo#ITENS_ALTERADOS}, o número de itens somado ao lote.
+ * Os {@code dados} podem ser o próprio objeto guardado no repositório e não devem ser
+ * alterados.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Alteracao {
+    @JsonProperty("sequencia")
+    private long sequencia;
+    @JsonProperty("entidade")
+    private Entidade entidade;
+    @JsonProperty("tipo")
+    private Tipo tipo;
+    @JsonProperty("id")
+    private Long id;
+    @JsonProperty("dados")
+    private Object dados;
+    @JsonProperty("delta")
+    private Integer delta;
+
+    public enum Entidade {
+        PRODUTO, LOTE
+    }
+
+    public enum Tipo {
+        SALVO, REMOVIDO, ITENS_ALTERADOS, LIMPO
+    }
+}
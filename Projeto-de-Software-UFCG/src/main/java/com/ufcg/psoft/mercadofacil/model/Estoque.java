@@ -0,0 +1,16 @@
+package com.ufcg.psoft.mercadofacil.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class Estoque {
+    @JsonProperty("produtoId")
+    private Long produtoId;
+    @JsonProperty("itens")
+    private long itens;
+    @JsonProperty("lotes")
+    private long lotes;
+}
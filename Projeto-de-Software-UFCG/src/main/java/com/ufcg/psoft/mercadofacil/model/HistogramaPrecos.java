@@ -0,0 +1,36 @@
+package com.ufcg.psoft.mercadofacil.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Produtos e itens em estoque por faixa de preço. As faixas têm a mesma largura e cobrem de
+ * {@code minimo} a {@code maximo}; cada uma inclui o início e exclui o fim, exceto a última,
+ * que inclui o máximo.
+ */
+@Data
+@Builder
+public class HistogramaPrecos {
+    @JsonProperty("minimo")
+    private double minimo;
+    @JsonProperty("maximo")
+    private double maximo;
+    @JsonProperty("faixas")
+    private List<Faixa> faixas;
+
+    @Data
+    @Builder
+    public static class Faixa {
+        @JsonProperty("inicio")
+        private double inicio;
+        @JsonProperty("fim")
+        private double fim;
+        @JsonProperty("produtos")
+        private long produtos;
+        @JsonProperty("itens")
+        private long itens;
+    }
+}
@@ -2,12 +2,44 @@ package com.ufcg.psoft.mercadofacil.model;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 @Data
 @Builder
+@Jacksonized
 public class Lote {
+    private static final VarHandle NUMERO_DE_ITENS;
+
+    static {
+        try {
+            NUMERO_DE_ITENS = MethodHandles.lookup().findVarHandle(Lote.class, "numeroDeItens", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private Long id;
     private Produto produto;
-    private int numeroDeItens;
-}
+    private volatile int numeroDeItens;
 
+    /**
+     * Soma {@code delta} ao número de itens por compare-and-set, sem travas.
+     *
+     * @return o novo número de itens, ou -1 se o resultado ficaria negativo ou estouraria um int
+     */
+    public int alterarItens(int delta) {
+        while (true) {
+            int atual = numeroDeItens;
+            long novo = (long) atual + delta;
+            if (novo < 0 || novo > Integer.MAX_VALUE) {
+                return -1;
+            }
+            if (NUMERO_DE_ITENS.compareAndSet(this, atual, (int) novo)) {
+                return (int) novo;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ufcg.psoft.mercadofacil.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Uma página de resultados. {@code proximo} é o cursor da página seguinte (o id a partir do
+ * qual continuar) ou nulo se esta for a última.
+ */
+@Data
+@Builder
+public class Pagina<T> {
+    @JsonProperty("itens")
+    private List<T> itens;
+    @JsonProperty("proximo")
+    private Long proximo;
+}
@@ -0,0 +1,20 @@
+package com.ufcg.psoft.mercadofacil.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Uma página de alterações. {@code proximo} é o cursor da chamada seguinte: a época da
+ * execução e a sequência da última alteração entregue.
+ */
+@Data
+@Builder
+public class PaginaAlteracoes {
+    @JsonProperty("itens")
+    private List<Alteracao> itens;
+    @JsonProperty("proximo")
+    private String proximo;
+}
@@ -3,9 +3,12 @@ package com.ufcg.psoft.mercadofacil.model;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.extern.jackson.Jacksonized;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
 public class Produto {
     @JsonProperty("id")
     private Long id;
@@ -17,5 +20,12 @@ public class Produto {
     private String codigoBarra;
     @JsonProperty("fabricante")
     private String fabricante;
+    /**
+     * Incrementada pelo repositório a cada gravação que altera o produto; não entra na
+     * comparação entre produtos.
+     */
+    @JsonProperty("versao")
+    @EqualsAndHashCode.Exclude
+    private Long versao;
 }
 
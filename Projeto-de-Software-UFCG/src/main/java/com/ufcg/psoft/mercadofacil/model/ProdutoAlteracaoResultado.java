@@ -0,0 +1,30 @@
+package com.ufcg.psoft.mercadofacil.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.ufcg.psoft.mercadofacil.validacao.ErroValidacao;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProdutoAlteracaoResultado {
+    @JsonProperty("indice")
+    private long indice;
+    @JsonProperty("id")
+    private Long id;
+    @JsonProperty("sucesso")
+    private boolean sucesso;
+    @JsonProperty("erro")
+    private String erro;
+    /**
+     * Todas as violações das regras de produto, quando o produto foi recusado pela validação.
+     */
+    @JsonProperty("erros")
+    private List<ErroValidacao> erros;
+    @JsonProperty("produto")
+    private Produto produto;
+}
@@ -0,0 +1,20 @@
+package com.ufcg.psoft.mercadofacil.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class Reserva {
+    @JsonProperty("id")
+    private Long id;
+    @JsonProperty("loteId")
+    private Long loteId;
+    @JsonProperty("quantidade")
+    private int quantidade;
+    @JsonProperty("expiraEm")
+    private Instant expiraEm;
+}
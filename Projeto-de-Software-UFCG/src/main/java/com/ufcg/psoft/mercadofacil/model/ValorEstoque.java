@@ -0,0 +1,21 @@
+package com.ufcg.psoft.mercadofacil.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Valor dos itens em estoque de um fabricante: a soma de preço vezes itens de cada produto.
+ */
+@Data
+@Builder
+public class ValorEstoque {
+    @JsonProperty("fabricante")
+    private String fabricante;
+    @JsonProperty("produtos")
+    private long produtos;
+    @JsonProperty("itens")
+    private long itens;
+    @JsonProperty("valor")
+    private double valor;
+}
@@ -0,0 +1,28 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ClienteRepository<T, ID> {
+    T save(T cliente);
+    T find(ID id);
+
+    /**
+     * Cliente com o CPF informado (somente os dígitos), ou null. O CPF é único entre os
+     * clientes.
+     */
+    T findByCpf(long cpf);
+
+    List<T> findAll();
+
+    /**
+     * Até {@code limite} clientes com id maior que {@code depoisDe} (ou desde o início, se
+     * nulo), em ordem de id.
+     */
+    List<T> findPage(ID depoisDe, int limite);
+
+    Stream<T> streamAll();
+    T update(T cliente);
+    void delete(T cliente);
+    void deleteAll();
+}
@@ -0,0 +1,163 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.model.Cliente;
+import com.ufcg.psoft.mercadofacil.repository.indice.IndiceLongConcorrente;
+import com.ufcg.psoft.mercadofacil.repository.indice.IndiceLongOrdenado;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Repositório de clientes em memória.
+ * <p>
+ * O índice primário e o índice único de CPF usam chaves {@code long} primitivas, sem criar
+ * um {@code Long} por consulta ou por entrada; o índice de CPF aponta direto para o cliente,
+ * então a busca por CPF é uma única sondagem, qualquer que seja o número de clientes. Escritas
+ * sobre um mesmo id são serializadas pela trava de sua faixa; leituras não adquirem travas. Os
+ * clientes são copiados na entrada e na saída.
+ */
+@Repository
+public class ClienteVolatilRepository implements ClienteRepository<Cliente, Long> {
+
+    private static final int FAIXAS = 64;
+
+    private final IndiceLongOrdenado<Cliente> clientes = new IndiceLongOrdenado<>();
+    private final IndiceLongConcorrente<Cliente> cpfs = new IndiceLongConcorrente<>();
+    private final ReentrantLock[] travas = new ReentrantLock[FAIXAS];
+    private final AtomicLong proximoId = new AtomicLong(1L);
+
+    public ClienteVolatilRepository() {
+        for (int i = 0; i < FAIXAS; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Cliente save(Cliente cliente) {
+        Cliente novo = cliente.toBuilder().build();
+        if (novo.getId() == null) {
+            novo.setId(proximoId.getAndIncrement());
+        } else {
+            reservarId(novo.getId());
+        }
+        ReentrantLock trava = travas[faixa(novo.getId())];
+        trava.lock();
+        try {
+            gravar(novo);
+        } finally {
+            trava.unlock();
+        }
+        return copia(novo);
+    }
+
+    @Override
+    public Cliente find(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return copia(clientes.get(id));
+    }
+
+    @Override
+    public Cliente findByCpf(long cpf) {
+        return copia(cpfs.get(cpf));
+    }
+
+    @Override
+    public List<Cliente> findAll() {
+        List<Cliente> todos = new ArrayList<>(clientes.size());
+        clientes.forEach(cliente -> todos.add(copia(cliente)));
+        return todos;
+    }
+
+    @Override
+    public List<Cliente> findPage(Long depoisDe, int limite) {
+        List<Cliente> pagina = clientes.pagina(depoisDe == null ? Long.MIN_VALUE : depoisDe, limite);
+        pagina.replaceAll(ClienteVolatilRepository::copia);
+        return pagina;
+    }
+
+    @Override
+    public Stream<Cliente> streamAll() {
+        return clientes.stream(Long.MIN_VALUE).map(ClienteVolatilRepository::copia);
+    }
+
+    @Override
+    public Cliente update(Cliente cliente) {
+        return save(cliente);
+    }
+
+    @Override
+    public void delete(Cliente cliente) {
+        if (cliente.getId() == null) {
+            return;
+        }
+        long id = cliente.getId();
+        ReentrantLock trava = travas[faixa(id)];
+        trava.lock();
+        try {
+            Cliente removido = clientes.remove(id);
+            if (removido != null && removido.getCpf() != null) {
+                cpfs.remove(removido.getCpf());
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        for (ReentrantLock trava : travas) {
+            trava.lock();
+        }
+        try {
+            clientes.clear();
+            cpfs.clear();
+        } finally {
+            for (ReentrantLock trava : travas) {
+                trava.unlock();
+            }
+        }
+    }
+
+    // Deve ser chamado com a trava da faixa do cliente adquirida. O CPF é reservado antes da
+    // gravação; como só o dono o libera, a remoção do CPF anterior não precisa de condição.
+    private void gravar(Cliente novo) {
+        long id = novo.getId();
+        Cliente anterior = clientes.get(id);
+        if (novo.getCpf() != null) {
+            Cliente dono = cpfs.putIfAbsent(novo.getCpf(), novo);
+            if (dono != null) {
+                if (dono.getId() != id) {
+                    throw new CpfDuplicadoException();
+                }
+                cpfs.put(novo.getCpf(), novo);
+            }
+        }
+        clientes.put(id, novo);
+        if (anterior != null && anterior.getCpf() != null && !anterior.getCpf().equals(novo.getCpf())) {
+            cpfs.remove(anterior.getCpf());
+        }
+    }
+
+    private static int faixa(long id) {
+        return Long.hashCode(id * 0x9e3779b97f4a7c15L) & (FAIXAS - 1);
+    }
+
+    private void reservarId(long id) {
+        long atual;
+        while ((atual = proximoId.get()) <= id) {
+            if (proximoId.compareAndSet(atual, id + 1)) {
+                return;
+            }
+        }
+    }
+
+    private static Cliente copia(Cliente cliente) {
+        return cliente == null ? null : cliente.toBuilder().build();
+    }
+}
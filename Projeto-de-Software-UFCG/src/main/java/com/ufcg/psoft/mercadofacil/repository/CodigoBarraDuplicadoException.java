@@ -0,0 +1,19 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * O código de barras já pertence a outro produto.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class CodigoBarraDuplicadoException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public CodigoBarraDuplicadoException() {
+        super("Código de barras já cadastrado!");
+    }
+}
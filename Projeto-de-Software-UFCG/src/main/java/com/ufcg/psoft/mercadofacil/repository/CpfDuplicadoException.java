@@ -0,0 +1,19 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * O CPF já pertence a outro cliente.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class CpfDuplicadoException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public CpfDuplicadoException() {
+        super("CPF já cadastrado!");
+    }
+}
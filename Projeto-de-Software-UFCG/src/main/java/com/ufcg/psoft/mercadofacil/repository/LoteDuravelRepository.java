@@ -0,0 +1,160 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.alteracoes.PublicadorAlteracoes;
+import com.ufcg.psoft.mercadofacil.codec.LoteCodec;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.repository.persistencia.ArmazenamentoDuravel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Repositório de lotes em memória cujas escritas são gravadas em um diário em disco antes de
+ * retornar. Na inicialização, o estado é recuperado do último instantâneo e do diário.
+ */
+@Repository
+@ConditionalOnExpression("'${mercadofacil.persistencia.modo:volatil}' == 'duravel'"
+        + " and '${mercadofacil.lotes.armazenamento:memoria}' != 'mapeado'")
+public class LoteDuravelRepository implements LoteRepository<Lote, Long>, Closeable {
+
+    private final LoteVolatilRepository memoria = new LoteVolatilRepository();
+    private final ArmazenamentoDuravel<Lote> armazenamento;
+
+    public LoteDuravelRepository(
+            @Value("${mercadofacil.persistencia.diretorio:dados}") String diretorio,
+            @Value("${mercadofacil.persistencia.registros-por-instantaneo:100000}") long registrosPorInstantaneo)
+            throws IOException {
+        this.armazenamento = new ArmazenamentoDuravel<>(Path.of(diretorio), "lotes", new LoteCodec(),
+                new ArmazenamentoDuravel.Destino<>() {
+                    @Override
+                    public void salvar(Lote lote) {
+                        memoria.save(lote);
+                    }
+
+                    @Override
+                    public void remover(long id) {
+                        memoria.delete(Lote.builder().id(id).build());
+                    }
+
+                    @Override
+                    public void limpar() {
+                        memoria.deleteAll();
+                    }
+
+                    @Override
+                    public Stream<Lote> todos() {
+                        return memoria.streamAll();
+                    }
+                }, registrosPorInstantaneo);
+    }
+
+    @Override
+    public Lote save(Lote lote) {
+        return armazenamento.salvar(lote.getId(), () -> memoria.save(lote));
+    }
+
+    @Override
+    public List<Lote> saveAll(List<Lote> lista) {
+        List<Long> ids = new ArrayList<>(lista.size());
+        List<Supplier<Lote>> operacoes = new ArrayList<>(lista.size());
+        for (Lote lote : lista) {
+            ids.add(lote.getId());
+            operacoes.add(() -> memoria.save(lote));
+        }
+        return armazenamento.salvarTodos(ids, operacoes);
+    }
+
+    @Override
+    public Lote find(Long id) {
+        return memoria.find(id);
+    }
+
+    @Override
+    public List<Lote> findAll() {
+        return memoria.findAll();
+    }
+
+    @Override
+    public List<Lote> findPage(Long depoisDe, int limite) {
+        return memoria.findPage(depoisDe, limite);
+    }
+
+    @Override
+    public <R> List<R> findPage(Long depoisDe, int limite, Function<? super Lote, ? extends R> projecao) {
+        return memoria.findPage(depoisDe, limite, projecao);
+    }
+
+    @Override
+    public Stream<Lote> streamAll() {
+        return memoria.streamAll();
+    }
+
+    @Override
+    public Lote update(Lote lote) {
+        return save(lote);
+    }
+
+    @Override
+    public void delete(Lote lote) {
+        if (lote.getId() != null) {
+            armazenamento.remover(lote.getId(), () -> memoria.delete(lote));
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        armazenamento.limpar(memoria::deleteAll);
+    }
+
+    /**
+     * A alteração é feita sob a trava do id para que o estado registrado no diário seja o
+     * resultado dela, e não o de uma alteração concorrente.
+     */
+    @Override
+    public int alterarItens(Long id, int delta) {
+        int[] itens = {-1};
+        armazenamento.salvar(id, () -> {
+            itens[0] = memoria.alterarItens(id, delta);
+            return itens[0] < 0 ? null : memoria.find(id);
+        });
+        return itens[0];
+    }
+
+    @Override
+    public long totalDeItens(Long produtoId) {
+        return memoria.totalDeItens(produtoId);
+    }
+
+    @Override
+    public long quantidadeDeLotes(Long produtoId) {
+        return memoria.quantidadeDeLotes(produtoId);
+    }
+
+    /**
+     * As alterações são publicadas pelo repositório em memória; as reaplicadas na recuperação,
+     * anteriores a esta injeção, não são publicadas.
+     */
+    @Autowired(required = false)
+    void setAlteracoes(PublicadorAlteracoes alteracoes) {
+        memoria.alteracoes = alteracoes;
+    }
+
+    public ArmazenamentoDuravel<Lote> getArmazenamento() {
+        return armazenamento;
+    }
+
+    @Override
+    public void close() throws IOException {
+        armazenamento.close();
+    }
+}
@@ -0,0 +1,517 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.alteracoes.PublicadorAlteracoes;
+import com.ufcg.psoft.mercadofacil.model.Alteracao;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.repository.indice.ConjuntoLongOrdenado;
+import com.ufcg.psoft.mercadofacil.repository.indice.EstoquePorProduto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Repositório de lotes em um arquivo mapeado em memória, fora do heap.
+ * <p>
+ * Cada lote ocupa um registro de largura fixa ({@code [versão][itens][id][id do produto]},
+ * 24 bytes) na posição {@code id - 1}, o que dispensa índice para a busca: o id é o endereço.
+ * O arquivo é mapeado em blocos de {@value #REGISTROS_POR_BLOCO} registros, criados sob demanda,
+ * e os trechos nunca escritos ficam esparsos no disco. O produto é guardado apenas pelo id e
+ * resolvido no {@link ProdutoRepository} na leitura. Para que a paginação não percorra as
+ * posições vazias, os ids ocupados ficam também em um {@link ConjuntoLongOrdenado} no heap,
+ * de cerca de um bit por id.
+ * <p>
+ * A versão de cada registro funciona como um seqlock: o escritor a torna ímpar por CAS, grava
+ * os campos e a torna par de novo; o leitor repete a leitura se a versão mudou no meio dela.
+ * Ao reabrir o arquivo, uma varredura dos registros, feita antes que o repositório seja usado,
+ * reconstrói o {@link EstoquePorProduto} e os ids ocupados, e desfaz o que uma queda do
+ * processo no meio de uma escrita pode ter deixado: versões ímpares voltam a ser pares, e
+ * registros cujo id não corresponde à posição ou com itens negativos são zerados.
+ * <p>
+ * As escritas são publicadas em {@link PublicadorAlteracoes} com a trava do registro ainda
+ * adquirida; nas alterações de itens, o produto do lote publicado traz apenas o id.
+ */
+@Repository
+@ConditionalOnProperty(name = "mercadofacil.lotes.armazenamento", havingValue = "mapeado")
+public class LoteMapeadoRepository implements LoteRepository<Lote, Long>, Closeable {
+
+    static final int TAMANHO_REGISTRO = 24;
+    static final int REGISTROS_POR_BLOCO = 1 << 20;
+    static final long MAXIMO_ID = 1L << 32;
+
+    static final int CABECALHO = 64;
+    private static final int MAGICO = 0x4C4F5445;
+    private static final int PROXIMO_ID = 8;
+    private static final int QUANTIDADE = 16;
+    private static final int ITENS = 4;
+    private static final int ID = 8;
+    private static final int PRODUTO = 16;
+    private static final long SEM_PRODUTO = EstoquePorProduto.SEM_PRODUTO;
+    private static final long BYTES_POR_BLOCO = (long) REGISTROS_POR_BLOCO * TAMANHO_REGISTRO;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    @Autowired
+    ProdutoRepository<Produto, Long> produtoRepository;
+
+    @Autowired(required = false)
+    PublicadorAlteracoes alteracoes = PublicadorAlteracoes.NENHUM;
+
+    private final FileChannel canal;
+    private final MappedByteBuffer cabecalho;
+    private volatile MappedByteBuffer[] blocos;
+    private final EstoquePorProduto estoque = new EstoquePorProduto();
+    private final ConjuntoLongOrdenado ocupados = new ConjuntoLongOrdenado();
+
+    public LoteMapeadoRepository(@Value("${mercadofacil.lotes.arquivo:dados/lotes.dat}") String arquivo)
+            throws IOException {
+        Path caminho = Path.of(arquivo);
+        if (caminho.getParent() != null) {
+            Files.createDirectories(caminho.getParent());
+        }
+        this.canal = FileChannel.open(caminho,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean novo = canal.size() == 0;
+        this.cabecalho = canal.map(FileChannel.MapMode.READ_WRITE, 0, CABECALHO);
+        if (novo) {
+            INT.set(cabecalho, 0, MAGICO);
+            LONG.setVolatile(cabecalho, PROXIMO_ID, 1L);
+        } else if ((int) INT.get(cabecalho, 0) != MAGICO) {
+            throw new IOException("Arquivo de lotes inválido: " + arquivo);
+        }
+        int existentes = (int) ((canal.size() - CABECALHO + BYTES_POR_BLOCO - 1) / BYTES_POR_BLOCO);
+        MappedByteBuffer[] mapeados = new MappedByteBuffer[Math.max(existentes, 1)];
+        for (int i = 0; i < existentes; i++) {
+            mapeados[i] = mapear(i);
+        }
+        this.blocos = mapeados;
+        recuperar();
+    }
+
+    @Override
+    public Lote save(Lote lote) {
+        if (lote.getId() == null) {
+            long gerado = (long) LONG.getAndAdd(cabecalho, PROXIMO_ID, 1L);
+            validarId(gerado);
+            lote.setId(gerado);
+        } else {
+            validarId(lote.getId());
+            reservarId(lote.getId());
+        }
+        long produtoId = SEM_PRODUTO;
+        if (lote.getProduto() != null) {
+            if (lote.getProduto().getId() == null) {
+                throw new RuntimeException("Produto do lote sem id!");
+            }
+            produtoId = lote.getProduto().getId();
+        }
+        long id = lote.getId();
+        MappedByteBuffer bloco = bloco(id, true);
+        int base = deslocamento(id);
+        int versao = travar(bloco, base);
+        if ((long) LONG.get(bloco, base + ID) == 0) {
+            LONG.getAndAdd(cabecalho, QUANTIDADE, 1L);
+            ocupados.add(id);
+        } else {
+            estoque.remover((long) LONG.get(bloco, base + PRODUTO), (int) INT.get(bloco, base + ITENS));
+        }
+        INT.set(bloco, base + ITENS, lote.getNumeroDeItens());
+        LONG.set(bloco, base + ID, id);
+        LONG.set(bloco, base + PRODUTO, produtoId);
+        estoque.adicionar(produtoId, lote.getNumeroDeItens());
+        alteracoes.salvo(Alteracao.Entidade.LOTE, id, Lote.builder()
+                .id(id)
+                .produto(lote.getProduto())
+                .numeroDeItens(lote.getNumeroDeItens())
+                .build());
+        INT.setRelease(bloco, base, versao + 2);
+        return lote;
+    }
+
+    @Override
+    public List<Lote> saveAll(List<Lote> lista) {
+        List<Lote> salvos = new ArrayList<>(lista.size());
+        for (Lote lote : lista) {
+            salvos.add(save(lote));
+        }
+        return salvos;
+    }
+
+    @Override
+    public Lote find(Long id) {
+        if (id == null || id <= 0 || id >= MAXIMO_ID) {
+            return null;
+        }
+        MappedByteBuffer bloco = bloco(id, false);
+        return bloco == null ? null : ler(bloco, deslocamento(id));
+    }
+
+    @Override
+    public List<Lote> findAll() {
+        List<Lote> todos = new ArrayList<>((int) quantidade());
+        try (Stream<Lote> lotes = streamAll()) {
+            lotes.forEach(todos::add);
+        }
+        return todos;
+    }
+
+    @Override
+    public List<Lote> findPage(Long depoisDe, int limite) {
+        return findPage(depoisDe, limite, Function.identity());
+    }
+
+    /**
+     * Busca os próximos ids no conjunto dos ocupados, de modo que o custo depende do limite e
+     * não das posições vazias. Um lote removido entre a busca do id e a leitura é pulado.
+     */
+    @Override
+    public <R> List<R> findPage(Long depoisDe, int limite, Function<? super Lote, ? extends R> projecao) {
+        if (limite <= 0) {
+            return new ArrayList<>();
+        }
+        List<R> pagina = new ArrayList<>(limite);
+        long[] ids = new long[limite];
+        long ultimo = depoisDe == null || depoisDe < 0 ? 0 : depoisDe;
+        while (pagina.size() < limite) {
+            int lidos = ocupados.proximos(ultimo, ids);
+            if (lidos == 0) {
+                break;
+            }
+            for (int i = 0; i < lidos && pagina.size() < limite; i++) {
+                Lote lote = find(ids[i]);
+                if (lote != null) {
+                    pagina.add(projecao.apply(lote));
+                }
+                ultimo = ids[i];
+            }
+        }
+        return pagina;
+    }
+
+    @Override
+    public Stream<Lote> streamAll() {
+        return LongStream.range(1, proximoId()).mapToObj(this::find).filter(Objects::nonNull);
+    }
+
+    @Override
+    public Lote update(Lote lote) {
+        return save(lote);
+    }
+
+    @Override
+    public void delete(Lote lote) {
+        Long id = lote.getId();
+        if (id == null || id <= 0 || id >= MAXIMO_ID) {
+            return;
+        }
+        MappedByteBuffer bloco = bloco(id, false);
+        if (bloco != null) {
+            remover(bloco, deslocamento(id), true);
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        for (MappedByteBuffer bloco : blocos) {
+            if (bloco == null) {
+                continue;
+            }
+            for (int base = 0; base < BYTES_POR_BLOCO; base += TAMANHO_REGISTRO) {
+                if ((long) LONG.getOpaque(bloco, base + ID) != 0) {
+                    remover(bloco, base, false);
+                }
+            }
+        }
+        alteracoes.limpo(Alteracao.Entidade.LOTE);
+    }
+
+    /**
+     * Altera o campo de itens sob a trava do próprio registro, adquirida por CAS na versão, para
+     * que o produto somado no {@link EstoquePorProduto} seja o do registro alterado.
+     */
+    @Override
+    public int alterarItens(Long id, int delta) {
+        if (id == null || id <= 0 || id >= MAXIMO_ID) {
+            return -1;
+        }
+        MappedByteBuffer bloco = bloco(id, false);
+        if (bloco == null) {
+            return -1;
+        }
+        int base = deslocamento(id);
+        int versao = travar(bloco, base);
+        try {
+            if ((long) LONG.get(bloco, base + ID) == 0) {
+                return -1;
+            }
+            long novo = (long) (int) INT.get(bloco, base + ITENS) + delta;
+            if (novo < 0 || novo > Integer.MAX_VALUE) {
+                return -1;
+            }
+            INT.set(bloco, base + ITENS, (int) novo);
+            long produtoId = (long) LONG.get(bloco, base + PRODUTO);
+            estoque.somar(produtoId, delta);
+            alteracoes.publicar(Alteracao.Entidade.LOTE, Alteracao.Tipo.ITENS_ALTERADOS, id, Lote.builder()
+                    .id(id)
+                    .produto(produtoId == SEM_PRODUTO ? null : Produto.builder().id(produtoId).build())
+                    .numeroDeItens((int) novo)
+                    .build(), delta);
+            return (int) novo;
+        } finally {
+            INT.setRelease(bloco, base, versao + 2);
+        }
+    }
+
+    @Override
+    public long totalDeItens(Long produtoId) {
+        return produtoId == null ? 0 : estoque.totalDeItens(produtoId);
+    }
+
+    @Override
+    public long quantidadeDeLotes(Long produtoId) {
+        return produtoId == null ? 0 : estoque.quantidadeDeLotes(produtoId);
+    }
+
+    /**
+     * Soma os itens de todos os lotes lendo os registros diretamente do arquivo mapeado, sem
+     * criar objetos.
+     */
+    public long totalDeItens() {
+        long[] total = {0};
+        varrer((produto, itens) -> total[0] += itens);
+        return total[0];
+    }
+
+    public long quantidade() {
+        return (long) LONG.getVolatile(cabecalho, QUANTIDADE);
+    }
+
+    /**
+     * Grava no disco as páginas alteradas do arquivo.
+     */
+    public void sincronizar() {
+        for (MappedByteBuffer bloco : blocos) {
+            if (bloco != null) {
+                bloco.force();
+            }
+        }
+        cabecalho.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        sincronizar();
+        canal.close();
+    }
+
+    /**
+     * Varre todos os registros dos blocos existentes antes que o repositório seja usado. Um
+     * registro com versão ímpar foi deixado por uma escrita interrompida: ele é mantido, com a
+     * versão tornada par, se seus campos forem válidos, e zerado caso contrário. A quantidade de
+     * lotes e o próximo id são recalculados a partir dos registros, e o estoque por produto é
+     * reconstruído na mesma passada.
+     */
+    private void recuperar() {
+        long quantidade = 0;
+        long maiorId = 0;
+        MappedByteBuffer[] mapeados = blocos;
+        for (int b = 0; b < mapeados.length; b++) {
+            MappedByteBuffer bloco = mapeados[b];
+            if (bloco == null) {
+                continue;
+            }
+            for (int base = 0; base < BYTES_POR_BLOCO; base += TAMANHO_REGISTRO) {
+                int versao = (int) INT.get(bloco, base);
+                if ((versao & 1) != 0) {
+                    INT.set(bloco, base, versao + 1);
+                }
+                long id = (long) LONG.get(bloco, base + ID);
+                if (id == 0) {
+                    continue;
+                }
+                int itens = (int) INT.get(bloco, base + ITENS);
+                if (id != (long) b * REGISTROS_POR_BLOCO + base / TAMANHO_REGISTRO + 1 || itens < 0) {
+                    INT.set(bloco, base + ITENS, 0);
+                    LONG.set(bloco, base + ID, 0L);
+                    LONG.set(bloco, base + PRODUTO, 0L);
+                    continue;
+                }
+                estoque.adicionar((long) LONG.get(bloco, base + PRODUTO), itens);
+                ocupados.add(id);
+                quantidade++;
+                maiorId = id;
+            }
+        }
+        LONG.setVolatile(cabecalho, QUANTIDADE, quantidade);
+        if (proximoId() <= maiorId) {
+            LONG.setVolatile(cabecalho, PROXIMO_ID, maiorId + 1);
+        }
+    }
+
+    /**
+     * Visita o produto e os itens de cada lote existente, lendo os registros diretamente do
+     * arquivo mapeado, sem criar objetos.
+     */
+    private void varrer(Visitante visitante) {
+        long ultimo = proximoId() - 1;
+        MappedByteBuffer[] mapeados = blocos;
+        for (int b = 0; b < mapeados.length && (long) b * REGISTROS_POR_BLOCO < ultimo; b++) {
+            MappedByteBuffer bloco = mapeados[b];
+            if (bloco == null) {
+                continue;
+            }
+            long limite = Math.min(REGISTROS_POR_BLOCO, ultimo - (long) b * REGISTROS_POR_BLOCO);
+            for (int base = 0; base < limite * TAMANHO_REGISTRO; base += TAMANHO_REGISTRO) {
+                int versao;
+                long id;
+                long produto;
+                int itens;
+                do {
+                    versao = esperarVersaoPar(bloco, base);
+                    id = (long) LONG.get(bloco, base + ID);
+                    produto = (long) LONG.get(bloco, base + PRODUTO);
+                    itens = (int) INT.get(bloco, base + ITENS);
+                    VarHandle.loadLoadFence();
+                } while ((int) INT.getVolatile(bloco, base) != versao);
+                if (id != 0) {
+                    visitante.visitar(produto, itens);
+                }
+            }
+        }
+    }
+
+    private Lote ler(MappedByteBuffer bloco, int base) {
+        int versao;
+        long id;
+        long produtoId;
+        int itens;
+        do {
+            versao = esperarVersaoPar(bloco, base);
+            id = (long) LONG.get(bloco, base + ID);
+            produtoId = (long) LONG.get(bloco, base + PRODUTO);
+            itens = (int) INT.get(bloco, base + ITENS);
+            VarHandle.loadLoadFence();
+        } while ((int) INT.getVolatile(bloco, base) != versao);
+        if (id == 0) {
+            return null;
+        }
+        return Lote.builder()
+                .id(id)
+                .produto(produtoId == SEM_PRODUTO ? null : produtoRepository.find(produtoId))
+                .numeroDeItens(itens)
+                .build();
+    }
+
+    private void remover(MappedByteBuffer bloco, int base, boolean publicar) {
+        int versao = travar(bloco, base);
+        long id = (long) LONG.get(bloco, base + ID);
+        if (id != 0) {
+            LONG.set(bloco, base + ID, 0L);
+            LONG.getAndAdd(cabecalho, QUANTIDADE, -1L);
+            ocupados.remove(id);
+            estoque.remover((long) LONG.get(bloco, base + PRODUTO), (int) INT.get(bloco, base + ITENS));
+            if (publicar) {
+                alteracoes.removido(Alteracao.Entidade.LOTE, id);
+            }
+        }
+        INT.setRelease(bloco, base, versao + 2);
+    }
+
+    private static int travar(MappedByteBuffer bloco, int base) {
+        while (true) {
+            int versao = (int) INT.getVolatile(bloco, base);
+            if ((versao & 1) == 0 && INT.compareAndSet(bloco, base, versao, versao + 1)) {
+                return versao;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static int esperarVersaoPar(MappedByteBuffer bloco, int base) {
+        int versao;
+        while (((versao = (int) INT.getAcquire(bloco, base)) & 1) != 0) {
+            Thread.onSpinWait();
+        }
+        return versao;
+    }
+
+    private MappedByteBuffer bloco(long id, boolean criar) {
+        int indice = (int) ((id - 1) / REGISTROS_POR_BLOCO);
+        MappedByteBuffer[] mapeados = blocos;
+        if (indice < mapeados.length && mapeados[indice] != null) {
+            return mapeados[indice];
+        }
+        if (!criar) {
+            return null;
+        }
+        // Os leitores usam o vetor sem trava; um bloco novo vai sempre em uma cópia, publicada
+        // inteira pela escrita volátil.
+        synchronized (this) {
+            mapeados = blocos;
+            if (indice < mapeados.length && mapeados[indice] != null) {
+                return mapeados[indice];
+            }
+            MappedByteBuffer[] copia = Arrays.copyOf(mapeados,
+                    indice < mapeados.length ? mapeados.length : Math.max(indice + 1, mapeados.length * 2));
+            try {
+                copia[indice] = mapear(indice);
+            } catch (IOException e) {
+                throw new RuntimeException("Falha ao mapear o arquivo de lotes!", e);
+            }
+            blocos = copia;
+            return copia[indice];
+        }
+    }
+
+    private MappedByteBuffer mapear(int indice) throws IOException {
+        return canal.map(FileChannel.MapMode.READ_WRITE, CABECALHO + indice * BYTES_POR_BLOCO, BYTES_POR_BLOCO);
+    }
+
+    private static int deslocamento(long id) {
+        return (int) ((id - 1) % REGISTROS_POR_BLOCO) * TAMANHO_REGISTRO;
+    }
+
+    private long proximoId() {
+        return (long) LONG.getVolatile(cabecalho, PROXIMO_ID);
+    }
+
+    private void reservarId(long id) {
+        long atual;
+        while ((atual = proximoId()) <= id) {
+            if (LONG.compareAndSet(cabecalho, PROXIMO_ID, atual, id + 1)) {
+                return;
+            }
+        }
+    }
+
+    private static void validarId(long id) {
+        if (id <= 0 || id >= MAXIMO_ID) {
+            throw new RuntimeException("Id de lote inválido!");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Visitante {
+        void visitar(long produtoId, int itens);
+    }
+}
@@ -1,13 +1,45 @@
 package com.ufcg.psoft.mercadofacil.repository;
 
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface LoteRepository<T, ID> {
     T save(T lote);
+
+    /**
+     * Grava vários lotes de uma vez, na ordem da lista. Nos repositórios com diário, o grupo
+     * inteiro é confirmado em disco com poucas sincronizações.
+     */
+    List<T> saveAll(List<T> lotes);
+
     T find(ID id);
     List<T> findAll();
+
+    /**
+     * Até {@code limite} lotes com id maior que {@code depoisDe} (ou desde o início, se nulo),
+     * em ordem de id.
+     */
+    List<T> findPage(ID depoisDe, int limite);
+
+    <R> List<R> findPage(ID depoisDe, int limite, Function<? super T, ? extends R> projecao);
+
+    Stream<T> streamAll();
     T update(T lote);
     void delete(T lote);
     void deleteAll();
-}
 
+    /**
+     * Soma {@code delta} ao número de itens do lote de forma atômica, sem trava global.
+     *
+     * @return o novo número de itens, ou -1 se o lote não existe ou não tem itens suficientes
+     */
+    int alterarItens(ID id, int delta);
+
+    /**
+     * Total de itens nos lotes do produto, mantido a cada escrita, sem percorrer os lotes.
+     */
+    long totalDeItens(ID produtoId);
+
+    long quantidadeDeLotes(ID produtoId);
+}
@@ -1,48 +1,242 @@
 package com.ufcg.psoft.mercadofacil.repository;
 
+import com.ufcg.psoft.mercadofacil.alteracoes.PublicadorAlteracoes;
+import com.ufcg.psoft.mercadofacil.model.Alteracao;
 import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.repository.indice.EstoquePorProduto;
+import com.ufcg.psoft.mercadofacil.repository.indice.IndiceLongOrdenado;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Repository;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+/**
+ * Repositório de lotes em memória.
+ * <p>
+ * Cada lote é guardado junto da parcela que ele somou ao {@link EstoquePorProduto}, de modo
+ * que substituí-lo ou removê-lo desconta exatamente essa parcela, mesmo que o lote tenha sido
+ * alterado pelo chamador depois de salvo. Escritas e remoções de um id adquirem a trava de
+ * escrita de sua faixa; {@link #alterarItens} adquire apenas a de leitura, então alterações
+ * simultâneas de itens não se excluem e só disputam o compare-and-set do lote.
+ * <p>
+ * Cada escrita é publicada em {@link PublicadorAlteracoes} ainda sob a trava. Como as
+ * alterações de itens de um mesmo lote não se excluem, seus eventos podem sair em ordem
+ * diferente da dos compare-and-set; por isso cada um traz o {@code delta}, e somar os deltas
+ * dá o mesmo total em qualquer ordem.
+ */
 @Repository
+@ConditionalOnExpression("'${mercadofacil.persistencia.modo:volatil}' == 'volatil'"
+        + " and '${mercadofacil.lotes.armazenamento:memoria}' != 'mapeado'")
 public class LoteVolatilRepository implements LoteRepository<Lote, Long> {
 
-    List<Lote> lotes = new ArrayList<>();
+    private static final int FAIXAS = 64;
+    private static final VarHandle PARCELA;
+
+    static {
+        try {
+            PARCELA = MethodHandles.lookup().findVarHandle(Registro.class, "parcela", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final IndiceLongOrdenado<Registro> lotes = new IndiceLongOrdenado<>();
+    private final EstoquePorProduto estoque = new EstoquePorProduto();
+    private final StampedLock[] travas = new StampedLock[FAIXAS];
+    private final AtomicLong proximoId = new AtomicLong(1L);
+
+    @Autowired(required = false)
+    PublicadorAlteracoes alteracoes = PublicadorAlteracoes.NENHUM;
+
+    public LoteVolatilRepository() {
+        for (int i = 0; i < FAIXAS; i++) {
+            travas[i] = new StampedLock();
+        }
+    }
 
     @Override
     public Lote save(Lote lote) {
-        lotes.add(lote);
-        return lotes.stream().findFirst().get();
+        if (lote.getId() == null) {
+            lote.setId(proximoId.getAndIncrement());
+        } else {
+            reservarId(lote.getId());
+        }
+        long id = lote.getId();
+        Registro novo = new Registro(lote);
+        StampedLock trava = travas[faixa(id)];
+        long selo = trava.writeLock();
+        try {
+            Registro anterior = lotes.put(id, novo);
+            if (anterior != null) {
+                estoque.remover(anterior.produtoId, anterior.parcela);
+            }
+            estoque.adicionar(novo.produtoId, novo.parcela);
+            alteracoes.salvo(Alteracao.Entidade.LOTE, id, copia(lote, lote.getNumeroDeItens()));
+        } finally {
+            trava.unlockWrite(selo);
+        }
+        return lote;
+    }
+
+    @Override
+    public List<Lote> saveAll(List<Lote> lista) {
+        List<Lote> salvos = new ArrayList<>(lista.size());
+        for (Lote lote : lista) {
+            salvos.add(save(lote));
+        }
+        return salvos;
     }
 
     @Override
     public Lote find(Long id) {
-        return lotes.get(Integer.parseInt("" + id));
+        if (id == null) {
+            return null;
+        }
+        Registro registro = lotes.get(id);
+        return registro == null ? null : registro.lote;
     }
 
     @Override
     public List<Lote> findAll() {
-        return lotes;
+        return lotes.values().stream().map(registro -> registro.lote).toList();
+    }
+
+    @Override
+    public List<Lote> findPage(Long depoisDe, int limite) {
+        return findPage(depoisDe, limite, Function.identity());
+    }
+
+    @Override
+    public <R> List<R> findPage(Long depoisDe, int limite, Function<? super Lote, ? extends R> projecao) {
+        List<Registro> pagina = lotes.pagina(depoisDe == null ? Long.MIN_VALUE : depoisDe, limite);
+        List<R> projetados = new ArrayList<>(pagina.size());
+        for (Registro registro : pagina) {
+            projetados.add(projecao.apply(registro.lote));
+        }
+        return projetados;
+    }
+
+    @Override
+    public Stream<Lote> streamAll() {
+        return lotes.stream(Long.MIN_VALUE).map(registro -> registro.lote);
     }
 
     @Override
     public Lote update(Lote lote) {
-        lotes.clear();
-        lotes.add(lote);
-        return lotes.stream().findFirst().orElse(null);
+        return save(lote);
     }
 
     @Override
     public void delete(Lote lote) {
-        lotes.clear();
+        if (lote.getId() == null) {
+            return;
+        }
+        long id = lote.getId();
+        StampedLock trava = travas[faixa(id)];
+        long selo = trava.writeLock();
+        try {
+            Registro removido = lotes.remove(id);
+            if (removido != null) {
+                estoque.remover(removido.produtoId, removido.parcela);
+                alteracoes.removido(Alteracao.Entidade.LOTE, id);
+            }
+        } finally {
+            trava.unlockWrite(selo);
+        }
     }
 
     @Override
     public void deleteAll() {
-        lotes.clear();
+        long[] selos = new long[FAIXAS];
+        for (int i = 0; i < FAIXAS; i++) {
+            selos[i] = travas[i].writeLock();
+        }
+        try {
+            lotes.clear();
+            estoque.clear();
+            alteracoes.limpo(Alteracao.Entidade.LOTE);
+        } finally {
+            for (int i = 0; i < FAIXAS; i++) {
+                travas[i].unlockWrite(selos[i]);
+            }
+        }
     }
 
+    @Override
+    public int alterarItens(Long id, int delta) {
+        if (id == null) {
+            return -1;
+        }
+        StampedLock trava = travas[faixa(id)];
+        long selo = trava.readLock();
+        try {
+            Registro registro = lotes.get(id);
+            if (registro == null) {
+                return -1;
+            }
+            int itens = registro.lote.alterarItens(delta);
+            if (itens >= 0) {
+                PARCELA.getAndAdd(registro, (long) delta);
+                estoque.somar(registro.produtoId, delta);
+                alteracoes.publicar(Alteracao.Entidade.LOTE, Alteracao.Tipo.ITENS_ALTERADOS, id,
+                        copia(registro.lote, itens), delta);
+            }
+            return itens;
+        } finally {
+            trava.unlockRead(selo);
+        }
+    }
+
+    @Override
+    public long totalDeItens(Long produtoId) {
+        return produtoId == null ? 0 : estoque.totalDeItens(produtoId);
+    }
+
+    @Override
+    public long quantidadeDeLotes(Long produtoId) {
+        return produtoId == null ? 0 : estoque.quantidadeDeLotes(produtoId);
+    }
 
+    private static int faixa(long id) {
+        return Long.hashCode(id * 0x9e3779b97f4a7c15L) & (FAIXAS - 1);
+    }
+
+    private void reservarId(long id) {
+        long atual;
+        while ((atual = proximoId.get()) <= id) {
+            if (proximoId.compareAndSet(atual, id + 1)) {
+                return;
+            }
+        }
+    }
+
+    private static Lote copia(Lote lote, int itens) {
+        return Lote.builder()
+                .id(lote.getId())
+                .produto(lote.getProduto())
+                .numeroDeItens(itens)
+                .build();
+    }
+
+    private static final class Registro {
+        final Lote lote;
+        final long produtoId;
+        volatile long parcela;
+
+        Registro(Lote lote) {
+            this.lote = lote;
+            this.produtoId = lote.getProduto() == null || lote.getProduto().getId() == null
+                    ? EstoquePorProduto.SEM_PRODUTO
+                    : lote.getProduto().getId();
+            this.parcela = lote.getNumeroDeItens();
+        }
+    }
 }
@@ -0,0 +1,162 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Cache de leitura (read-through) de produtos por id na frente do repositório configurado.
+ * <p>
+ * O tamanho é limitado e a política de remoção é a W-TinyLFU do Caffeine. Buscas simultâneas
+ * pelo mesmo id ausente são agrupadas em uma única leitura do repositório. Escritas vão direto
+ * ao repositório e depois invalidam o id no cache; como a invalidação espera uma leitura em
+ * andamento do mesmo id terminar, um valor antigo carregado durante a escrita não sobrevive a
+ * ela.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "mercadofacil.cache.produtos.habilitado", havingValue = "true")
+public class ProdutoCacheRepository implements ProdutoRepository<Produto, Long> {
+
+    private final ProdutoRepository<Produto, Long> repositorio;
+    private final Cache<Long, Produto> cache;
+
+    public ProdutoCacheRepository(
+            ProdutoRepository<Produto, Long> produtoRepository,
+            @Value("${mercadofacil.cache.produtos.tamanho-maximo:10000}") long tamanhoMaximo) {
+        this.repositorio = produtoRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Produto save(Produto produto) {
+        Produto salvo = repositorio.save(produto);
+        cache.invalidate(salvo.getId());
+        return salvo;
+    }
+
+    @Override
+    public List<Produto> saveAll(List<Produto> produtos) {
+        try {
+            return repositorio.saveAll(produtos);
+        } finally {
+            invalidar(produtos);
+        }
+    }
+
+    @Override
+    public Produto find(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return copia(cache.get(id, repositorio::find));
+    }
+
+    @Override
+    public Produto findByCodigoBarra(String codigoBarra) {
+        return repositorio.findByCodigoBarra(codigoBarra);
+    }
+
+    @Override
+    public List<Produto> findByFabricante(String fabricante) {
+        return repositorio.findByFabricante(fabricante);
+    }
+
+    @Override
+    public List<Produto> findByTexto(String consulta, Long depoisDe, int limite) {
+        return repositorio.findByTexto(consulta, depoisDe, limite);
+    }
+
+    @Override
+    public List<Produto> findAll() {
+        return repositorio.findAll();
+    }
+
+    @Override
+    public List<Produto> findPage(Long depoisDe, int limite) {
+        return repositorio.findPage(depoisDe, limite);
+    }
+
+    @Override
+    public <R> List<R> findPage(Long depoisDe, int limite, Function<? super Produto, ? extends R> projecao) {
+        return repositorio.findPage(depoisDe, limite, projecao);
+    }
+
+    @Override
+    public Stream<Produto> streamAll() {
+        return repositorio.streamAll();
+    }
+
+    @Override
+    public Produto update(Produto produto) {
+        return save(produto);
+    }
+
+    @Override
+    public Produto update(Produto produto, long versao) {
+        Produto salvo = repositorio.update(produto, versao);
+        if (salvo != null) {
+            cache.invalidate(salvo.getId());
+        }
+        return salvo;
+    }
+
+    @Override
+    public List<Produto> updateAll(List<Produto> produtos) {
+        return saveAll(produtos);
+    }
+
+    @Override
+    public void delete(Produto produto) {
+        repositorio.delete(produto);
+        if (produto.getId() != null) {
+            cache.invalidate(produto.getId());
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        repositorio.deleteAll();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Acertos, faltas e remoções por tamanho desde a criação do cache.
+     */
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+
+    public long tamanho() {
+        return cache.estimatedSize();
+    }
+
+    Cache<Long, Produto> getCache() {
+        return cache;
+    }
+
+    // Itens sem id recebem um id novo no repositório, que ainda não pode estar no cache.
+    private void invalidar(List<Produto> produtos) {
+        for (Produto produto : produtos) {
+            if (produto != null && produto.getId() != null) {
+                cache.invalidate(produto.getId());
+            }
+        }
+    }
+
+    private static Produto copia(Produto produto) {
+        return produto == null ? null : produto.toBuilder().build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.alteracoes.PublicadorAlteracoes;
+import com.ufcg.psoft.mercadofacil.codec.ProdutoCodec;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.repository.persistencia.ArmazenamentoDuravel;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Repositório de produtos em memória cujas escritas são gravadas em um diário em disco antes
+ * de retornar. Na inicialização, o estado é recuperado do último instantâneo e do diário.
+ */
+@Repository
+@ConditionalOnProperty(name = "mercadofacil.persistencia.modo", havingValue = "duravel")
+public class ProdutoDuravelRepository implements ProdutoRepository<Produto, Long>, Closeable {
+
+    private final ProdutoVolatilRepository memoria = new ProdutoVolatilRepository();
+    private final ArmazenamentoDuravel<Produto> armazenamento;
+
+    public ProdutoDuravelRepository(
+            @Value("${mercadofacil.persistencia.diretorio:dados}") String diretorio,
+            @Value("${mercadofacil.persistencia.registros-por-instantaneo:100000}") long registrosPorInstantaneo)
+            throws IOException {
+        this.armazenamento = new ArmazenamentoDuravel<>(Path.of(diretorio), "produtos", new ProdutoCodec(),
+                new ArmazenamentoDuravel.Destino<>() {
+                    @Override
+                    public void salvar(Produto produto) {
+                        memoria.restaurar(produto);
+                    }
+
+                    @Override
+                    public void remover(long id) {
+                        memoria.restaurarRemocao(id);
+                    }
+
+                    @Override
+                    public void limpar() {
+                        memoria.deleteAll();
+                    }
+
+                    @Override
+                    public Stream<Produto> todos() {
+                        return memoria.streamAll();
+                    }
+                }, registrosPorInstantaneo);
+        memoria.reindexar();
+    }
+
+    @Override
+    public Produto save(Produto produto) {
+        return armazenamento.salvar(produto.getId(), () -> memoria.save(produto));
+    }
+
+    @Override
+    public List<Produto> saveAll(List<Produto> lista) {
+        List<Long> ids = new ArrayList<>(lista.size());
+        List<Supplier<Produto>> operacoes = new ArrayList<>(lista.size());
+        for (Produto produto : lista) {
+            ids.add(produto.getId());
+            operacoes.add(() -> memoria.save(produto));
+        }
+        return armazenamento.salvarTodos(ids, operacoes);
+    }
+
+    @Override
+    public Produto find(Long id) {
+        return memoria.find(id);
+    }
+
+    @Override
+    public Produto findByCodigoBarra(String codigoBarra) {
+        return memoria.findByCodigoBarra(codigoBarra);
+    }
+
+    @Override
+    public List<Produto> findByFabricante(String fabricante) {
+        return memoria.findByFabricante(fabricante);
+    }
+
+    @Override
+    public List<Produto> findByTexto(String consulta, Long depoisDe, int limite) {
+        return memoria.findByTexto(consulta, depoisDe, limite);
+    }
+
+    @Override
+    public List<Produto> findAll() {
+        return memoria.findAll();
+    }
+
+    @Override
+    public List<Produto> findPage(Long depoisDe, int limite) {
+        return memoria.findPage(depoisDe, limite);
+    }
+
+    @Override
+    public <R> List<R> findPage(Long depoisDe, int limite, Function<? super Produto, ? extends R> projecao) {
+        return memoria.findPage(depoisDe, limite, projecao);
+    }
+
+    @Override
+    public Stream<Produto> streamAll() {
+        return memoria.streamAll();
+    }
+
+    @Override
+    public Produto update(Produto produto) {
+        return save(produto);
+    }
+
+    @Override
+    public Produto update(Produto produto, long versao) {
+        return armazenamento.salvar(produto.getId(), () -> memoria.update(produto, versao));
+    }
+
+    @Override
+    public List<Produto> updateAll(List<Produto> lista) {
+        return saveAll(lista);
+    }
+
+    @Override
+    public void delete(Produto produto) {
+        if (produto.getId() != null) {
+            armazenamento.remover(produto.getId(), () -> memoria.delete(produto));
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        armazenamento.limpar(memoria::deleteAll);
+    }
+
+    public long memoriaIndiceTexto() {
+        return memoria.memoriaIndiceTexto();
+    }
+
+    /**
+     * As alterações são publicadas pelo repositório em memória; as reaplicadas na recuperação,
+     * anteriores a esta injeção, não são publicadas.
+     */
+    @Autowired(required = false)
+    void setAlteracoes(PublicadorAlteracoes alteracoes) {
+        memoria.alteracoes = alteracoes;
+    }
+
+    public ArmazenamentoDuravel<Produto> getArmazenamento() {
+        return armazenamento;
+    }
+
+    @Override
+    public void close() throws IOException {
+        armazenamento.close();
+    }
+}
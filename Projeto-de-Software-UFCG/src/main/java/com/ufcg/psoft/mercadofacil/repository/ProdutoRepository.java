@@ -1,13 +1,42 @@
 package com.ufcg.psoft.mercadofacil.repository;
 
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface ProdutoRepository<T, ID> {
     T save(T produto);
+    List<T> saveAll(List<T> produtos);
     T find(ID id);
+    T findByCodigoBarra(String codigoBarra);
+    List<T> findByFabricante(String fabricante);
+    List<T> findByTexto(String consulta, ID depoisDe, int limite);
     List<T> findAll();
+
+    /**
+     * Até {@code limite} produtos com id maior que {@code depoisDe} (ou desde o início, se
+     * nulo), em ordem de id. Para a página seguinte, use o id do último produto devolvido.
+     */
+    List<T> findPage(ID depoisDe, int limite);
+
+    /**
+     * Como {@link #findPage(Object, int)}, mas devolve apenas a projeção de cada produto.
+     */
+    <R> List<R> findPage(ID depoisDe, int limite, Function<? super T, ? extends R> projecao);
+
+    Stream<T> streamAll();
     T update(T produto);
+
+    /**
+     * Grava o produto somente se a versão guardada for {@code versao}. Se o produto guardado
+     * já for igual ao informado, ele é devolvido sem alteração, de modo que repetir uma
+     * atualização já aplicada não falha.
+     *
+     * @return o produto gravado, ou null se ele não existe ou está em outra versão
+     */
+    T update(T produto, long versao);
+
+    List<T> updateAll(List<T> produtos);
     void delete(T produto);
     void deleteAll();
 }
-
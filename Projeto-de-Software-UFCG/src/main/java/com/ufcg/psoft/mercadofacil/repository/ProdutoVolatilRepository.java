@@ -0,0 +1,377 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.alteracoes.PublicadorAlteracoes;
+import com.ufcg.psoft.mercadofacil.model.Alteracao;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.repository.indice.IndiceLongOrdenado;
+import com.ufcg.psoft.mercadofacil.repository.indice.IndiceTexto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Repositório de produtos em memória.
+ * <p>
+ * Escritas sobre um mesmo id são serializadas por uma trava de sua faixa (lock striping),
+ * o que mantém os índices secundários de código de barras, fabricante e texto coerentes com
+ * o índice primário. Leituras não adquirem travas. Os produtos são copiados na entrada e na
+ * saída, de modo que alterações feitas pelo chamador não corrompem os índices. Cada escrita
+ * efetiva é publicada em {@link PublicadorAlteracoes} ainda sob a trava.
+ */
+@Repository
+@ConditionalOnProperty(name = "mercadofacil.persistencia.modo", havingValue = "volatil", matchIfMissing = true)
+public class ProdutoVolatilRepository implements ProdutoRepository<Produto, Long> {
+
+    private static final int FAIXAS = 64;
+
+    private final IndiceLongOrdenado<Produto> produtos = new IndiceLongOrdenado<>();
+    private final ConcurrentHashMap<String, Long> codigosBarra = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Long>> fabricantes = new ConcurrentHashMap<>();
+    private final IndiceTexto textos = new IndiceTexto();
+    private final ReentrantLock[] travas = new ReentrantLock[FAIXAS];
+    private final AtomicLong proximoId = new AtomicLong(1L);
+
+    @Autowired(required = false)
+    PublicadorAlteracoes alteracoes = PublicadorAlteracoes.NENHUM;
+
+    public ProdutoVolatilRepository() {
+        for (int i = 0; i < FAIXAS; i++) {
+            travas[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Produto save(Produto produto) {
+        Produto novo = preparar(produto);
+        ReentrantLock trava = travas[faixa(novo.getId())];
+        trava.lock();
+        try {
+            gravar(novo);
+        } finally {
+            trava.unlock();
+        }
+        return copia(novo);
+    }
+
+    /**
+     * Grava os produtos agrupados por faixa, adquirindo cada trava uma única vez. Produtos
+     * com o mesmo id são gravados na ordem da lista. Se um produto for recusado, os que já
+     * foram gravados permanecem e a exceção é propagada.
+     */
+    @Override
+    public List<Produto> saveAll(List<Produto> lista) {
+        int quantidade = lista.size();
+        Produto[] novos = new Produto[quantidade];
+        int[] inicioFaixa = new int[FAIXAS + 1];
+        for (int i = 0; i < quantidade; i++) {
+            novos[i] = preparar(lista.get(i));
+            inicioFaixa[faixa(novos[i].getId()) + 1]++;
+        }
+        for (int f = 0; f < FAIXAS; f++) {
+            inicioFaixa[f + 1] += inicioFaixa[f];
+        }
+        int[] ordem = new int[quantidade];
+        int[] posicao = inicioFaixa.clone();
+        for (int i = 0; i < quantidade; i++) {
+            ordem[posicao[faixa(novos[i].getId())]++] = i;
+        }
+        for (int f = 0; f < FAIXAS; f++) {
+            if (inicioFaixa[f] == inicioFaixa[f + 1]) {
+                continue;
+            }
+            ReentrantLock trava = travas[f];
+            trava.lock();
+            try {
+                for (int k = inicioFaixa[f]; k < inicioFaixa[f + 1]; k++) {
+                    gravar(novos[ordem[k]]);
+                }
+            } finally {
+                trava.unlock();
+            }
+        }
+        List<Produto> gravados = new ArrayList<>(quantidade);
+        for (Produto novo : novos) {
+            gravados.add(copia(novo));
+        }
+        return gravados;
+    }
+
+    @Override
+    public Produto find(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return copia(produtos.get(id));
+    }
+
+    @Override
+    public Produto findByCodigoBarra(String codigoBarra) {
+        if (codigoBarra == null) {
+            return null;
+        }
+        Long id = codigosBarra.get(codigoBarra);
+        return id == null ? null : find(id);
+    }
+
+    @Override
+    public List<Produto> findByFabricante(String fabricante) {
+        List<Produto> encontrados = new ArrayList<>();
+        Set<Long> ids = fabricante == null ? null : fabricantes.get(fabricante);
+        if (ids != null) {
+            for (Long id : ids) {
+                Produto produto = produtos.get(id);
+                if (produto != null) {
+                    encontrados.add(copia(produto));
+                }
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Produtos cujo nome ou fabricante contém todos os termos da consulta, em ordem de id,
+     * a partir do primeiro id maior que {@code depoisDe}.
+     */
+    @Override
+    public List<Produto> findByTexto(String consulta, Long depoisDe, int limite) {
+        long[] ids = textos.buscar(consulta, depoisDe == null ? Long.MIN_VALUE : depoisDe, limite, id -> {
+            Produto produto = produtos.get(id);
+            return produto == null ? null : documento(produto);
+        });
+        List<Produto> encontrados = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            Produto produto = produtos.get(id);
+            if (produto != null) {
+                encontrados.add(copia(produto));
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public List<Produto> findAll() {
+        List<Produto> todos = new ArrayList<>(produtos.size());
+        produtos.forEach(produto -> todos.add(copia(produto)));
+        return todos;
+    }
+
+    @Override
+    public List<Produto> findPage(Long depoisDe, int limite) {
+        return findPage(depoisDe, limite, ProdutoVolatilRepository::copia);
+    }
+
+    /**
+     * A projeção recebe o produto guardado, sem cópia, e não deve alterá-lo nem devolvê-lo.
+     */
+    @Override
+    public <R> List<R> findPage(Long depoisDe, int limite, Function<? super Produto, ? extends R> projecao) {
+        List<Produto> pagina = produtos.pagina(depoisDe == null ? Long.MIN_VALUE : depoisDe, limite);
+        List<R> projetados = new ArrayList<>(pagina.size());
+        for (Produto produto : pagina) {
+            projetados.add(projecao.apply(produto));
+        }
+        return projetados;
+    }
+
+    @Override
+    public Stream<Produto> streamAll() {
+        return produtos.stream(Long.MIN_VALUE).map(ProdutoVolatilRepository::copia);
+    }
+
+    @Override
+    public Produto update(Produto produto) {
+        return save(produto);
+    }
+
+    @Override
+    public Produto update(Produto produto, long versao) {
+        if (produto.getId() == null) {
+            return null;
+        }
+        Produto novo = produto.toBuilder().build();
+        ReentrantLock trava = travas[faixa(novo.getId())];
+        trava.lock();
+        try {
+            Produto atual = produtos.get(novo.getId());
+            if (atual == null || (!atual.equals(novo) && !Objects.equals(atual.getVersao(), versao))) {
+                return null;
+            }
+            gravar(novo);
+        } finally {
+            trava.unlock();
+        }
+        return copia(novo);
+    }
+
+    @Override
+    public List<Produto> updateAll(List<Produto> lista) {
+        return saveAll(lista);
+    }
+
+    @Override
+    public void delete(Produto produto) {
+        if (produto.getId() == null) {
+            return;
+        }
+        long id = produto.getId();
+        ReentrantLock trava = travas[faixa(id)];
+        trava.lock();
+        try {
+            Produto removido = produtos.remove(id);
+            if (removido != null) {
+                desindexar(removido, null);
+                textos.atualizar(id, documento(removido), null);
+                alteracoes.removido(Alteracao.Entidade.PRODUTO, id);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        for (ReentrantLock trava : travas) {
+            trava.lock();
+        }
+        try {
+            produtos.clear();
+            codigosBarra.clear();
+            fabricantes.clear();
+            textos.clear();
+            alteracoes.limpo(Alteracao.Entidade.PRODUTO);
+        } finally {
+            for (ReentrantLock trava : travas) {
+                trava.unlock();
+            }
+        }
+    }
+
+    /**
+     * Grava o produto apenas no índice primário, sem verificar a unicidade do código de barras.
+     * Usado na recuperação, em que estados intermediários podem repetir um código que o estado
+     * final não repete; ao final, {@link #reindexar()} reconstrói os índices secundários.
+     */
+    void restaurar(Produto produto) {
+        Produto novo = preparar(produto);
+        produtos.put(novo.getId(), novo);
+    }
+
+    void restaurarRemocao(long id) {
+        produtos.remove(id);
+    }
+
+    void reindexar() {
+        codigosBarra.clear();
+        fabricantes.clear();
+        textos.clear();
+        produtos.forEach(produto -> {
+            reservarCodigoBarra(produto);
+            indexarFabricante(produto);
+            textos.atualizar(produto.getId(), null, documento(produto));
+        });
+    }
+
+    /**
+     * Estimativa da memória ocupada pelo índice de texto, em bytes.
+     */
+    public long memoriaIndiceTexto() {
+        return textos.bytes();
+    }
+
+    private Produto preparar(Produto produto) {
+        Produto novo = produto.toBuilder().build();
+        if (novo.getId() == null) {
+            novo.setId(proximoId.getAndIncrement());
+        } else {
+            reservarId(novo.getId());
+        }
+        return novo;
+    }
+
+    // Deve ser chamado com a trava da faixa do produto adquirida. Um produto igual ao guardado
+    // não é regravado e mantém a versão. O produto guardado não é mais alterado, então é
+    // publicado sem cópia.
+    private void gravar(Produto novo) {
+        long id = novo.getId();
+        Produto anterior = produtos.get(id);
+        if (novo.equals(anterior)) {
+            novo.setVersao(anterior.getVersao());
+            return;
+        }
+        novo.setVersao(anterior == null || anterior.getVersao() == null ? 1L : anterior.getVersao() + 1);
+        reservarCodigoBarra(novo);
+        produtos.put(id, novo);
+        if (anterior != null) {
+            desindexar(anterior, novo);
+        }
+        indexarFabricante(novo);
+        textos.atualizar(id, anterior == null ? null : documento(anterior), documento(novo));
+        alteracoes.salvo(Alteracao.Entidade.PRODUTO, id, novo);
+    }
+
+    private void reservarCodigoBarra(Produto produto) {
+        if (produto.getCodigoBarra() == null) {
+            return;
+        }
+        Long dono = codigosBarra.putIfAbsent(produto.getCodigoBarra(), produto.getId());
+        if (dono != null && !dono.equals(produto.getId())) {
+            throw new CodigoBarraDuplicadoException();
+        }
+    }
+
+    private void indexarFabricante(Produto produto) {
+        if (produto.getFabricante() == null) {
+            return;
+        }
+        fabricantes.compute(produto.getFabricante(), (fabricante, ids) -> {
+            Set<Long> atualizados = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            atualizados.add(produto.getId());
+            return atualizados;
+        });
+    }
+
+    private void desindexar(Produto anterior, Produto atual) {
+        String codigo = anterior.getCodigoBarra();
+        if (codigo != null && (atual == null || !codigo.equals(atual.getCodigoBarra()))) {
+            codigosBarra.remove(codigo, anterior.getId());
+        }
+        String fabricante = anterior.getFabricante();
+        if (fabricante != null && (atual == null || !fabricante.equals(atual.getFabricante()))) {
+            fabricantes.computeIfPresent(fabricante, (chave, ids) -> {
+                ids.remove(anterior.getId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static int faixa(long id) {
+        return Long.hashCode(id * 0x9e3779b97f4a7c15L) & (FAIXAS - 1);
+    }
+
+    private void reservarId(long id) {
+        long atual;
+        while ((atual = proximoId.get()) <= id) {
+            if (proximoId.compareAndSet(atual, id + 1)) {
+                return;
+            }
+        }
+    }
+
+    private static String documento(Produto produto) {
+        return IndiceTexto.documento(produto.getNome(), produto.getFabricante());
+    }
+
+    private static Produto copia(Produto produto) {
+        return produto == null ? null : produto.toBuilder().build();
+    }
+}
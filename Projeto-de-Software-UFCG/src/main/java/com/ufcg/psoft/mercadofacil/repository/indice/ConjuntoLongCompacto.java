@@ -0,0 +1,238 @@
+package com.ufcg.psoft.mercadofacil.repository.indice;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Conjunto ordenado de valores {@code long} em memória compacta, no estilo dos roaring bitmaps.
+ * Os valores são agrupados em páginas de 4096 consecutivos; uma página com até
+ * {@value #LIMITE_ARRAY} valores guarda-os em um array ordenado de {@code short} (2 bytes por
+ * valor) e, acima disso, vira um mapa de bits de 512 bytes. Assim, listas esparsas não pagam
+ * por páginas de bits quase vazias e listas densas ocupam cerca de um bit por valor.
+ * <p>
+ * Escritas são serializadas pelo próprio conjunto e publicam arrays novos; leituras não
+ * adquirem travas e veem o conjunto de forma fracamente consistente.
+ */
+public class ConjuntoLongCompacto {
+
+    static final int LIMITE_ARRAY = 256;
+
+    private static final int BITS_PAGINA = 12;
+    private static final int MASCARA_PAGINA = (1 << BITS_PAGINA) - 1;
+    private static final int PALAVRAS_POR_PAGINA = (1 << BITS_PAGINA) / Long.SIZE;
+
+    private volatile Tabela tabela = new Tabela(new long[0], new AtomicReferenceArray<>(0));
+    private volatile int tamanho;
+
+    public synchronized boolean add(long valor) {
+        long numero = valor >> BITS_PAGINA;
+        short bit = (short) (valor & MASCARA_PAGINA);
+        Tabela atual = tabela;
+        int i = Arrays.binarySearch(atual.numeros, numero);
+        if (i < 0) {
+            tabela = atual.inserir(-i - 1, numero, new short[]{bit});
+        } else if (atual.paginas.get(i) instanceof short[] valores) {
+            int j = Arrays.binarySearch(valores, bit);
+            if (j >= 0) {
+                return false;
+            }
+            atual.paginas.set(i, valores.length < LIMITE_ARRAY
+                    ? inserir(valores, -j - 1, bit)
+                    : paraBits(valores, bit));
+        } else {
+            AtomicLongArray bits = (AtomicLongArray) atual.paginas.get(i);
+            long palavra = bits.get(bit >>> 6);
+            if ((palavra & (1L << bit)) != 0) {
+                return false;
+            }
+            bits.set(bit >>> 6, palavra | (1L << bit));
+        }
+        tamanho++;
+        return true;
+    }
+
+    public synchronized boolean remove(long valor) {
+        long numero = valor >> BITS_PAGINA;
+        short bit = (short) (valor & MASCARA_PAGINA);
+        Tabela atual = tabela;
+        int i = Arrays.binarySearch(atual.numeros, numero);
+        if (i < 0) {
+            return false;
+        }
+        Object pagina = atual.paginas.get(i);
+        short[] restantes;
+        if (pagina instanceof short[] valores) {
+            int j = Arrays.binarySearch(valores, bit);
+            if (j < 0) {
+                return false;
+            }
+            restantes = remover(valores, j);
+        } else {
+            AtomicLongArray bits = (AtomicLongArray) pagina;
+            long palavra = bits.get(bit >>> 6);
+            if ((palavra & (1L << bit)) == 0) {
+                return false;
+            }
+            bits.set(bit >>> 6, palavra & ~(1L << bit));
+            restantes = paraArray(bits, LIMITE_ARRAY / 2);
+        }
+        if (restantes != null && restantes.length == 0) {
+            tabela = atual.remover(i);
+        } else if (restantes != null) {
+            atual.paginas.set(i, restantes);
+        }
+        tamanho--;
+        return true;
+    }
+
+    public boolean contains(long valor) {
+        Tabela atual = tabela;
+        int i = Arrays.binarySearch(atual.numeros, valor >> BITS_PAGINA);
+        if (i < 0) {
+            return false;
+        }
+        int bit = (int) (valor & MASCARA_PAGINA);
+        Object pagina = atual.paginas.get(i);
+        if (pagina instanceof short[] valores) {
+            return Arrays.binarySearch(valores, (short) bit) >= 0;
+        }
+        return (((AtomicLongArray) pagina).get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    public int size() {
+        return tamanho;
+    }
+
+    /**
+     * Preenche {@code destino} com os menores valores estritamente maiores que
+     * {@code depoisDe}, em ordem crescente, e devolve quantos foram escritos.
+     */
+    public int proximos(long depoisDe, long[] destino) {
+        if (depoisDe == Long.MAX_VALUE || destino.length == 0) {
+            return 0;
+        }
+        long inicio = depoisDe + 1;
+        long primeiraPagina = inicio >> BITS_PAGINA;
+        Tabela atual = tabela;
+        int i = Arrays.binarySearch(atual.numeros, primeiraPagina);
+        int escritos = 0;
+        for (i = i < 0 ? -i - 1 : i; i < atual.numeros.length && escritos < destino.length; i++) {
+            long numero = atual.numeros[i];
+            long base = numero << BITS_PAGINA;
+            int bitInicial = numero == primeiraPagina ? (int) (inicio & MASCARA_PAGINA) : 0;
+            Object pagina = atual.paginas.get(i);
+            if (pagina instanceof short[] valores) {
+                int j = Arrays.binarySearch(valores, (short) bitInicial);
+                for (j = j < 0 ? -j - 1 : j; j < valores.length && escritos < destino.length; j++) {
+                    destino[escritos++] = base + valores[j];
+                }
+                continue;
+            }
+            AtomicLongArray bits = (AtomicLongArray) pagina;
+            for (int p = bitInicial >>> 6; p < PALAVRAS_POR_PAGINA && escritos < destino.length; p++) {
+                long palavra = bits.get(p);
+                if (p == bitInicial >>> 6) {
+                    palavra &= -1L << (bitInicial & 63);
+                }
+                while (palavra != 0 && escritos < destino.length) {
+                    destino[escritos++] = base + ((long) p << 6) + Long.numberOfTrailingZeros(palavra);
+                    palavra &= palavra - 1;
+                }
+            }
+        }
+        return escritos;
+    }
+
+    /**
+     * Estimativa dos bytes ocupados no heap, considerando cabeçalhos de 16 bytes e referências
+     * comprimidas.
+     */
+    public long bytes() {
+        Tabela atual = tabela;
+        long total = 32 + 16 + 8L * atual.numeros.length + 16 + 16 + 4L * atual.numeros.length;
+        for (int i = 0; i < atual.numeros.length; i++) {
+            if (atual.paginas.get(i) instanceof short[] valores) {
+                total += (16 + 2L * valores.length + 7) & ~7;
+            } else {
+                total += 16 + 16 + 8L * PALAVRAS_POR_PAGINA;
+            }
+        }
+        return total;
+    }
+
+    private static short[] inserir(short[] valores, int posicao, short valor) {
+        short[] novos = new short[valores.length + 1];
+        System.arraycopy(valores, 0, novos, 0, posicao);
+        novos[posicao] = valor;
+        System.arraycopy(valores, posicao, novos, posicao + 1, valores.length - posicao);
+        return novos;
+    }
+
+    private static short[] remover(short[] valores, int posicao) {
+        short[] novos = new short[valores.length - 1];
+        System.arraycopy(valores, 0, novos, 0, posicao);
+        System.arraycopy(valores, posicao + 1, novos, posicao, novos.length - posicao);
+        return novos;
+    }
+
+    private static AtomicLongArray paraBits(short[] valores, short extra) {
+        long[] palavras = new long[PALAVRAS_POR_PAGINA];
+        for (short valor : valores) {
+            palavras[valor >>> 6] |= 1L << valor;
+        }
+        palavras[extra >>> 6] |= 1L << extra;
+        return new AtomicLongArray(palavras);
+    }
+
+    // Devolve a página como array se ela tiver no máximo `limite` valores, ou null.
+    private static short[] paraArray(AtomicLongArray bits, int limite) {
+        int quantidade = 0;
+        for (int p = 0; p < PALAVRAS_POR_PAGINA; p++) {
+            quantidade += Long.bitCount(bits.get(p));
+            if (quantidade > limite) {
+                return null;
+            }
+        }
+        short[] valores = new short[quantidade];
+        int k = 0;
+        for (int p = 0; p < PALAVRAS_POR_PAGINA; p++) {
+            long palavra = bits.get(p);
+            while (palavra != 0) {
+                valores[k++] = (short) ((p << 6) + Long.numberOfTrailingZeros(palavra));
+                palavra &= palavra - 1;
+            }
+        }
+        return valores;
+    }
+
+    private record Tabela(long[] numeros, AtomicReferenceArray<Object> paginas) {
+
+        Tabela inserir(int posicao, long numero, Object pagina) {
+            long[] novosNumeros = new long[numeros.length + 1];
+            AtomicReferenceArray<Object> novasPaginas = new AtomicReferenceArray<>(numeros.length + 1);
+            for (int i = 0, k = 0; i < novosNumeros.length; i++) {
+                if (i == posicao) {
+                    novosNumeros[i] = numero;
+                    novasPaginas.set(i, pagina);
+                } else {
+                    novosNumeros[i] = numeros[k];
+                    novasPaginas.set(i, paginas.get(k++));
+                }
+            }
+            return new Tabela(novosNumeros, novasPaginas);
+        }
+
+        Tabela remover(int posicao) {
+            long[] novosNumeros = new long[numeros.length - 1];
+            AtomicReferenceArray<Object> novasPaginas = new AtomicReferenceArray<>(numeros.length - 1);
+            for (int i = 0, k = 0; i < numeros.length; i++) {
+                if (i != posicao) {
+                    novosNumeros[k] = numeros[i];
+                    novasPaginas.set(k++, paginas.get(i));
+                }
+            }
+            return new Tabela(novosNumeros, novasPaginas);
+        }
+    }
+}
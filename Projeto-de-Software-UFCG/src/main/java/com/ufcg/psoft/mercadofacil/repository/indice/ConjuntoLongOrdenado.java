@@ -0,0 +1,93 @@
+package com.ufcg.psoft.mercadofacil.repository.indice;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Conjunto concorrente e ordenado de valores {@code long}, guardado como um mapa de bits
+ * paginado. Cada página cobre 4096 valores consecutivos; ids densos ocupam cerca de um bit
+ * cada. Inserções e remoções são atômicas por CAS e percorrer os valores em ordem não
+ * exige travas.
+ */
+public class ConjuntoLongOrdenado {
+
+    private static final int BITS_PAGINA = 12;
+    private static final int MASCARA_PAGINA = (1 << BITS_PAGINA) - 1;
+    private static final int PALAVRAS_POR_PAGINA = (1 << BITS_PAGINA) / Long.SIZE;
+
+    private final IndiceLongConcorrente<AtomicLongArray> paginas = new IndiceLongConcorrente<>(16);
+    private final ConcurrentSkipListSet<Long> ordem = new ConcurrentSkipListSet<>();
+
+    public void add(long valor) {
+        long numero = valor >> BITS_PAGINA;
+        AtomicLongArray pagina = paginas.get(numero);
+        if (pagina == null) {
+            AtomicLongArray nova = new AtomicLongArray(PALAVRAS_POR_PAGINA);
+            pagina = paginas.putIfAbsent(numero, nova);
+            if (pagina == null) {
+                pagina = nova;
+                ordem.add(numero);
+            }
+        }
+        int bit = (int) (valor & MASCARA_PAGINA);
+        long mascara = 1L << bit;
+        pagina.getAndAccumulate(bit >>> 6, mascara, (atual, m) -> atual | m);
+    }
+
+    public void remove(long valor) {
+        AtomicLongArray pagina = paginas.get(valor >> BITS_PAGINA);
+        if (pagina != null) {
+            int bit = (int) (valor & MASCARA_PAGINA);
+            long mascara = ~(1L << bit);
+            pagina.getAndAccumulate(bit >>> 6, mascara, (atual, m) -> atual & m);
+        }
+    }
+
+    public boolean contains(long valor) {
+        AtomicLongArray pagina = paginas.get(valor >> BITS_PAGINA);
+        if (pagina == null) {
+            return false;
+        }
+        int bit = (int) (valor & MASCARA_PAGINA);
+        return (pagina.get(bit >>> 6) & (1L << bit)) != 0;
+    }
+
+    public void clear() {
+        ordem.clear();
+        paginas.clear();
+    }
+
+    /**
+     * Preenche {@code destino} com os menores valores estritamente maiores que
+     * {@code depoisDe}, em ordem crescente, e devolve quantos foram escritos.
+     */
+    public int proximos(long depoisDe, long[] destino) {
+        if (depoisDe == Long.MAX_VALUE || destino.length == 0) {
+            return 0;
+        }
+        long inicio = depoisDe + 1;
+        long primeiraPagina = inicio >> BITS_PAGINA;
+        int escritos = 0;
+        for (Long numero = ordem.ceiling(primeiraPagina);
+             numero != null && escritos < destino.length;
+             numero = ordem.higher(numero)) {
+            AtomicLongArray pagina = paginas.get(numero);
+            if (pagina == null) {
+                continue;
+            }
+            long base = numero << BITS_PAGINA;
+            int bitInicial = numero == primeiraPagina ? (int) (inicio & MASCARA_PAGINA) : 0;
+            for (int p = bitInicial >>> 6; p < PALAVRAS_POR_PAGINA && escritos < destino.length; p++) {
+                long palavra = pagina.get(p);
+                if (p == bitInicial >>> 6) {
+                    palavra &= -1L << (bitInicial & 63);
+                }
+                while (palavra != 0 && escritos < destino.length) {
+                    destino[escritos++] = base + ((long) p << 6) + Long.numberOfTrailingZeros(palavra);
+                    palavra &= palavra - 1;
+                }
+            }
+        }
+        return escritos;
+    }
+}
@@ -0,0 +1,73 @@
+package com.ufcg.psoft.mercadofacil.repository.indice;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Total de itens e número de lotes de cada produto, mantidos de forma incremental pelos
+ * repositórios de lotes a cada escrita, de modo que consultar o estoque de um produto não
+ * exige percorrer os lotes. Os totais são {@link LongAdder}s: alterações simultâneas no mesmo
+ * produto não disputam uma única variável.
+ * <p>
+ * Cabe ao repositório garantir que a parcela removida de um lote é a mesma que ele adicionou,
+ * somada às alterações feitas depois. Lotes sem produto ({@link #SEM_PRODUTO}) não entram no
+ * índice.
+ */
+public class EstoquePorProduto {
+
+    public static final long SEM_PRODUTO = Long.MIN_VALUE;
+
+    private final IndiceLongConcorrente<Estoque> produtos = new IndiceLongConcorrente<>();
+
+    public void adicionar(long produtoId, long itens) {
+        if (produtoId != SEM_PRODUTO) {
+            Estoque estoque = estoque(produtoId);
+            estoque.lotes.increment();
+            estoque.itens.add(itens);
+        }
+    }
+
+    public void remover(long produtoId, long itens) {
+        if (produtoId != SEM_PRODUTO) {
+            Estoque estoque = estoque(produtoId);
+            estoque.lotes.decrement();
+            estoque.itens.add(-itens);
+        }
+    }
+
+    public void somar(long produtoId, long delta) {
+        if (produtoId != SEM_PRODUTO) {
+            estoque(produtoId).itens.add(delta);
+        }
+    }
+
+    public long totalDeItens(long produtoId) {
+        Estoque estoque = produtos.get(produtoId);
+        return estoque == null ? 0 : estoque.itens.sum();
+    }
+
+    public long quantidadeDeLotes(long produtoId) {
+        Estoque estoque = produtos.get(produtoId);
+        return estoque == null ? 0 : estoque.lotes.sum();
+    }
+
+    public void clear() {
+        produtos.clear();
+    }
+
+    private Estoque estoque(long produtoId) {
+        Estoque estoque = produtos.get(produtoId);
+        if (estoque == null) {
+            Estoque novo = new Estoque();
+            estoque = produtos.putIfAbsent(produtoId, novo);
+            if (estoque == null) {
+                estoque = novo;
+            }
+        }
+        return estoque;
+    }
+
+    private static final class Estoque {
+        final LongAdder itens = new LongAdder();
+        final LongAdder lotes = new LongAdder();
+    }
+}
@@ -0,0 +1,302 @@
+package com.ufcg.psoft.mercadofacil.repository.indice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Índice concorrente com chaves primitivas {@code long}.
+ * <p>
+ * As chaves são distribuídas entre segmentos independentes (lock striping), cada um com
+ * uma tabela de endereçamento aberto. Leituras são otimistas e só adquirem a trava do
+ * segmento quando coincidem com uma escrita; escritas travam apenas o próprio segmento.
+ * Valores {@code null} não são permitidos.
+ */
+public class IndiceLongConcorrente<V> {
+
+    private static final int SEGMENTOS_PADRAO = 64;
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private final Segmento<V>[] segmentos;
+    private final int deslocamento;
+    private final LongAdder tamanho = new LongAdder();
+
+    public IndiceLongConcorrente() {
+        this(SEGMENTOS_PADRAO);
+    }
+
+    public IndiceLongConcorrente(int numeroDeSegmentos) {
+        int quantidade = 2;
+        while (quantidade < numeroDeSegmentos) {
+            quantidade <<= 1;
+        }
+        @SuppressWarnings("unchecked")
+        Segmento<V>[] tabela = (Segmento<V>[]) new Segmento<?>[quantidade];
+        this.segmentos = tabela;
+        for (int i = 0; i < quantidade; i++) {
+            segmentos[i] = new Segmento<>();
+        }
+        this.deslocamento = 64 - Integer.numberOfTrailingZeros(quantidade);
+    }
+
+    public V get(long chave) {
+        long hash = mistura(chave);
+        return segmento(hash).get(chave, hash);
+    }
+
+    public boolean containsKey(long chave) {
+        return get(chave) != null;
+    }
+
+    public V put(long chave, V valor) {
+        if (valor == null) {
+            throw new NullPointerException("Valor nulo!");
+        }
+        long hash = mistura(chave);
+        V anterior = segmento(hash).put(chave, hash, valor, false);
+        if (anterior == null) {
+            tamanho.increment();
+        }
+        return anterior;
+    }
+
+    public V putIfAbsent(long chave, V valor) {
+        if (valor == null) {
+            throw new NullPointerException("Valor nulo!");
+        }
+        long hash = mistura(chave);
+        V anterior = segmento(hash).put(chave, hash, valor, true);
+        if (anterior == null) {
+            tamanho.increment();
+        }
+        return anterior;
+    }
+
+    public V remove(long chave) {
+        long hash = mistura(chave);
+        V removido = segmento(hash).remove(chave, hash);
+        if (removido != null) {
+            tamanho.decrement();
+        }
+        return removido;
+    }
+
+    public int size() {
+        return tamanho.intValue();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        for (Segmento<V> segmento : segmentos) {
+            tamanho.add(-segmento.clear());
+        }
+    }
+
+    /**
+     * Percorre os valores segmento a segmento. A visão é fracamente consistente: cada
+     * segmento é lido de forma atômica, mas escritas em outros segmentos podem ocorrer
+     * durante o percurso.
+     */
+    public void forEach(Consumer<? super V> acao) {
+        for (Segmento<V> segmento : segmentos) {
+            segmento.forEach(acao);
+        }
+    }
+
+    public List<V> values() {
+        List<V> valores = new ArrayList<>(size());
+        forEach(valores::add);
+        return valores;
+    }
+
+    private Segmento<V> segmento(long hash) {
+        return segmentos[(int) (hash >>> deslocamento)];
+    }
+
+    static long mistura(long chave) {
+        long h = chave;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Tabela {
+        final long[] chaves;
+        final Object[] valores;
+
+        Tabela(int capacidade) {
+            this.chaves = new long[capacidade];
+            this.valores = new Object[capacidade];
+        }
+    }
+
+    private static final class Segmento<V> {
+        private final StampedLock trava = new StampedLock();
+        private Tabela tabela = new Tabela(CAPACIDADE_INICIAL);
+        private int ocupados;
+
+        V get(long chave, long hash) {
+            long carimbo = trava.tryOptimisticRead();
+            if (carimbo != 0L) {
+                Object valor = procurar(tabela, chave, hash);
+                if (trava.validate(carimbo)) {
+                    return cast(valor);
+                }
+            }
+            carimbo = trava.readLock();
+            try {
+                return cast(procurar(tabela, chave, hash));
+            } finally {
+                trava.unlockRead(carimbo);
+            }
+        }
+
+        V put(long chave, long hash, V valor, boolean seAusente) {
+            long carimbo = trava.writeLock();
+            try {
+                Tabela t = tabela;
+                int mascara = t.valores.length - 1;
+                int i = (int) hash & mascara;
+                Object atual;
+                while ((atual = t.valores[i]) != null) {
+                    if (t.chaves[i] == chave) {
+                        if (!seAusente) {
+                            t.valores[i] = valor;
+                        }
+                        return cast(atual);
+                    }
+                    i = (i + 1) & mascara;
+                }
+                t.chaves[i] = chave;
+                t.valores[i] = valor;
+                if (++ocupados * 4 > t.valores.length * 3) {
+                    redimensionar();
+                }
+                return null;
+            } finally {
+                trava.unlockWrite(carimbo);
+            }
+        }
+
+        V remove(long chave, long hash) {
+            long carimbo = trava.writeLock();
+            try {
+                Tabela t = tabela;
+                long[] chaves = t.chaves;
+                Object[] valores = t.valores;
+                int mascara = valores.length - 1;
+                int i = (int) hash & mascara;
+                Object atual;
+                while ((atual = valores[i]) != null) {
+                    if (chaves[i] == chave) {
+                        compactar(chaves, valores, i);
+                        ocupados--;
+                        return cast(atual);
+                    }
+                    i = (i + 1) & mascara;
+                }
+                return null;
+            } finally {
+                trava.unlockWrite(carimbo);
+            }
+        }
+
+        int clear() {
+            long carimbo = trava.writeLock();
+            try {
+                int removidos = ocupados;
+                tabela = new Tabela(CAPACIDADE_INICIAL);
+                ocupados = 0;
+                return removidos;
+            } finally {
+                trava.unlockWrite(carimbo);
+            }
+        }
+
+        void forEach(Consumer<? super V> acao) {
+            long carimbo = trava.readLock();
+            try {
+                for (Object valor : tabela.valores) {
+                    if (valor != null) {
+                        acao.accept(cast(valor));
+                    }
+                }
+            } finally {
+                trava.unlockRead(carimbo);
+            }
+        }
+
+        private void redimensionar() {
+            Tabela antiga = tabela;
+            Tabela nova = new Tabela(antiga.valores.length << 1);
+            int mascara = nova.valores.length - 1;
+            for (int j = 0; j < antiga.valores.length; j++) {
+                Object valor = antiga.valores[j];
+                if (valor != null) {
+                    long chave = antiga.chaves[j];
+                    int i = (int) mistura(chave) & mascara;
+                    while (nova.valores[i] != null) {
+                        i = (i + 1) & mascara;
+                    }
+                    nova.chaves[i] = chave;
+                    nova.valores[i] = valor;
+                }
+            }
+            tabela = nova;
+        }
+
+        // Remoção por deslocamento reverso: dispensa marcadores de exclusão na sondagem linear.
+        private static void compactar(long[] chaves, Object[] valores, int vazio) {
+            int mascara = valores.length - 1;
+            int j = vazio;
+            while (true) {
+                j = (j + 1) & mascara;
+                Object valor = valores[j];
+                if (valor == null) {
+                    break;
+                }
+                int ideal = (int) mistura(chaves[j]) & mascara;
+                boolean noLugar = vazio <= j
+                        ? vazio < ideal && ideal <= j
+                        : vazio < ideal || ideal <= j;
+                if (!noLugar) {
+                    chaves[vazio] = chaves[j];
+                    valores[vazio] = valor;
+                    vazio = j;
+                }
+            }
+            valores[vazio] = null;
+        }
+
+        private static Object procurar(Tabela t, long chave, long hash) {
+            long[] chaves = t.chaves;
+            Object[] valores = t.valores;
+            int mascara = valores.length - 1;
+            int i = (int) hash & mascara;
+            for (int sondagens = 0; sondagens <= mascara; sondagens++) {
+                Object valor = valores[i];
+                if (valor == null) {
+                    return null;
+                }
+                if (chaves[i] == chave) {
+                    return valor;
+                }
+                i = (i + 1) & mascara;
+            }
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> V cast(Object valor) {
+            return (V) valor;
+        }
+    }
+}
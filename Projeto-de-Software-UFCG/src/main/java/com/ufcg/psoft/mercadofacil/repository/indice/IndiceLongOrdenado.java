@@ -0,0 +1,145 @@
+package com.ufcg.psoft.mercadofacil.repository.indice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link IndiceLongConcorrente} que também percorre os valores em ordem crescente de chave.
+ * O percurso é feito por cursor: busca as próximas chaves em blocos, sem copiar o índice, e
+ * pode ser retomado a partir de qualquer chave.
+ */
+public class IndiceLongOrdenado<V> {
+
+    private static final int BLOCO = 256;
+
+    private final IndiceLongConcorrente<V> valores = new IndiceLongConcorrente<>();
+    private final ConjuntoLongOrdenado chaves = new ConjuntoLongOrdenado();
+
+    public V get(long chave) {
+        return valores.get(chave);
+    }
+
+    public V put(long chave, V valor) {
+        V anterior = valores.put(chave, valor);
+        if (anterior == null) {
+            chaves.add(chave);
+        }
+        return anterior;
+    }
+
+    public V putIfAbsent(long chave, V valor) {
+        V anterior = valores.putIfAbsent(chave, valor);
+        if (anterior == null) {
+            chaves.add(chave);
+        }
+        return anterior;
+    }
+
+    public V remove(long chave) {
+        V removido = valores.remove(chave);
+        if (removido != null) {
+            chaves.remove(chave);
+            // Uma inserção concorrente da mesma chave pode ter marcado o bit antes da remoção acima.
+            if (valores.get(chave) != null) {
+                chaves.add(chave);
+            }
+        }
+        return removido;
+    }
+
+    public int size() {
+        return valores.size();
+    }
+
+    public void clear() {
+        chaves.clear();
+        valores.clear();
+    }
+
+    public void forEach(Consumer<? super V> acao) {
+        stream(Long.MIN_VALUE).forEach(acao);
+    }
+
+    public List<V> values() {
+        List<V> lista = new ArrayList<>(size());
+        forEach(lista::add);
+        return lista;
+    }
+
+    /**
+     * Até {@code limite} valores com chave maior que {@code depoisDe}, em ordem crescente de
+     * chave. O trabalho é proporcional ao limite, e não ao tamanho do índice.
+     */
+    public List<V> pagina(long depoisDe, int limite) {
+        if (limite <= 0) {
+            return new ArrayList<>();
+        }
+        List<V> pagina = new ArrayList<>(limite);
+        long[] bloco = new long[Math.min(limite, BLOCO)];
+        long ultima = depoisDe;
+        while (pagina.size() < limite) {
+            int lidas = chaves.proximos(ultima, bloco);
+            for (int i = 0; i < lidas && pagina.size() < limite; i++) {
+                V valor = valores.get(bloco[i]);
+                if (valor != null) {
+                    pagina.add(valor);
+                }
+            }
+            if (lidas < bloco.length) {
+                break;
+            }
+            ultima = bloco[lidas - 1];
+        }
+        return pagina;
+    }
+
+    /**
+     * Valores com chave maior que {@code depoisDe}, em ordem crescente de chave. O fluxo é
+     * preguiçoso e fracamente consistente: não devolve valores removidos antes de serem
+     * alcançados e pode ou não devolver os inseridos durante o percurso.
+     */
+    public Stream<V> stream(long depoisDe) {
+        return StreamSupport.stream(new Cursor(depoisDe), false);
+    }
+
+    private final class Cursor extends Spliterators.AbstractSpliterator<V> {
+        private final long[] bloco = new long[BLOCO];
+        private int tamanho;
+        private int posicao;
+        private long ultima;
+        private boolean esgotado;
+
+        Cursor(long depoisDe) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+            this.ultima = depoisDe;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super V> acao) {
+            while (true) {
+                if (posicao == tamanho) {
+                    if (esgotado) {
+                        return false;
+                    }
+                    tamanho = chaves.proximos(ultima, bloco);
+                    posicao = 0;
+                    esgotado = tamanho < BLOCO;
+                    if (tamanho == 0) {
+                        return false;
+                    }
+                    ultima = bloco[tamanho - 1];
+                }
+                V valor = valores.get(bloco[posicao++]);
+                if (valor != null) {
+                    acao.accept(valor);
+                    return true;
+                }
+            }
+        }
+    }
+}
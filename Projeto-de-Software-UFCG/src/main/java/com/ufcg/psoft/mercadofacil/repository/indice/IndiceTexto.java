@@ -0,0 +1,225 @@
+package com.ufcg.psoft.mercadofacil.repository.indice;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Índice invertido de trigramas para busca por trechos de texto.
+ * <p>
+ * Cada documento é normalizado (minúsculas, sem acentos, espaços simples) e cada trigrama
+ * aponta para o conjunto de ids que o contêm, guardado em um {@link ConjuntoLongCompacto}. Uma
+ * consulta é dividida em termos; cada termo com três ou mais letras é procurado como trecho
+ * em qualquer posição, e um termo de duas letras, como início de palavra. Os resultados vêm
+ * em ordem crescente de id, o que permite paginar retomando depois do último id devolvido.
+ * <p>
+ * A busca percorre o conjunto do trigrama mais raro da consulta e testa os demais por
+ * pertinência; os candidatos são conferidos no texto do documento, já que conter todos os
+ * trigramas de um termo não garante conter o termo. O índice não guarda os documentos: quem
+ * busca informa como obtê-los.
+ */
+public class IndiceTexto {
+
+    private static final char SEPARADOR = '\u0001';
+    private static final int BLOCO = 256;
+
+    private final IndiceLongConcorrente<ConjuntoLongCompacto> trigramas = new IndiceLongConcorrente<>();
+
+    /**
+     * Junta os campos em um documento normalizado, com um espaço antes de cada palavra.
+     */
+    public static String documento(String... campos) {
+        StringBuilder documento = new StringBuilder(" ");
+        for (String campo : campos) {
+            if (campo != null) {
+                documento.append(normalizar(campo)).append(' ');
+            }
+            documento.append(SEPARADOR).append(' ');
+        }
+        return documento.toString();
+    }
+
+    /**
+     * Troca os trigramas de {@code anterior} pelos de {@code atual} para o id. Qualquer um dos
+     * documentos pode ser nulo; trigramas presentes em ambos não são tocados.
+     */
+    public void atualizar(long id, String anterior, String atual) {
+        long[] antigos = trigramas(anterior);
+        long[] novos = trigramas(atual);
+        int i = 0;
+        int j = 0;
+        while (i < antigos.length || j < novos.length) {
+            if (j == novos.length || (i < antigos.length && antigos[i] < novos[j])) {
+                ConjuntoLongCompacto ids = trigramas.get(antigos[i++]);
+                if (ids != null) {
+                    ids.remove(id);
+                }
+            } else if (i == antigos.length || novos[j] < antigos[i]) {
+                conjunto(novos[j++]).add(id);
+            } else {
+                i++;
+                j++;
+            }
+        }
+    }
+
+    public void clear() {
+        trigramas.clear();
+    }
+
+    /**
+     * Devolve até {@code limite} ids maiores que {@code depoisDe} cujo documento contém todos os
+     * termos da consulta, em ordem crescente. Documentos nulos são ignorados.
+     */
+    public long[] buscar(String consulta, long depoisDe, int limite, LongFunction<String> documentos) {
+        String[] termos = termos(consulta);
+        if (termos.length == 0 || limite <= 0) {
+            return new long[0];
+        }
+        List<ConjuntoLongCompacto> conjuntos = new ArrayList<>();
+        for (String termo : termos) {
+            for (long trigrama : trigramas(termo.length() == 2 ? " " + termo : termo)) {
+                ConjuntoLongCompacto ids = trigramas.get(trigrama);
+                if (ids == null || ids.size() == 0) {
+                    return new long[0];
+                }
+                conjuntos.add(ids);
+            }
+        }
+        conjuntos.sort(Comparator.comparingInt(ConjuntoLongCompacto::size));
+        ConjuntoLongCompacto menor = conjuntos.get(0);
+        long[] candidatos = new long[BLOCO];
+        long[] encontrados = new long[limite];
+        int quantidade = 0;
+        long cursor = depoisDe;
+        int lidos;
+        while (quantidade < limite && (lidos = menor.proximos(cursor, candidatos)) > 0) {
+            for (int c = 0; c < lidos && quantidade < limite; c++) {
+                long id = candidatos[c];
+                if (emTodos(conjuntos, id) && contemTermos(documentos.apply(id), termos)) {
+                    encontrados[quantidade++] = id;
+                }
+            }
+            cursor = candidatos[lidos - 1];
+        }
+        return Arrays.copyOf(encontrados, quantidade);
+    }
+
+    public int quantidadeDeTrigramas() {
+        return trigramas.size();
+    }
+
+    /**
+     * Estimativa dos bytes ocupados pelos conjuntos de ids e pelas entradas do índice.
+     */
+    public long bytes() {
+        long[] total = {0};
+        trigramas.forEach(ids -> total[0] += ids.bytes() + 32);
+        return total[0];
+    }
+
+    static String normalizar(String texto) {
+        String decomposto = texto;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) {
+                decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+                break;
+            }
+        }
+        StringBuilder normalizado = new StringBuilder(decomposto.length());
+        boolean espaco = true;
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.isWhitespace(c) || c == SEPARADOR) {
+                if (!espaco) {
+                    normalizado.append(' ');
+                    espaco = true;
+                }
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                normalizado.append(Character.toLowerCase(c));
+                espaco = false;
+            }
+        }
+        int fim = normalizado.length();
+        if (fim > 0 && normalizado.charAt(fim - 1) == ' ') {
+            normalizado.setLength(fim - 1);
+        }
+        return normalizado.toString();
+    }
+
+    private static String[] termos(String consulta) {
+        if (consulta == null) {
+            return new String[0];
+        }
+        String normalizada = normalizar(consulta);
+        if (normalizada.isEmpty()) {
+            return new String[0];
+        }
+        return Arrays.stream(normalizada.split(" "))
+                .filter(termo -> termo.length() >= 2)
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private static boolean emTodos(List<ConjuntoLongCompacto> conjuntos, long id) {
+        for (int i = 1; i < conjuntos.size(); i++) {
+            if (!conjuntos.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contemTermos(String documento, String[] termos) {
+        if (documento == null) {
+            return false;
+        }
+        for (String termo : termos) {
+            if (!documento.contains(termo.length() == 2 ? " " + termo : termo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Trigramas distintos do texto, em ordem crescente; os que cruzam o separador são omitidos.
+    private static long[] trigramas(String texto) {
+        if (texto == null || texto.length() < 3) {
+            return new long[0];
+        }
+        long[] codigos = new long[texto.length() - 2];
+        int quantidade = 0;
+        for (int i = 0; i + 2 < texto.length(); i++) {
+            char a = texto.charAt(i);
+            char b = texto.charAt(i + 1);
+            char c = texto.charAt(i + 2);
+            if (a != SEPARADOR && b != SEPARADOR && c != SEPARADOR) {
+                codigos[quantidade++] = ((long) a << 32) | ((long) b << 16) | c;
+            }
+        }
+        long[] ordenados = Arrays.copyOf(codigos, quantidade);
+        Arrays.sort(ordenados);
+        int distintos = 0;
+        for (int i = 0; i < ordenados.length; i++) {
+            if (i == 0 || ordenados[i] != ordenados[i - 1]) {
+                ordenados[distintos++] = ordenados[i];
+            }
+        }
+        return Arrays.copyOf(ordenados, distintos);
+    }
+
+    private ConjuntoLongCompacto conjunto(long trigrama) {
+        ConjuntoLongCompacto ids = trigramas.get(trigrama);
+        if (ids == null) {
+            ConjuntoLongCompacto novo = new ConjuntoLongCompacto();
+            ids = trigramas.putIfAbsent(trigrama, novo);
+            if (ids == null) {
+                ids = novo;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,397 @@
+package com.ufcg.psoft.mercadofacil.repository.persistencia;
+
+import com.ufcg.psoft.mercadofacil.codec.Codec;
+import com.ufcg.psoft.mercadofacil.codec.Entrada;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Persistência de um repositório em memória por diário ({@link Diario}) e instantâneos.
+ * <p>
+ * Cada escrita é aplicada ao repositório e enfileirada no diário sob a trava da faixa do id,
+ * de modo que, para um mesmo id, a ordem no diário é a ordem em memória; a espera pelo disco
+ * acontece fora da trava, o que permite que escritas concorrentes compartilhem o mesmo
+ * {@code fsync}. Os registros guardam o estado completo da entidade, então reaplicá-los é
+ * idempotente.
+ * <p>
+ * A cada {@code registrosPorInstantaneo} registros, o diário é rotacionado e o estado do
+ * repositório é gravado em um instantâneo binário, sem bloquear as escritas. O instantâneo pode
+ * conter escritas posteriores à rotação, mas como elas também estão nos segmentos seguintes, a
+ * recuperação carrega o instantâneo e reaplica apenas esses segmentos: o tempo de recuperação
+ * fica limitado ao tamanho do estado mais {@code registrosPorInstantaneo} registros.
+ * <p>
+ * O instantâneo e os segmentos do diário trazem a versão do {@link Codec}; arquivos gravados
+ * com outro esquema fazem a abertura falhar, em vez de serem lidos errado. Os segmentos
+ * cobertos por um instantâneo só são apagados depois que o diretório com a renomeação do
+ * instantâneo estiver sincronizado.
+ * <p>
+ * A escrita fica visível no repositório em memória, e é publicada como alteração, assim que é
+ * aplicada, antes de o registro chegar ao disco: quem escreve só recebe a resposta depois do
+ * {@code fsync}, mas leitores concorrentes podem ver uma escrita que uma queda logo em seguida
+ * desfaz. Um instantâneo que falha não interrompe as escritas; a falha é registrada em log e
+ * fica em {@link #getFalhaInstantaneo()}, e o próximo instantâneo é tentado depois de outros
+ * {@code registrosPorInstantaneo} registros.
+ */
+public class ArmazenamentoDuravel<T> implements Closeable {
+
+    /**
+     * Operações do repositório em memória usadas na recuperação e nos instantâneos.
+     */
+    public interface Destino<T> {
+        void salvar(T valor);
+
+        void remover(long id);
+
+        void limpar();
+
+        Stream<T> todos();
+    }
+
+    private static final byte SALVAR = 1;
+    private static final byte REMOVER = 2;
+    private static final byte LIMPAR = 3;
+    private static final int MAGICO = 0x4D46494E;
+    private static final byte FORMATO = 1;
+    private static final int FAIXAS = 64;
+    private static final System.Logger LOG = System.getLogger(ArmazenamentoDuravel.class.getName());
+
+    private final Path diretorio;
+    private final String nome;
+    private final Codec<T> codec;
+    private final Destino<T> destino;
+    private final long registrosPorInstantaneo;
+    private final ReentrantLock[] travas = new ReentrantLock[FAIXAS];
+    private final AtomicLong desdeInstantaneo = new AtomicLong();
+    private final AtomicBoolean instantaneoEmAndamento = new AtomicBoolean();
+    private final ExecutorService instantaneos;
+    private final Diario diario;
+    private final long registrosRecuperados;
+    private final long nanosRecuperacao;
+
+    private volatile IOException falhaInstantaneo;
+
+    public ArmazenamentoDuravel(Path diretorio, String nome, Codec<T> codec, Destino<T> destino,
+                                long registrosPorInstantaneo) throws IOException {
+        this.diretorio = diretorio;
+        this.nome = nome;
+        this.codec = codec;
+        this.destino = destino;
+        this.registrosPorInstantaneo = registrosPorInstantaneo;
+        for (int i = 0; i < FAIXAS; i++) {
+            travas[i] = new ReentrantLock();
+        }
+        long inicio = System.nanoTime();
+        this.registrosRecuperados = recuperar();
+        this.nanosRecuperacao = System.nanoTime() - inicio;
+        this.diario = new Diario(diretorio, nome, codec.versao());
+        this.instantaneos = Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "instantaneo-" + nome);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Aplica {@code operacao} e registra o resultado no diário, retornando após a gravação em
+     * disco. Com {@code id} nulo, a operação gera um id novo e basta qualquer trava para
+     * ordená-la em relação a {@link #limpar(Runnable)}. Se a operação retornar {@code null},
+     * nada é registrado.
+     */
+    public T salvar(Long id, Supplier<T> operacao) {
+        T salvo;
+        CompletableFuture<Void> gravado;
+        ReentrantLock trava = trava(id);
+        trava.lock();
+        try {
+            salvo = operacao.get();
+            if (salvo == null) {
+                return null;
+            }
+            gravado = registrar(SALVAR, salvo, 0);
+        } finally {
+            trava.unlock();
+        }
+        aguardar(gravado);
+        return salvo;
+    }
+
+    /**
+     * Aplica e registra várias operações e espera por todas de uma vez, de modo que o grupo
+     * inteiro tende a ser gravado com poucas sincronizações.
+     */
+    public List<T> salvarTodos(List<Long> ids, List<Supplier<T>> operacoes) {
+        CompletableFuture<?>[] gravados = new CompletableFuture<?>[operacoes.size()];
+        T[] salvos = novoArray(operacoes.size());
+        try {
+            for (int i = 0; i < operacoes.size(); i++) {
+                ReentrantLock trava = trava(ids.get(i));
+                trava.lock();
+                try {
+                    salvos[i] = operacoes.get(i).get();
+                    gravados[i] = registrar(SALVAR, salvos[i], 0);
+                } finally {
+                    trava.unlock();
+                }
+            }
+        } finally {
+            for (CompletableFuture<?> gravado : gravados) {
+                if (gravado != null) {
+                    aguardar(gravado);
+                }
+            }
+        }
+        return List.of(salvos);
+    }
+
+    public void remover(long id, Runnable operacao) {
+        CompletableFuture<Void> gravado;
+        ReentrantLock trava = trava(id);
+        trava.lock();
+        try {
+            operacao.run();
+            gravado = registrar(REMOVER, null, id);
+        } finally {
+            trava.unlock();
+        }
+        aguardar(gravado);
+    }
+
+    public void limpar(Runnable operacao) {
+        CompletableFuture<Void> gravado;
+        for (ReentrantLock trava : travas) {
+            trava.lock();
+        }
+        try {
+            operacao.run();
+            gravado = registrar(LIMPAR, null, 0);
+        } finally {
+            for (ReentrantLock trava : travas) {
+                trava.unlock();
+            }
+        }
+        aguardar(gravado);
+    }
+
+    /**
+     * Rotaciona o diário, grava um instantâneo do estado atual e descarta os segmentos que ele
+     * cobre.
+     */
+    public synchronized void instantaneo() throws IOException {
+        desdeInstantaneo.set(0);
+        long primeiroSegmento = diario.rotacionar().join();
+        Path temporario = diretorio.resolve(nome + ".snapshot.tmp");
+        CRC32C crc = new CRC32C();
+        try (OutputStream arquivo = Files.newOutputStream(temporario);
+             DataOutputStream saida = new DataOutputStream(
+                     new CheckedOutputStream(new BufferedOutputStream(arquivo, 1 << 16), crc))) {
+            saida.writeInt(MAGICO);
+            saida.writeByte(FORMATO);
+            saida.writeByte(codec.versao());
+            saida.writeLong(primeiroSegmento);
+            try (Stream<T> todos = destino.todos()) {
+                Iterator<T> iterador = todos.iterator();
+                while (iterador.hasNext()) {
+                    saida.writeBoolean(true);
+                    codec.escrever(iterador.next(), saida);
+                }
+            }
+            saida.writeBoolean(false);
+            saida.flush();
+            saida.writeInt((int) crc.getValue());
+        }
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE)) {
+            canal.force(true);
+        }
+        Files.move(temporario, instantaneoAtual(), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        Diario.sincronizarDiretorio(diretorio);
+        diario.descartarAnteriores(primeiroSegmento);
+    }
+
+    public Diario getDiario() {
+        return diario;
+    }
+
+    public long getRegistrosRecuperados() {
+        return registrosRecuperados;
+    }
+
+    public long getNanosRecuperacao() {
+        return nanosRecuperacao;
+    }
+
+    /**
+     * Falha do último instantâneo automático, ou {@code null} se ele foi gravado.
+     */
+    public IOException getFalhaInstantaneo() {
+        return falhaInstantaneo;
+    }
+
+    @Override
+    public void close() throws IOException {
+        instantaneos.shutdown();
+        try {
+            instantaneos.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        diario.close();
+    }
+
+    private long recuperar() throws IOException {
+        long primeiroSegmento = 0;
+        long recuperados = 0;
+        Path instantaneo = instantaneoAtual();
+        if (Files.exists(instantaneo)) {
+            CRC32C crc = new CRC32C();
+            try (InputStream arquivo = Files.newInputStream(instantaneo);
+                 BufferedInputStream buffer = new BufferedInputStream(arquivo, 1 << 16);
+                 DataInputStream entrada = new DataInputStream(new CheckedInputStream(buffer, crc))) {
+                if (entrada.readInt() != MAGICO) {
+                    throw new IOException("Instantâneo inválido: " + instantaneo);
+                }
+                if (entrada.readByte() != FORMATO || entrada.readByte() != (byte) codec.versao()) {
+                    throw new IOException("Instantâneo em formato desconhecido: " + instantaneo);
+                }
+                primeiroSegmento = entrada.readLong();
+                Entrada registros = Entrada.de(entrada);
+                while (registros.lerBooleano()) {
+                    destino.salvar(codec.ler(registros));
+                    recuperados++;
+                }
+                int esperado = (int) crc.getValue();
+                if (new DataInputStream(buffer).readInt() != esperado) {
+                    throw new IOException("Instantâneo corrompido: " + instantaneo);
+                }
+            }
+        }
+        for (long segmento : Diario.segmentos(diretorio, nome)) {
+            if (segmento >= primeiroSegmento) {
+                recuperados += Diario.ler(Diario.caminho(diretorio, nome, segmento), codec.versao(),
+                        this::reaplicar);
+            }
+        }
+        return recuperados;
+    }
+
+    private void reaplicar(ByteBuffer registro) {
+        try {
+            switch (registro.get()) {
+                case SALVAR -> destino.salvar(codec.ler(Entrada.de(new DataInputStream(new BufferInputStream(registro)))));
+                case REMOVER -> destino.remover(registro.getLong());
+                case LIMPAR -> destino.limpar();
+                default -> throw new IOException("Registro desconhecido no diário " + nome);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private CompletableFuture<Void> registrar(byte tipo, T valor, long id) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeByte(tipo);
+            if (tipo == SALVAR) {
+                codec.escrever(valor, saida);
+            } else if (tipo == REMOVER) {
+                saida.writeLong(id);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        CompletableFuture<Void> gravado = diario.registrar(bytes.toByteArray());
+        if (desdeInstantaneo.incrementAndGet() >= registrosPorInstantaneo
+                && instantaneoEmAndamento.compareAndSet(false, true)) {
+            instantaneos.execute(() -> {
+                try {
+                    instantaneo();
+                    falhaInstantaneo = null;
+                } catch (IOException | RuntimeException e) {
+                    falhaInstantaneo = e instanceof IOException falha ? falha : new IOException(e);
+                    LOG.log(System.Logger.Level.ERROR, "Falha ao gravar o instantâneo de " + nome, e);
+                } finally {
+                    instantaneoEmAndamento.set(false);
+                }
+            });
+        }
+        return gravado;
+    }
+
+    private static void aguardar(CompletableFuture<?> gravado) {
+        try {
+            gravado.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException falha) {
+                throw new UncheckedIOException("Falha ao gravar o diário!", falha);
+            }
+            throw e;
+        }
+    }
+
+    private ReentrantLock trava(Long id) {
+        long chave = id == null ? Thread.currentThread().threadId() : id;
+        return travas[Long.hashCode(chave * 0x9e3779b97f4a7c15L) & (FAIXAS - 1)];
+    }
+
+    private Path instantaneoAtual() {
+        return diretorio.resolve(nome + ".snapshot");
+    }
+
+    @SuppressWarnings("unchecked")
+    private T[] novoArray(int tamanho) {
+        return (T[]) new Object[tamanho];
+    }
+
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destino, int inicio, int tamanho) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int lidos = Math.min(tamanho, buffer.remaining());
+            buffer.get(destino, inicio, lidos);
+            return lidos;
+        }
+    }
+}
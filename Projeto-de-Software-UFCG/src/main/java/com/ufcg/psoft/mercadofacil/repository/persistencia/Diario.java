@@ -0,0 +1,341 @@
+package com.ufcg.psoft.mercadofacil.repository.persistencia;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Diário de escrita antecipada (write-ahead log) dividido em segmentos.
+ * <p>
+ * Os registros são enfileirados pelos escritores e gravados por uma única thread, que drena
+ * tudo o que estiver na fila, escreve de uma vez e chama {@code force} uma única vez para o
+ * grupo inteiro (group commit). O futuro de cada registro só é concluído depois que o grupo
+ * estiver no disco. Cada registro é gravado como {@code [tamanho][crc32c][conteúdo]}; na
+ * leitura, um registro truncado ou com crc inválido encerra o segmento.
+ * <p>
+ * Ao ser aberto, o diário sempre começa um segmento novo, e {@link #rotacionar()} fecha o
+ * segmento atual e começa o seguinte, o que permite descartar segmentos inteiros depois de um
+ * instantâneo. Cada segmento começa com um cabeçalho com o formato do diário e a versão do
+ * conteúdo informada por quem o abre; segmentos de outra versão são recusados na leitura. O
+ * diretório é sincronizado a cada segmento criado, para que o segmento não desapareça em uma
+ * queda depois de receber registros confirmados.
+ * <p>
+ * Quando o gravador para, por {@link #close()} ou por uma falha de E/S, ele conclui com erro
+ * tudo o que restou na fila. Um registro enfileirado depois disso é concluído com erro por
+ * quem o enfileirou, de modo que nenhum futuro fica pendente.
+ */
+public class Diario implements Closeable {
+
+    private static final int CAPACIDADE_FILA = 16_384;
+    private static final int CABECALHO = 8;
+    private static final int MAGICO = 0x4D464449;
+    private static final byte FORMATO = 1;
+    private static final int CABECALHO_SEGMENTO = 6;
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Path diretorio;
+    private final String nome;
+    private final int versao;
+    private final BlockingQueue<Pedido> fila = new ArrayBlockingQueue<>(CAPACIDADE_FILA);
+    private final Thread gravador;
+    private final AtomicLong registrosGravados = new AtomicLong();
+    private final AtomicLong sincronizacoes = new AtomicLong();
+
+    private FileChannel canal;
+    private long segmento;
+    private volatile boolean fechado;
+    private volatile boolean parado;
+    private volatile IOException falha;
+
+    public Diario(Path diretorio, String nome, int versao) throws IOException {
+        this.diretorio = diretorio;
+        this.nome = nome;
+        this.versao = versao;
+        Files.createDirectories(diretorio);
+        List<Long> existentes = segmentos(diretorio, nome);
+        this.segmento = existentes.isEmpty() ? 1 : existentes.get(existentes.size() - 1) + 1;
+        this.canal = abrir(segmento);
+        this.gravador = new Thread(this::gravar, "diario-" + nome);
+        this.gravador.setDaemon(true);
+        this.gravador.start();
+    }
+
+    /**
+     * Enfileira um registro. O futuro é concluído quando o registro estiver no disco.
+     */
+    public CompletableFuture<Void> registrar(byte[] conteudo) {
+        CRC32C crc = new CRC32C();
+        crc.update(conteudo);
+        ByteBuffer registro = ByteBuffer.allocate(CABECALHO + conteudo.length)
+                .putInt(conteudo.length)
+                .putInt((int) crc.getValue())
+                .put(conteudo)
+                .flip();
+        Pedido pedido = new Pedido(registro, new CompletableFuture<>());
+        enfileirar(pedido);
+        return pedido.concluido;
+    }
+
+    /**
+     * Fecha o segmento atual e começa o próximo. O futuro é concluído com o número do novo
+     * segmento; todo registro enfileirado antes da rotação está em um segmento anterior.
+     */
+    public CompletableFuture<Long> rotacionar() {
+        Pedido pedido = new Pedido(null, new CompletableFuture<>());
+        enfileirar(pedido);
+        return pedido.concluido.thenApply(ignorado -> pedido.novoSegmento);
+    }
+
+    /**
+     * Apaga os segmentos de número menor que o informado.
+     */
+    public void descartarAnteriores(long segmento) throws IOException {
+        for (long existente : segmentos(diretorio, nome)) {
+            if (existente < segmento) {
+                Files.deleteIfExists(caminho(diretorio, nome, existente));
+            }
+        }
+    }
+
+    public long getRegistrosGravados() {
+        return registrosGravados.get();
+    }
+
+    public long getSincronizacoes() {
+        return sincronizacoes.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        fechado = true;
+        try {
+            gravador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+    }
+
+    /**
+     * Lê os registros válidos de um segmento, na ordem em que foram gravados. Um segmento sem
+     * cabeçalho completo (criado pouco antes de uma queda) não tem registros.
+     *
+     * @return quantidade de registros lidos
+     * @throws IOException se o segmento foi gravado em outro formato ou versão
+     */
+    public static long ler(Path arquivo, int versao, Consumer<ByteBuffer> consumidor) throws IOException {
+        long lidos = 0;
+        try (FileChannel leitura = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            ByteBuffer conteudo = leitura.map(FileChannel.MapMode.READ_ONLY, 0, leitura.size());
+            if (conteudo.remaining() < CABECALHO_SEGMENTO) {
+                return 0;
+            }
+            if (conteudo.getInt() != MAGICO || conteudo.get() != FORMATO || conteudo.get() != (byte) versao) {
+                throw new IOException("Segmento do diário em formato desconhecido: " + arquivo);
+            }
+            CRC32C crc = new CRC32C();
+            while (conteudo.remaining() >= CABECALHO) {
+                int tamanho = conteudo.getInt();
+                int esperado = conteudo.getInt();
+                if (tamanho < 0 || tamanho > conteudo.remaining()) {
+                    break;
+                }
+                ByteBuffer registro = conteudo.slice(conteudo.position(), tamanho);
+                crc.reset();
+                crc.update(registro.duplicate());
+                if ((int) crc.getValue() != esperado) {
+                    break;
+                }
+                conteudo.position(conteudo.position() + tamanho);
+                consumidor.accept(registro);
+                lidos++;
+            }
+        }
+        return lidos;
+    }
+
+    /**
+     * Números dos segmentos existentes no diretório, em ordem crescente.
+     */
+    public static List<Long> segmentos(Path diretorio, String nome) throws IOException {
+        if (!Files.isDirectory(diretorio)) {
+            return List.of();
+        }
+        Pattern padrao = Pattern.compile(Pattern.quote(nome) + "-(\\d{20})\\.log");
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                    .map(arquivo -> padrao.matcher(arquivo.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(encontrado -> Long.parseLong(encontrado.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    public static Path caminho(Path diretorio, String nome, long segmento) {
+        return diretorio.resolve(String.format("%s-%020d.log", nome, segmento));
+    }
+
+    /**
+     * Sincroniza as entradas do diretório (criações, renomeações e remoções de arquivos). No
+     * Windows, diretórios não podem ser abertos como arquivos e o NTFS já registra essas
+     * operações em seu próprio journal.
+     */
+    static void sincronizarDiretorio(Path diretorio) throws IOException {
+        if (WINDOWS) {
+            return;
+        }
+        try (FileChannel canal = FileChannel.open(diretorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        }
+    }
+
+    private void enfileirar(Pedido pedido) {
+        if (falha != null) {
+            throw new UncheckedIOException("Falha ao gravar o diário!", falha);
+        }
+        if (fechado) {
+            throw new IllegalStateException("Diário fechado!");
+        }
+        try {
+            fila.put(pedido);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao gravar o diário!", e);
+        }
+        // O gravador pode ter parado entre a verificação acima e o put; ninguém mais drena a fila.
+        if (parado) {
+            falharPendentes();
+        }
+    }
+
+    private void falharPendentes() {
+        RuntimeException erro = falha != null
+                ? new UncheckedIOException("Falha ao gravar o diário!", falha)
+                : new IllegalStateException("Diário fechado!");
+        for (Pedido pedido; (pedido = fila.poll()) != null; ) {
+            pedido.concluido.completeExceptionally(erro);
+        }
+    }
+
+    private FileChannel abrir(long numero) throws IOException {
+        FileChannel novo = FileChannel.open(caminho(diretorio, nome, numero),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer cabecalho = ByteBuffer.allocate(CABECALHO_SEGMENTO)
+                    .putInt(MAGICO)
+                    .put(FORMATO)
+                    .put((byte) versao)
+                    .flip();
+            while (cabecalho.hasRemaining()) {
+                novo.write(cabecalho);
+            }
+            novo.force(false);
+            sincronizarDiretorio(diretorio);
+        } catch (IOException e) {
+            novo.close();
+            throw e;
+        }
+        return novo;
+    }
+
+    private void gravar() {
+        List<Pedido> grupo = new ArrayList<>();
+        try {
+            while (!fechado || !fila.isEmpty()) {
+                try {
+                    Pedido primeiro = fila.poll(50, TimeUnit.MILLISECONDS);
+                    if (primeiro == null) {
+                        continue;
+                    }
+                    grupo.add(primeiro);
+                    fila.drainTo(grupo);
+                    gravarGrupo(grupo);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (IOException e) {
+                    falha = e;
+                    grupo.forEach(pedido -> pedido.concluido.completeExceptionally(e));
+                    return;
+                } finally {
+                    grupo.clear();
+                }
+            }
+        } finally {
+            parado = true;
+            falharPendentes();
+        }
+    }
+
+    // Grava os registros até cada pedido de rotação, sincronizando antes de trocar de segmento.
+    private void gravarGrupo(List<Pedido> grupo) throws IOException {
+        int inicio = 0;
+        for (int i = 0; i <= grupo.size(); i++) {
+            boolean rotacao = i < grupo.size() && grupo.get(i).registro == null;
+            if (i < grupo.size() && !rotacao) {
+                continue;
+            }
+            sincronizar(grupo.subList(inicio, i));
+            if (rotacao) {
+                canal.close();
+                canal = abrir(++segmento);
+                Pedido pedido = grupo.get(i);
+                pedido.novoSegmento = segmento;
+                pedido.concluido.complete(null);
+            }
+            inicio = i + 1;
+        }
+    }
+
+    private void sincronizar(List<Pedido> registros) throws IOException {
+        if (registros.isEmpty()) {
+            return;
+        }
+        ByteBuffer[] buffers = new ByteBuffer[registros.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = registros.get(i).registro;
+        }
+        long restante = 0;
+        for (ByteBuffer buffer : buffers) {
+            restante += buffer.remaining();
+        }
+        while (restante > 0) {
+            restante -= canal.write(buffers);
+        }
+        canal.force(false);
+        sincronizacoes.incrementAndGet();
+        registrosGravados.addAndGet(registros.size());
+        for (Pedido pedido : registros) {
+            pedido.concluido.complete(null);
+        }
+    }
+
+    private static final class Pedido {
+        final ByteBuffer registro;
+        final CompletableFuture<Void> concluido;
+        long novoSegmento;
+
+        Pedido(ByteBuffer registro, CompletableFuture<Void> concluido) {
+            this.registro = registro;
+            this.concluido = concluido;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Cliente;
+import com.ufcg.psoft.mercadofacil.repository.ClienteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ClienteAlterarImplService implements ClienteAlterarService {
+    @Autowired
+    ClienteRepository<Cliente, Long> clienteRepository;
+
+    @Override
+    public Cliente alterar(Cliente clienteAlterado) {
+        validar(clienteAlterado);
+        return clienteRepository.update(clienteAlterado);
+    }
+
+    public void validar(Cliente clienteAlterado) {
+        if (clienteAlterado.getCpf() == null || !cpfValido(clienteAlterado.getCpf())) {
+            throw new ClienteInvalidoException("CPF inválido!");
+        }
+        if (clienteAlterado.getNome() == null || clienteAlterado.getNome().isBlank()) {
+            throw new ClienteInvalidoException("Nome inválido!");
+        }
+        if (clienteAlterado.getIdade() != null && clienteAlterado.getIdade() < 0) {
+            throw new ClienteInvalidoException("Idade inválida!");
+        }
+    }
+
+    /**
+     * Confere os dois dígitos verificadores de um CPF de 11 dígitos, dado como número (zeros à
+     * esquerda omitidos). CPFs com todos os dígitos iguais são recusados.
+     */
+    static boolean cpfValido(long cpf) {
+        if (cpf <= 0 || cpf > 99_999_999_999L) {
+            return false;
+        }
+        int[] digitos = new int[11];
+        long resto = cpf;
+        for (int i = 10; i >= 0; i--) {
+            digitos[i] = (int) (resto % 10);
+            resto /= 10;
+        }
+        boolean iguais = true;
+        for (int i = 1; i < 11; i++) {
+            iguais &= digitos[i] == digitos[0];
+        }
+        return !iguais && digitos[9] == verificador(digitos, 9) && digitos[10] == verificador(digitos, 10);
+    }
+
+    private static int verificador(int[] digitos, int posicao) {
+        int soma = 0;
+        for (int i = 0; i < posicao; i++) {
+            soma += digitos[i] * (posicao + 1 - i);
+        }
+        int resto = soma * 10 % 11;
+        return resto == 10 ? 0 : resto;
+    }
+}
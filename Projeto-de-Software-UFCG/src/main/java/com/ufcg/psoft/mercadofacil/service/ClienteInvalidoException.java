@@ -0,0 +1,19 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Dados do cliente recusados pela validação, como um CPF com dígitos verificadores errados.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ClienteInvalidoException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ClienteInvalidoException(String mensagem) {
+        super(mensagem);
+    }
+}
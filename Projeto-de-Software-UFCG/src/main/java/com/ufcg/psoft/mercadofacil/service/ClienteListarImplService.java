@@ -0,0 +1,39 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Cliente;
+import com.ufcg.psoft.mercadofacil.model.Pagina;
+import com.ufcg.psoft.mercadofacil.repository.ClienteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class ClienteListarImplService implements ClienteListarService {
+    static final int LIMITE_MAXIMO = 100;
+
+    @Autowired
+    ClienteRepository<Cliente, Long> clienteRepository;
+
+    @Override
+    public Cliente consultar(Long id) {
+        return clienteRepository.find(id);
+    }
+
+    @Override
+    public Cliente consultarPorCpf(long cpf) {
+        return clienteRepository.findByCpf(cpf);
+    }
+
+    @Override
+    public Pagina<Cliente> listarPagina(Long depoisDe, int limite) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO) {
+            throw new ParametroInvalidoException("Limite inválido!");
+        }
+        List<Cliente> clientes = clienteRepository.findPage(depoisDe, limite);
+        return Pagina.<Cliente>builder()
+                .itens(clientes)
+                .proximo(clientes.size() == limite ? clientes.get(limite - 1).getId() : null)
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Cliente;
+import com.ufcg.psoft.mercadofacil.model.Pagina;
+
+public interface ClienteListarService {
+    Cliente consultar(Long id);
+    Cliente consultarPorCpf(long cpf);
+    Pagina<Cliente> listarPagina(Long depoisDe, int limite);
+}
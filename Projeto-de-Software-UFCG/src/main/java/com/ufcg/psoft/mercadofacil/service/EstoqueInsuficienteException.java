@@ -0,0 +1,19 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * O lote não tem itens suficientes para a reserva.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class EstoqueInsuficienteException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public EstoqueInsuficienteException() {
+        super("Estoque insuficiente!");
+    }
+}
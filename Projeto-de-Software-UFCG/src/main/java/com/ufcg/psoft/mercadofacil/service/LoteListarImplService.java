@@ -0,0 +1,19 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.repository.LoteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.Stream;
+
+@Service
+public class LoteListarImplService implements LoteListarService {
+    @Autowired
+    LoteRepository<Lote, Long> loteRepository;
+
+    @Override
+    public Stream<Lote> listarTodos() {
+        return loteRepository.streamAll();
+    }
+}
@@ -0,0 +1,9 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+
+import java.util.stream.Stream;
+
+public interface LoteListarService {
+    Stream<Lote> listarTodos();
+}
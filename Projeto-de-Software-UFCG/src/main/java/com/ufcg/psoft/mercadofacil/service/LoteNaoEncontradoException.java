@@ -0,0 +1,19 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * O lote não existe.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class LoteNaoEncontradoException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public LoteNaoEncontradoException() {
+        super("Lote não encontrado!");
+    }
+}
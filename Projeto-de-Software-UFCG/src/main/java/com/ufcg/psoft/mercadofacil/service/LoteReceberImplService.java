@@ -0,0 +1,189 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.repository.LoteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recebe lotes por uma fila limitada, drenada por uma única thread que os grava em grupos de
+ * até {@code tamanhoGrupo} com {@link LoteRepository#saveAll(List)}. Os lotes são gravados na
+ * ordem em que entraram na fila. Quem recebe não espera a gravação: o futuro devolvido é
+ * concluído quando o grupo do lote for gravado.
+ * <p>
+ * Com a fila cheia, {@link #receber(Lote)} espera até {@code esperaMs} por uma vaga e então
+ * recusa o lote com {@link RecebimentoSaturadoException}; com espera zero, a recusa é imediata.
+ */
+@Service
+public class LoteReceberImplService implements LoteReceberService, Closeable {
+
+    private final LoteRepository<Lote, Long> loteRepository;
+    private final BlockingQueue<Pedido> fila;
+    private final int tamanhoGrupo;
+    private final long esperaMs;
+    private final Thread gravador;
+    private final AtomicLong recusados = new AtomicLong();
+    private final AtomicLong gravados = new AtomicLong();
+    private final AtomicLong grupos = new AtomicLong();
+
+    private volatile boolean fechado;
+    private volatile boolean parado;
+
+    public LoteReceberImplService(
+            LoteRepository<Lote, Long> loteRepository,
+            @Value("${mercadofacil.lotes.recebimento.capacidade:16384}") int capacidade,
+            @Value("${mercadofacil.lotes.recebimento.tamanho-grupo:512}") int tamanhoGrupo,
+            @Value("${mercadofacil.lotes.recebimento.espera-ms:0}") long esperaMs) {
+        this.loteRepository = loteRepository;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.tamanhoGrupo = tamanhoGrupo;
+        this.esperaMs = esperaMs;
+        this.gravador = new Thread(this::gravar, "recebimento-lotes");
+        this.gravador.setDaemon(true);
+        this.gravador.start();
+    }
+
+    @Override
+    public CompletableFuture<Lote> receber(Lote lote) {
+        if (fechado) {
+            throw new IllegalStateException("Recebimento de lotes encerrado!");
+        }
+        Pedido pedido = new Pedido(lote, new CompletableFuture<>());
+        boolean aceito;
+        try {
+            aceito = fila.offer(pedido, esperaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido ao receber o lote!", e);
+        }
+        if (!aceito) {
+            recusados.incrementAndGet();
+            throw new RecebimentoSaturadoException();
+        }
+        // O gravador pode ter parado entre a verificação acima e o offer; ninguém mais drena a fila.
+        if (parado) {
+            falharPendentes();
+        }
+        return pedido.concluido();
+    }
+
+    /**
+     * Lotes na fila, ainda não gravados.
+     */
+    public int getPendentes() {
+        return fila.size();
+    }
+
+    public long getRecusados() {
+        return recusados.get();
+    }
+
+    public long getGravados() {
+        return gravados.get();
+    }
+
+    public long getGrupos() {
+        return grupos.get();
+    }
+
+    /**
+     * Para de receber lotes e espera a gravação dos que já estão na fila.
+     */
+    @Override
+    public void close() {
+        fechado = true;
+        try {
+            gravador.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void falharPendentes() {
+        IllegalStateException encerrado = new IllegalStateException("Recebimento de lotes encerrado!");
+        for (Pedido pedido; (pedido = fila.poll()) != null; ) {
+            pedido.concluido().completeExceptionally(encerrado);
+        }
+    }
+
+    // Ao parar, o gravador conclui com erro o que restou na fila; o que entrar depois é
+    // concluído com erro por quem o enfileirou.
+    private void gravar() {
+        List<Pedido> grupo = new ArrayList<>(tamanhoGrupo);
+        try {
+            while (!fechado || !fila.isEmpty()) {
+                try {
+                    Pedido primeiro = fila.poll(50, TimeUnit.MILLISECONDS);
+                    if (primeiro == null) {
+                        continue;
+                    }
+                    grupo.add(primeiro);
+                    fila.drainTo(grupo, tamanhoGrupo - 1);
+                    gravarGrupo(grupo);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    grupo.clear();
+                }
+            }
+        } finally {
+            parado = true;
+            falharPendentes();
+        }
+    }
+
+    // Os contadores são atualizados antes de concluir os futuros, para que quem foi atendido
+    // já os veja atualizados.
+    private void gravarGrupo(List<Pedido> grupo) {
+        List<Lote> lotes = new ArrayList<>(grupo.size());
+        for (Pedido pedido : grupo) {
+            lotes.add(pedido.lote());
+        }
+        List<Lote> salvos;
+        try {
+            salvos = loteRepository.saveAll(lotes);
+        } catch (RuntimeException e) {
+            salvos = null;
+        }
+        grupos.incrementAndGet();
+        if (salvos != null) {
+            gravados.addAndGet(grupo.size());
+            for (int i = 0; i < grupo.size(); i++) {
+                grupo.get(i).concluido().complete(salvos.get(i));
+            }
+            return;
+        }
+        // Refaz item a item para atribuir o erro ao lote que o causou; regravar um lote é idempotente.
+        Object[] resultados = new Object[grupo.size()];
+        int salvosNoGrupo = 0;
+        for (int i = 0; i < grupo.size(); i++) {
+            try {
+                resultados[i] = loteRepository.save(grupo.get(i).lote());
+                salvosNoGrupo++;
+            } catch (RuntimeException erro) {
+                resultados[i] = erro;
+            }
+        }
+        gravados.addAndGet(salvosNoGrupo);
+        for (int i = 0; i < grupo.size(); i++) {
+            if (resultados[i] instanceof RuntimeException erro) {
+                grupo.get(i).concluido().completeExceptionally(erro);
+            } else {
+                grupo.get(i).concluido().complete((Lote) resultados[i]);
+            }
+        }
+    }
+
+    private record Pedido(Lote lote, CompletableFuture<Lote> concluido) {
+    }
+}
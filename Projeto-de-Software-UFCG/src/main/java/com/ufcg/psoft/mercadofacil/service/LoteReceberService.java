@@ -0,0 +1,16 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface LoteReceberService {
+
+    /**
+     * Enfileira o lote para gravação. O futuro é concluído com o lote gravado, já com id, ou
+     * com o erro do repositório.
+     *
+     * @throws RecebimentoSaturadoException se a fila continuar cheia depois da espera configurada
+     */
+    CompletableFuture<Lote> receber(Lote lote);
+}
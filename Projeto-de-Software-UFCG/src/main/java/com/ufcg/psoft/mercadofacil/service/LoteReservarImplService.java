@@ -0,0 +1,166 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Reserva;
+import com.ufcg.psoft.mercadofacil.repository.LoteRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reserva retira os itens do lote na hora, por compare-and-set no repositório, de modo que
+ * duas reservas simultâneas nunca vendem o mesmo item. Liberar devolve os itens; confirmar
+ * apenas encerra a reserva. Cada reserva é removida do mapa uma única vez, então liberar ou
+ * confirmar duas vezes não altera o estoque de novo.
+ * <p>
+ * Reservas não confirmadas em {@code validadeMs} expiram: a cada {@code varreduraMs} uma
+ * thread, iniciada depois da construção, as remove e devolve seus itens ao lote.
+ * <p>
+ * As reservas ficam só em memória; ao encerrar a aplicação, {@link #close()} devolve os itens
+ * das pendentes. Se o processo cair sem encerrar, os itens continuam fora do lote, o que só é
+ * aceitável enquanto os lotes também se perdem. Por isso, com lotes persistidos (modo durável ou
+ * arquivo mapeado), as reservas são recusadas.
+ */
+@Service
+public class LoteReservarImplService implements LoteReservarService, Closeable {
+
+    private final LoteRepository<Lote, Long> loteRepository;
+    private final long validadeMs;
+    private final long varreduraMs;
+    private final Clock relogio;
+    private final boolean lotesPersistentes;
+    private ScheduledExecutorService expiracao;
+
+    private final ConcurrentHashMap<Long, Reserva> reservas = new ConcurrentHashMap<>();
+    private final AtomicLong proximoId = new AtomicLong(1L);
+
+    @Autowired
+    public LoteReservarImplService(
+            LoteRepository<Lote, Long> loteRepository,
+            @Value("${mercadofacil.reservas.validade-ms:900000}") long validadeMs,
+            @Value("${mercadofacil.reservas.varredura-ms:1000}") long varreduraMs,
+            @Value("${mercadofacil.persistencia.modo:volatil}") String modo,
+            @Value("${mercadofacil.lotes.armazenamento:memoria}") String armazenamento) {
+        this(loteRepository, validadeMs, varreduraMs, Clock.systemUTC(),
+                modo.equals("duravel") || armazenamento.equals("mapeado"));
+    }
+
+    /**
+     * Com {@code varreduraMs} zero, as reservas só expiram por {@link #expirar()}.
+     */
+    LoteReservarImplService(LoteRepository<Lote, Long> loteRepository, long validadeMs,
+                            long varreduraMs, Clock relogio, boolean lotesPersistentes) {
+        this.loteRepository = loteRepository;
+        this.validadeMs = validadeMs;
+        this.varreduraMs = varreduraMs;
+        this.relogio = relogio;
+        this.lotesPersistentes = lotesPersistentes;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (varreduraMs > 0 && !lotesPersistentes) {
+            expiracao = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "expiracao-reservas");
+                thread.setDaemon(true);
+                return thread;
+            });
+            expiracao.scheduleWithFixedDelay(this::expirar, varreduraMs, varreduraMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Reserva reservar(Long loteId, int quantidade) {
+        if (lotesPersistentes) {
+            throw new ReservasIndisponiveisException();
+        }
+        if (quantidade <= 0) {
+            throw new ParametroInvalidoException("Quantidade inválida!");
+        }
+        if (loteRepository.alterarItens(loteId, -quantidade) < 0) {
+            if (loteRepository.find(loteId) == null) {
+                throw new LoteNaoEncontradoException();
+            }
+            throw new EstoqueInsuficienteException();
+        }
+        Reserva reserva = Reserva.builder()
+                .id(proximoId.getAndIncrement())
+                .loteId(loteId)
+                .quantidade(quantidade)
+                .expiraEm(relogio.instant().plusMillis(validadeMs))
+                .build();
+        reservas.put(reserva.getId(), reserva);
+        return reserva;
+    }
+
+    /**
+     * Se o lote foi removido depois da reserva, a reserva é encerrada mesmo assim e a
+     * falha é informada, já que não há para onde devolver os itens.
+     */
+    @Override
+    public void liberar(Long reservaId) {
+        Reserva reserva = remover(reservaId);
+        if (loteRepository.alterarItens(reserva.getLoteId(), reserva.getQuantidade()) < 0) {
+            throw new LoteNaoEncontradoException();
+        }
+    }
+
+    @Override
+    public void confirmar(Long reservaId) {
+        remover(reservaId);
+    }
+
+    /**
+     * Devolve ao lote os itens das reservas vencidas.
+     *
+     * @return quantas reservas expiraram
+     */
+    public int expirar() {
+        Instant agora = relogio.instant();
+        int expiradas = 0;
+        for (Reserva reserva : reservas.values()) {
+            if (!reserva.getExpiraEm().isAfter(agora) && reservas.remove(reserva.getId(), reserva)) {
+                loteRepository.alterarItens(reserva.getLoteId(), reserva.getQuantidade());
+                expiradas++;
+            }
+        }
+        return expiradas;
+    }
+
+    public int getPendentes() {
+        return reservas.size();
+    }
+
+    /**
+     * Para a expiração e devolve os itens das reservas pendentes.
+     */
+    @Override
+    public void close() {
+        if (expiracao != null) {
+            expiracao.shutdownNow();
+        }
+        for (Reserva reserva : reservas.values()) {
+            if (reservas.remove(reserva.getId(), reserva)) {
+                loteRepository.alterarItens(reserva.getLoteId(), reserva.getQuantidade());
+            }
+        }
+    }
+
+    private Reserva remover(Long reservaId) {
+        Reserva reserva = reservaId == null ? null : reservas.remove(reservaId);
+        if (reserva == null) {
+            throw new ReservaNaoEncontradaException();
+        }
+        return reserva;
+    }
+}
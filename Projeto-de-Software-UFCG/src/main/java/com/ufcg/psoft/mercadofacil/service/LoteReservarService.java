@@ -0,0 +1,9 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Reserva;
+
+public interface LoteReservarService {
+    Reserva reservar(Long loteId, int quantidade);
+    void liberar(Long reservaId);
+    void confirmar(Long reservaId);
+}
@@ -0,0 +1,19 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Parâmetro de consulta fora do intervalo aceito, como um limite de página.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ParametroInvalidoException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ParametroInvalidoException(String mensagem) {
+        super(mensagem);
+    }
+}
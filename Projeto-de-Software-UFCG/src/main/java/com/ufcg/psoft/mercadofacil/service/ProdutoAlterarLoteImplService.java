@@ -0,0 +1,127 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.model.ProdutoAlteracaoResultado;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoRepository;
+import com.ufcg.psoft.mercadofacil.validacao.ResultadoValidacao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Altera produtos em lotes de {@value #TAMANHO_LOTE}. Enquanto um lote é validado em paralelo
+ * e gravado com {@link ProdutoRepository#updateAll(List)}, o próximo é lido da entrada. Os
+ * lotes são gravados em ordem e os resultados são entregues na ordem da entrada. Produtos
+ * inválidos são recusados pelo resultado da validação, sem lançar exceções.
+ */
+@Service
+public class ProdutoAlterarLoteImplService implements ProdutoAlterarLoteService {
+
+    static final int TAMANHO_LOTE = 512;
+
+    @Autowired
+    ProdutoAlterarImplService produtoAlterarService;
+    @Autowired
+    ProdutoRepository<Produto, Long> produtoRepository;
+
+    @Override
+    public void alterarTodos(Iterator<Produto> produtos, Consumer<ProdutoAlteracaoResultado> resultados) {
+        CompletableFuture<ProdutoAlteracaoResultado[]> pendente =
+                CompletableFuture.completedFuture(new ProdutoAlteracaoResultado[0]);
+        long lidos = 0;
+        while (produtos.hasNext()) {
+            List<Produto> lote = new ArrayList<>(TAMANHO_LOTE);
+            while (lote.size() < TAMANHO_LOTE && produtos.hasNext()) {
+                lote.add(produtos.next());
+            }
+            long inicio = lidos;
+            lidos += lote.size();
+            CompletableFuture<ProdutoAlteracaoResultado[]> anterior = pendente;
+            pendente = anterior.thenApplyAsync(entregue -> processar(lote, inicio));
+            entregar(anterior.join(), resultados);
+        }
+        entregar(pendente.join(), resultados);
+    }
+
+    private ProdutoAlteracaoResultado[] processar(List<Produto> lote, long inicio) {
+        int quantidade = lote.size();
+        ProdutoAlteracaoResultado[] resultados = new ProdutoAlteracaoResultado[quantidade];
+        IntStream.range(0, quantidade).parallel().forEach(i -> {
+            Produto produto = lote.get(i);
+            if (produto == null) {
+                resultados[i] = falha(inicio + i, null, "Produto inválido!");
+                return;
+            }
+            ResultadoValidacao validacao = produtoAlterarService.validar(produto);
+            if (!validacao.isValido()) {
+                resultados[i] = ProdutoAlteracaoResultado.builder()
+                        .indice(inicio + i)
+                        .id(produto.getId())
+                        .sucesso(false)
+                        .erro(validacao.getMensagem())
+                        .erros(validacao.getErros())
+                        .build();
+            }
+        });
+
+        List<Produto> validos = new ArrayList<>(quantidade);
+        int[] posicoes = new int[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            if (resultados[i] == null) {
+                posicoes[validos.size()] = i;
+                validos.add(lote.get(i));
+            }
+        }
+        if (validos.isEmpty()) {
+            return resultados;
+        }
+        try {
+            List<Produto> gravados = produtoRepository.updateAll(validos);
+            for (int k = 0; k < gravados.size(); k++) {
+                resultados[posicoes[k]] = sucesso(inicio + posicoes[k], gravados.get(k));
+            }
+        } catch (RuntimeException e) {
+            // Refaz item a item para atribuir o erro ao produto que o causou; update é idempotente.
+            for (int k = 0; k < validos.size(); k++) {
+                Produto produto = validos.get(k);
+                try {
+                    resultados[posicoes[k]] = sucesso(inicio + posicoes[k], produtoRepository.update(produto));
+                } catch (RuntimeException erro) {
+                    resultados[posicoes[k]] = falha(inicio + posicoes[k], produto,
+                            erro.getMessage() == null ? "Produto inválido!" : erro.getMessage());
+                }
+            }
+        }
+        return resultados;
+    }
+
+    private static void entregar(ProdutoAlteracaoResultado[] lote, Consumer<ProdutoAlteracaoResultado> resultados) {
+        for (ProdutoAlteracaoResultado resultado : lote) {
+            resultados.accept(resultado);
+        }
+    }
+
+    private static ProdutoAlteracaoResultado sucesso(long indice, Produto produto) {
+        return ProdutoAlteracaoResultado.builder()
+                .indice(indice)
+                .id(produto.getId())
+                .sucesso(true)
+                .produto(produto)
+                .build();
+    }
+
+    private static ProdutoAlteracaoResultado falha(long indice, Produto produto, String erro) {
+        return ProdutoAlteracaoResultado.builder()
+                .indice(indice)
+                .id(produto == null ? null : produto.getId())
+                .sucesso(false)
+                .erro(erro)
+                .build();
+    }
+}
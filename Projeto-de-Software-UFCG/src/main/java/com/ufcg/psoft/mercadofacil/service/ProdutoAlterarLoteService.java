@@ -0,0 +1,19 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.model.ProdutoAlteracaoResultado;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface ProdutoAlterarLoteService {
+    void alterarTodos(Iterator<Produto> produtos, Consumer<ProdutoAlteracaoResultado> resultados);
+
+    default List<ProdutoAlteracaoResultado> alterarTodos(List<Produto> produtos) {
+        List<ProdutoAlteracaoResultado> resultados = new ArrayList<>(produtos.size());
+        alterarTodos(produtos.iterator(), resultados::add);
+        return resultados;
+    }
+}
@@ -0,0 +1,12 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+
+public interface ProdutoAlterarVersionadoService {
+    /**
+     * Altera o produto somente se ele estiver na versão informada.
+     *
+     * @throws VersaoDesatualizadaException se o produto não existe ou está em outra versão
+     */
+    Produto alterar(Produto produto, long versao);
+}
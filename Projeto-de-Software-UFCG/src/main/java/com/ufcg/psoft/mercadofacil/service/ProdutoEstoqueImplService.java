@@ -0,0 +1,22 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Estoque;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.repository.LoteRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ProdutoEstoqueImplService implements ProdutoEstoqueService {
+    @Autowired
+    LoteRepository<Lote, Long> loteRepository;
+
+    @Override
+    public Estoque consultar(Long produtoId) {
+        return Estoque.builder()
+                .produtoId(produtoId)
+                .itens(loteRepository.totalDeItens(produtoId))
+                .lotes(loteRepository.quantidadeDeLotes(produtoId))
+                .build();
+    }
+}
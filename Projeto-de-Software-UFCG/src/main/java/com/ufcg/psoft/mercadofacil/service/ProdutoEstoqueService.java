@@ -0,0 +1,8 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Estoque;
+
+@FunctionalInterface
+public interface ProdutoEstoqueService {
+    Estoque consultar(Long produtoId);
+}
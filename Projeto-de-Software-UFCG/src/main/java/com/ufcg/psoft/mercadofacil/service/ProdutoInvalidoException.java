@@ -0,0 +1,30 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.validacao.ResultadoValidacao;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Produto recusado pela validação. Não captura a pilha de chamadas: a causa está toda no
+ * resultado, e rejeitar produtos não deve custar mais que aceitá-los. A mensagem é a da
+ * primeira violação.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class ProdutoInvalidoException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient ResultadoValidacao resultado;
+
+    public ProdutoInvalidoException(ResultadoValidacao resultado) {
+        super(resultado.getMensagem(), null, false, false);
+        this.resultado = resultado;
+    }
+
+    public ResultadoValidacao getResultado() {
+        return resultado;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Pagina;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+public class ProdutoListarImplService implements ProdutoListarService {
+    static final int LIMITE_MAXIMO = 100;
+
+    @Autowired
+    ProdutoRepository<Produto, Long> produtoRepository;
+
+    @Override
+    public Stream<Produto> listarTodos() {
+        return produtoRepository.streamAll();
+    }
+
+    @Override
+    public Produto consultar(Long id) {
+        return produtoRepository.find(id);
+    }
+
+    @Override
+    public Pagina<Produto> listarPagina(Long depoisDe, int limite) {
+        validarLimite(limite);
+        return pagina(produtoRepository.findPage(depoisDe, limite), limite);
+    }
+
+    @Override
+    public <R> Pagina<R> listarPagina(Long depoisDe, int limite, Function<? super Produto, ? extends R> projecao) {
+        validarLimite(limite);
+        // A projeção pode não ter o id, então o cursor é guardado enquanto a página é montada.
+        Long[] ultimo = {null};
+        List<R> itens = produtoRepository.findPage(depoisDe, limite, produto -> {
+            ultimo[0] = produto.getId();
+            return projecao.apply(produto);
+        });
+        return Pagina.<R>builder()
+                .itens(itens)
+                .proximo(itens.size() == limite ? ultimo[0] : null)
+                .build();
+    }
+
+    @Override
+    public Pagina<Produto> buscar(String consulta, Long depoisDe, int limite) {
+        validarLimite(limite);
+        return pagina(produtoRepository.findByTexto(consulta, depoisDe, limite), limite);
+    }
+
+    private static void validarLimite(int limite) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO) {
+            throw new ParametroInvalidoException("Limite inválido!");
+        }
+    }
+
+    private static Pagina<Produto> pagina(List<Produto> produtos, int limite) {
+        return Pagina.<Produto>builder()
+                .itens(produtos)
+                .proximo(produtos.size() == limite ? produtos.get(limite - 1).getId() : null)
+                .build();
+    }
+}
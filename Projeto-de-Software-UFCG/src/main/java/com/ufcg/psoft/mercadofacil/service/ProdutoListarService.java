@@ -0,0 +1,15 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Pagina;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public interface ProdutoListarService {
+    Stream<Produto> listarTodos();
+    Produto consultar(Long id);
+    Pagina<Produto> listarPagina(Long depoisDe, int limite);
+    <R> Pagina<R> listarPagina(Long depoisDe, int limite, Function<? super Produto, ? extends R> projecao);
+    Pagina<Produto> buscar(String consulta, Long depoisDe, int limite);
+}
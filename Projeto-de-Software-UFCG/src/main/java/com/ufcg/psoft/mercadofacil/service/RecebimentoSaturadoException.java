@@ -0,0 +1,20 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Fila de recebimento de lotes cheia. Sob sobrecarga ela é lançada a cada requisição, por
+ * isso não captura a pilha de chamadas.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class RecebimentoSaturadoException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public RecebimentoSaturadoException() {
+        super("Recebimento de lotes saturado!", null, false, false);
+    }
+}
@@ -0,0 +1,190 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Estoque;
+import com.ufcg.psoft.mercadofacil.model.HistogramaPrecos;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.model.ValorEstoque;
+import com.ufcg.psoft.mercadofacil.repository.LoteRepository;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * Relatórios de estoque calculados em paralelo, em um {@link ForkJoinPool} próprio com
+ * {@code paralelismo} threads (padrão: uma por processador), para não disputar o pool comum
+ * com o restante da aplicação.
+ * <p>
+ * Cada relatório parte de uma cópia dos produtos (id, preço e fabricante) e lê o estoque de
+ * cada um pelos totais que {@link LoteRepository} mantém a cada escrita de lote, então o custo
+ * cresce com o número de produtos, não com o de lotes, e nenhuma trava de escrita é adquirida.
+ * O total de cada produto é lido de uma vez, mas produtos diferentes são lidos em momentos
+ * diferentes: com escritas simultâneas, o relatório pode misturar estados vizinhos, como uma
+ * listagem paginada.
+ */
+@Service
+public class RelatorioEstoqueImplService implements RelatorioEstoqueService, Closeable {
+
+    static final int LIMITE_MAXIMO = 1000;
+    static final int FAIXAS_MAXIMO = 1000;
+    static final String SEM_FABRICANTE = "";
+    private static final int TAMANHO_PAGINA = 4096;
+
+    @Autowired
+    ProdutoRepository<Produto, Long> produtoRepository;
+    @Autowired
+    LoteRepository<Lote, Long> loteRepository;
+
+    private final ForkJoinPool pool;
+
+    public RelatorioEstoqueImplService(
+            @Value("${mercadofacil.relatorios.paralelismo:0}") int paralelismo) {
+        this.pool = new ForkJoinPool(paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Override
+    public List<ValorEstoque> valorPorFabricante() {
+        Foto[] fotos = fotografar();
+        Map<String, Soma> somas = executar(() -> Arrays.stream(fotos).parallel()
+                .collect(Collectors.groupingBy(Foto::fabricante,
+                        Collector.of(Soma::new, this::somar, Soma::juntar))));
+        return somas.entrySet().stream()
+                .map(entrada -> ValorEstoque.builder()
+                        .fabricante(entrada.getKey())
+                        .produtos(entrada.getValue().produtos)
+                        .itens(entrada.getValue().itens)
+                        .valor(entrada.getValue().valor)
+                        .build())
+                .sorted(Comparator.comparingDouble(ValorEstoque::getValor).reversed()
+                        .thenComparing(ValorEstoque::getFabricante))
+                .toList();
+    }
+
+    @Override
+    public List<Estoque> estoqueBaixo(long abaixoDe, int limite) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO) {
+            throw new ParametroInvalidoException("Limite inválido!");
+        }
+        Foto[] fotos = fotografar();
+        return executar(() -> Arrays.stream(fotos).parallel()
+                .map(foto -> Estoque.builder()
+                        .produtoId(foto.id())
+                        .itens(loteRepository.totalDeItens(foto.id()))
+                        .lotes(loteRepository.quantidadeDeLotes(foto.id()))
+                        .build())
+                .filter(estoque -> estoque.getItens() < abaixoDe)
+                .sorted(Comparator.comparingLong(Estoque::getItens).thenComparing(Estoque::getProdutoId))
+                .limit(limite)
+                .toList());
+    }
+
+    @Override
+    public HistogramaPrecos histogramaPrecos(int faixas) {
+        if (faixas <= 0 || faixas > FAIXAS_MAXIMO) {
+            throw new ParametroInvalidoException("Número de faixas inválido!");
+        }
+        Foto[] fotos = fotografar();
+        if (fotos.length == 0) {
+            return HistogramaPrecos.builder().faixas(List.of()).build();
+        }
+        DoubleSummaryStatistics precos = executar(() -> Arrays.stream(fotos).parallel()
+                .mapToDouble(Foto::preco)
+                .summaryStatistics());
+        double minimo = precos.getMin();
+        double maximo = precos.getMax();
+        int quantidade = maximo > minimo ? faixas : 1;
+        double largura = (maximo - minimo) / quantidade;
+        // Produtos e itens da faixa i ficam em contagem[2i] e contagem[2i + 1].
+        long[] contagem = executar(() -> Arrays.stream(fotos).parallel().collect(
+                () -> new long[2 * quantidade],
+                (parcial, foto) -> {
+                    int i = largura == 0 ? 0 : Math.min(quantidade - 1, (int) ((foto.preco() - minimo) / largura));
+                    parcial[2 * i]++;
+                    parcial[2 * i + 1] += loteRepository.totalDeItens(foto.id());
+                },
+                (parcial, outra) -> {
+                    for (int k = 0; k < parcial.length; k++) {
+                        parcial[k] += outra[k];
+                    }
+                }));
+        List<HistogramaPrecos.Faixa> lista = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            lista.add(HistogramaPrecos.Faixa.builder()
+                    .inicio(minimo + i * largura)
+                    .fim(i == quantidade - 1 ? maximo : minimo + (i + 1) * largura)
+                    .produtos(contagem[2 * i])
+                    .itens(contagem[2 * i + 1])
+                    .build());
+        }
+        return HistogramaPrecos.builder()
+                .minimo(minimo)
+                .maximo(maximo)
+                .faixas(lista)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Copia id, preço e fabricante de todos os produtos, página a página.
+     */
+    private Foto[] fotografar() {
+        List<Foto> fotos = new ArrayList<>();
+        Long depoisDe = null;
+        List<Foto> pagina;
+        do {
+            pagina = produtoRepository.findPage(depoisDe, TAMANHO_PAGINA, produto -> new Foto(
+                    produto.getId(),
+                    produto.getPreco(),
+                    produto.getFabricante() == null ? SEM_FABRICANTE : produto.getFabricante()));
+            fotos.addAll(pagina);
+            if (!pagina.isEmpty()) {
+                depoisDe = pagina.get(pagina.size() - 1).id();
+            }
+        } while (pagina.size() == TAMANHO_PAGINA);
+        return fotos.toArray(Foto[]::new);
+    }
+
+    private void somar(Soma soma, Foto foto) {
+        long itens = loteRepository.totalDeItens(foto.id());
+        soma.produtos++;
+        soma.itens += itens;
+        soma.valor += itens * foto.preco();
+    }
+
+    private <R> R executar(Callable<R> relatorio) {
+        return pool.submit(relatorio).join();
+    }
+
+    private record Foto(long id, double preco, String fabricante) {
+    }
+
+    private static final class Soma {
+        long produtos;
+        long itens;
+        double valor;
+
+        Soma juntar(Soma outra) {
+            produtos += outra.produtos;
+            itens += outra.itens;
+            valor += outra.valor;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Estoque;
+import com.ufcg.psoft.mercadofacil.model.HistogramaPrecos;
+import com.ufcg.psoft.mercadofacil.model.ValorEstoque;
+
+import java.util.List;
+
+public interface RelatorioEstoqueService {
+    List<ValorEstoque> valorPorFabricante();
+    List<Estoque> estoqueBaixo(long abaixoDe, int limite);
+    HistogramaPrecos histogramaPrecos(int faixas);
+}
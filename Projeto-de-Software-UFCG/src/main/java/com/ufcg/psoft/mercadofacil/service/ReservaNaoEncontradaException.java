@@ -0,0 +1,19 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * A reserva não existe ou já foi encerrada, confirmada ou expirada.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ReservaNaoEncontradaException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ReservaNaoEncontradaException() {
+        super("Reserva não encontrada!");
+    }
+}
@@ -0,0 +1,20 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Reservas recusadas porque os lotes são persistidos e as reservas, não: uma queda deixaria
+ * os itens reservados fora dos lotes para sempre.
+ */
+@ResponseStatus(HttpStatus.NOT_IMPLEMENTED)
+public class ReservasIndisponiveisException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public ReservasIndisponiveisException() {
+        super("Reservas indisponíveis com lotes persistidos!");
+    }
+}
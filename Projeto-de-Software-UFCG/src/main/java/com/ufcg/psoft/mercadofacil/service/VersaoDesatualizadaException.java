@@ -0,0 +1,16 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class VersaoDesatualizadaException extends RuntimeException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public VersaoDesatualizadaException() {
+        super("Versão desatualizada!");
+    }
+}
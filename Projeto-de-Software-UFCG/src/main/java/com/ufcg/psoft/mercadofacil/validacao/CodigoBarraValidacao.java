@@ -0,0 +1,24 @@
+package com.ufcg.psoft.mercadofacil.validacao;
+
+public enum CodigoBarraValidacao {
+    VALIDO(null),
+    TAMANHO_INVALIDO("Código Barra inválido!"),
+    CARACTERE_INVALIDO("Código Barra inválido!"),
+    PAIS_INVALIDO("País inválido!"),
+    EMPRESA_INVALIDA("Empresa inválido!"),
+    DIGITO_VERIFICADOR_INVALIDO("Produto inválido!");
+
+    private final String mensagem;
+
+    CodigoBarraValidacao(String mensagem) {
+        this.mensagem = mensagem;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public boolean isValido() {
+        return this == VALIDO;
+    }
+}
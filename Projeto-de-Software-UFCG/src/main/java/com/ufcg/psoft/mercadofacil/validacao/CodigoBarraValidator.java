@@ -0,0 +1,63 @@
+package com.ufcg.psoft.mercadofacil.validacao;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Valida códigos de barras EAN-13: tamanho, prefixo do país, prefixo da empresa e dígito
+ * verificador, em uma única passada sobre os caracteres e sem alocar objetos.
+ */
+@Component
+public class CodigoBarraValidator {
+
+    public static final int TAMANHO = 13;
+    public static final String PREFIXO_PAIS = "789";
+    public static final String PREFIXO_EMPRESA = "9137";
+
+    private final String prefixoPais;
+    private final String prefixoEmpresa;
+    private final int fimEmpresa;
+
+    public CodigoBarraValidator() {
+        this(PREFIXO_PAIS, PREFIXO_EMPRESA);
+    }
+
+    public CodigoBarraValidator(String prefixoPais, String prefixoEmpresa) {
+        if (prefixoPais.length() + prefixoEmpresa.length() >= TAMANHO) {
+            throw new IllegalArgumentException("Prefixos maiores que o código de barras!");
+        }
+        this.prefixoPais = prefixoPais;
+        this.prefixoEmpresa = prefixoEmpresa;
+        this.fimEmpresa = prefixoPais.length() + prefixoEmpresa.length();
+    }
+
+    public CodigoBarraValidacao validar(CharSequence codigoBarra) {
+        if (codigoBarra == null || codigoBarra.length() != TAMANHO) {
+            return CodigoBarraValidacao.TAMANHO_INVALIDO;
+        }
+        int inicioEmpresa = prefixoPais.length();
+        int soma = 0;
+        for (int i = 0; i < TAMANHO; i++) {
+            char c = codigoBarra.charAt(i);
+            if (c < '0' || c > '9') {
+                return CodigoBarraValidacao.CARACTERE_INVALIDO;
+            }
+            if (i < inicioEmpresa) {
+                if (c != prefixoPais.charAt(i)) {
+                    return CodigoBarraValidacao.PAIS_INVALIDO;
+                }
+            } else if (i < fimEmpresa && c != prefixoEmpresa.charAt(i - inicioEmpresa)) {
+                return CodigoBarraValidacao.EMPRESA_INVALIDA;
+            }
+            int digito = c - '0';
+            // Pesos do EAN-13: 1 nas posições pares e 3 nas ímpares, incluindo o verificador.
+            soma += (i & 1) == 0 ? digito : digito * 3;
+        }
+        return soma % 10 == 0
+                ? CodigoBarraValidacao.VALIDO
+                : CodigoBarraValidacao.DIGITO_VERIFICADOR_INVALIDO;
+    }
+
+    public boolean isValido(CharSequence codigoBarra) {
+        return validar(codigoBarra).isValido();
+    }
+}
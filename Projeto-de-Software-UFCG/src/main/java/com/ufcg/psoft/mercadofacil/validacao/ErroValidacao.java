@@ -0,0 +1,32 @@
+package com.ufcg.psoft.mercadofacil.validacao;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+/**
+ * Violações das regras de produto. A ordem das constantes é a ordem em que as mensagens são
+ * informadas quando há mais de uma violação.
+ */
+@JsonFormat(shape = JsonFormat.Shape.OBJECT)
+public enum ErroValidacao {
+    PRECO_INVALIDO("Preco inválido!"),
+    NOME_INVALIDO("Nome inválido!"),
+    FABRICANTE_INVALIDO("Fabricante inválido!"),
+    CODIGO_BARRA_INVALIDO("Código Barra inválido!"),
+    PAIS_INVALIDO("País inválido!"),
+    EMPRESA_INVALIDA("Empresa inválido!"),
+    DIGITO_VERIFICADOR_INVALIDO("Produto inválido!");
+
+    private final String mensagem;
+
+    ErroValidacao(String mensagem) {
+        this.mensagem = mensagem;
+    }
+
+    public String getCodigo() {
+        return name();
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+}
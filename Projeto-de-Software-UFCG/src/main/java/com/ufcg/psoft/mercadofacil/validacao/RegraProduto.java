@@ -0,0 +1,16 @@
+package com.ufcg.psoft.mercadofacil.validacao;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+
+/**
+ * Uma regra de validação de produtos. Cada regra registrada como bean entra na cadeia de
+ * {@link ValidadorProduto}, na ordem de {@code @Order}.
+ */
+@FunctionalInterface
+public interface RegraProduto {
+
+    /**
+     * @return a violação encontrada, ou null se o produto satisfaz a regra
+     */
+    ErroValidacao verificar(Produto produto);
+}
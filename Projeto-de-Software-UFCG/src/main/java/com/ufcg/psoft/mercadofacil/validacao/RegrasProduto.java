@@ -0,0 +1,46 @@
+package com.ufcg.psoft.mercadofacil.validacao;
+
+import java.util.List;
+
+/**
+ * Regras padrão de produto: preço positivo, nome e fabricante preenchidos e código de barras
+ * válido. Registradas como beans em {@code ValidacaoConfig}.
+ */
+public final class RegrasProduto {
+
+    private RegrasProduto() {
+    }
+
+    public static RegraProduto preco() {
+        return produto -> produto.getPreco() > 0 ? null : ErroValidacao.PRECO_INVALIDO;
+    }
+
+    public static RegraProduto nome() {
+        return produto -> preenchido(produto.getNome()) ? null : ErroValidacao.NOME_INVALIDO;
+    }
+
+    public static RegraProduto fabricante() {
+        return produto -> preenchido(produto.getFabricante()) ? null : ErroValidacao.FABRICANTE_INVALIDO;
+    }
+
+    public static RegraProduto codigoBarra(CodigoBarraValidator validator) {
+        return produto -> switch (validator.validar(produto.getCodigoBarra())) {
+            case VALIDO -> null;
+            case TAMANHO_INVALIDO, CARACTERE_INVALIDO -> ErroValidacao.CODIGO_BARRA_INVALIDO;
+            case PAIS_INVALIDO -> ErroValidacao.PAIS_INVALIDO;
+            case EMPRESA_INVALIDA -> ErroValidacao.EMPRESA_INVALIDA;
+            case DIGITO_VERIFICADOR_INVALIDO -> ErroValidacao.DIGITO_VERIFICADOR_INVALIDO;
+        };
+    }
+
+    /**
+     * As regras padrão na ordem da cadeia, para uso fora do contexto do Spring.
+     */
+    public static List<RegraProduto> padrao(CodigoBarraValidator validator) {
+        return List.of(preco(), nome(), fabricante(), codigoBarra(validator));
+    }
+
+    private static boolean preenchido(String texto) {
+        return texto != null && !texto.isBlank();
+    }
+}
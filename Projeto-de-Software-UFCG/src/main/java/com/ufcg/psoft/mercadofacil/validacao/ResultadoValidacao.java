@@ -0,0 +1,84 @@
+package com.ufcg.psoft.mercadofacil.validacao;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Violações encontradas por {@link ValidadorProduto}, guardadas como um conjunto de bits de
+ * {@link ErroValidacao}. O resultado sem violações e os de uma única violação são
+ * pré-alocados; só combinações de várias violações criam um objeto.
+ */
+public final class ResultadoValidacao {
+
+    private static final ErroValidacao[] ERROS = ErroValidacao.values();
+
+    public static final ResultadoValidacao VALIDO = new ResultadoValidacao(0L);
+
+    private static final ResultadoValidacao[] UNICOS = new ResultadoValidacao[ERROS.length];
+
+    static {
+        for (ErroValidacao erro : ERROS) {
+            UNICOS[erro.ordinal()] = new ResultadoValidacao(bit(erro));
+        }
+    }
+
+    private final long violacoes;
+    private final List<ErroValidacao> erros;
+
+    private ResultadoValidacao(long violacoes) {
+        this.violacoes = violacoes;
+        List<ErroValidacao> lista = new ArrayList<>(Long.bitCount(violacoes));
+        for (long resto = violacoes; resto != 0; resto &= resto - 1) {
+            lista.add(ERROS[Long.numberOfTrailingZeros(resto)]);
+        }
+        this.erros = Collections.unmodifiableList(lista);
+    }
+
+    public static long bit(ErroValidacao erro) {
+        return 1L << erro.ordinal();
+    }
+
+    /**
+     * O resultado para o conjunto de bits de {@link #bit(ErroValidacao)}.
+     */
+    public static ResultadoValidacao de(long violacoes) {
+        if (violacoes == 0L) {
+            return VALIDO;
+        }
+        if (Long.bitCount(violacoes) == 1) {
+            return UNICOS[Long.numberOfTrailingZeros(violacoes)];
+        }
+        return new ResultadoValidacao(violacoes);
+    }
+
+    @JsonIgnore
+    public boolean isValido() {
+        return violacoes == 0L;
+    }
+
+    public boolean contem(ErroValidacao erro) {
+        return (violacoes & bit(erro)) != 0L;
+    }
+
+    @JsonProperty("erros")
+    public List<ErroValidacao> getErros() {
+        return erros;
+    }
+
+    /**
+     * A mensagem da primeira violação, ou null se não houver.
+     */
+    @JsonIgnore
+    public String getMensagem() {
+        return erros.isEmpty() ? null : erros.get(0).getMensagem();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoValidacao" + erros;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ufcg.psoft.mercadofacil.validacao;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Aplica todas as regras de produto em uma única passada e devolve as violações encontradas,
+ * sem lançar exceções. A cadeia é montada uma vez, na criação, a partir dos beans
+ * {@link RegraProduto}; uma regra nova entra na validação só por ser registrada como bean.
+ */
+@Component
+public class ValidadorProduto {
+
+    private final RegraProduto[] regras;
+
+    public ValidadorProduto(List<RegraProduto> regras) {
+        this.regras = regras.toArray(new RegraProduto[0]);
+    }
+
+    public ResultadoValidacao validar(Produto produto) {
+        long violacoes = 0L;
+        for (RegraProduto regra : regras) {
+            ErroValidacao erro = regra.verificar(produto);
+            if (erro != null) {
+                violacoes |= ResultadoValidacao.bit(erro);
+            }
+        }
+        return ResultadoValidacao.de(violacoes);
+    }
+}
@@ -0,0 +1,135 @@
+package com.ufcg.psoft.mercadofacil.alteracoes;
+
+import com.ufcg.psoft.mercadofacil.model.Alteracao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do registro de alterações")
+class RegistroAlteracoesTests {
+
+    RegistroAlteracoes driver;
+
+    @BeforeEach
+    void setup() {
+        driver = new RegistroAlteracoes(8);
+    }
+
+    @Test
+    @DisplayName("As alterações são lidas em ordem a partir da sequência informada")
+    void leEmOrdem() {
+        // Arrange
+        for (long id = 1; id <= 5; id++) {
+            driver.salvo(Alteracao.Entidade.PRODUTO, id, null);
+        }
+
+        // Act
+        List<Alteracao> lidas = driver.ler(2, 10);
+
+        // Assert
+        assertEquals(List.of(3L, 4L, 5L), lidas.stream().map(Alteracao::getSequencia).toList());
+        assertEquals(List.of(3L, 4L, 5L), lidas.stream().map(Alteracao::getId).toList());
+        assertEquals(2, driver.ler(0, 2).size());
+        assertTrue(driver.ler(5, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Quem fica mais de uma volta para trás é avisado em vez de perder alterações em silêncio")
+    void consumidorAtrasado() {
+        // Arrange
+        for (long id = 1; id <= 20; id++) {
+            driver.salvo(Alteracao.Entidade.LOTE, id, null);
+        }
+
+        // Act
+        AlteracoesDescartadasException thrown = assertThrows(AlteracoesDescartadasException.class,
+                () -> driver.ler(3, 10));
+
+        // Assert
+        assertEquals(13, thrown.getPrimeiraDisponivel());
+        assertEquals(driver.cursor(12), thrown.getDepoisDe());
+        assertEquals(8, driver.ler(12, 10).size());
+        assertThrows(AlteracoesDescartadasException.class, () -> driver.ler(21, 10));
+    }
+
+    @Test
+    @DisplayName("Os cursores levam a época da execução e os de outra execução são recusados")
+    void cursoresPorExecucao() {
+        // Arrange
+        driver = new RegistroAlteracoes(8, "k2");
+        driver.salvo(Alteracao.Entidade.PRODUTO, 1L, null);
+        RegistroAlteracoes anterior = new RegistroAlteracoes(8, "k1");
+
+        // Act
+        String cursor = driver.cursor(1);
+
+        // Assert
+        assertEquals("k2-1", cursor);
+        assertEquals(1, driver.sequencia(cursor));
+        AlteracoesDescartadasException thrown = assertThrows(AlteracoesDescartadasException.class,
+                () -> driver.sequencia(anterior.cursor(1)));
+        assertEquals("k2-0", thrown.getDepoisDe());
+        assertThrows(AlteracoesDescartadasException.class, () -> driver.sequencia("1"));
+        assertThrows(AlteracoesDescartadasException.class, () -> driver.sequencia("k2-"));
+        assertThrows(AlteracoesDescartadasException.class, () -> driver.sequencia("k2--1"));
+    }
+
+    @Test
+    @DisplayName("Quem espera é acordado pela próxima alteração")
+    void aguardaProximaAlteracao() throws Exception {
+        // Arrange
+        CompletableFuture<Boolean> espera = CompletableFuture.supplyAsync(() -> {
+            try {
+                return driver.aguardar(0, 10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Act
+        driver.removido(Alteracao.Entidade.PRODUTO, 7L);
+
+        // Assert
+        assertTrue(espera.get(10, TimeUnit.SECONDS));
+        assertFalse(driver.aguardar(1, 20, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Publicações concorrentes formam uma sequência contínua")
+    void publicacoesConcorrentes() throws Exception {
+        // Arrange
+        driver = new RegistroAlteracoes(1 << 16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Void>> publicacoes = new ArrayList<>();
+
+        // Act
+        try {
+            for (int t = 0; t < 8; t++) {
+                publicacoes.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        driver.salvo(Alteracao.Entidade.PRODUTO, (long) i, null);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(publicacoes.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        List<Alteracao> lidas = driver.ler(0, 40_000);
+        assertEquals(40_000, lidas.size());
+        for (int i = 0; i < lidas.size(); i++) {
+            assertEquals(i + 1L, lidas.get(i).getSequencia());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ufcg.psoft.mercadofacil.config;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.model.ProdutoAlteracaoResultado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Testes das dicas da imagem nativa")
+class ImagemNativaConfigTests {
+
+    RuntimeHints driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = new RuntimeHints();
+        new ImagemNativaConfig.Dicas().registerHints(driver, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("Registra os modelos e os builders usados pelo Jackson")
+    void registraModelosJackson() {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Produto.class, "getNome").test(driver));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(ProdutoAlteracaoResultado.class, "getProduto").test(driver));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Produto.ProdutoBuilder.class, "build").test(driver));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Lote.LoteBuilder.class, "numeroDeItens").test(driver));
+    }
+
+    @Test
+    @DisplayName("Registra os campos acessados por VarHandle")
+    void registraCamposVarHandle() {
+        assertTrue(RuntimeHintsPredicates.reflection().onField(Lote.class, "numeroDeItens").test(driver));
+    }
+}
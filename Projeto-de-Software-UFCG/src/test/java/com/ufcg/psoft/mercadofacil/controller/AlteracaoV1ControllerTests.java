@@ -0,0 +1,152 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.mercadofacil.alteracoes.RegistroAlteracoes;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.repository.LoteRepository;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Testes do controlador de alterações")
+public class AlteracaoV1ControllerTests {
+    @Autowired
+    MockMvc driver;
+
+    @Autowired
+    RegistroAlteracoes registroAlteracoes;
+
+    @Autowired
+    ProdutoRepository<Produto, Long> produtoRepository;
+
+    @Autowired
+    LoteRepository<Lote, Long> loteRepository;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void tearDown() {
+        loteRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Quando consultamos as alterações feitas nos repositórios")
+    void quandoConsultamosAlteracoes() throws Exception {
+        // Arrange
+        long inicio = registroAlteracoes.getUltima();
+        Produto produto = produtoRepository.save(Produto.builder()
+                .id(10L)
+                .nome("Produto Dez")
+                .fabricante("Empresa Dez")
+                .preco(100.0)
+                .build());
+        loteRepository.save(Lote.builder().id(20L).produto(produto).numeroDeItens(5).build());
+        loteRepository.alterarItens(20L, -2);
+        produtoRepository.delete(produto);
+
+        // Act
+        MvcResult consulta = driver.perform(get("/v1/alteracoes").param("depoisDe", registroAlteracoes.cursor(inicio)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String responseJsonString = driver.perform(asyncDispatch(consulta))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        JsonNode pagina = objectMapper.readTree(responseJsonString);
+        JsonNode itens = pagina.get("itens");
+        assertEquals(4, itens.size());
+        assertEquals("PRODUTO", itens.get(0).get("entidade").asText());
+        assertEquals("SALVO", itens.get(0).get("tipo").asText());
+        assertEquals("Produto Dez", itens.get(0).at("/dados/nome").asText());
+        assertEquals("LOTE", itens.get(1).get("entidade").asText());
+        assertEquals(5, itens.get(1).at("/dados/numeroDeItens").asInt());
+        assertEquals("ITENS_ALTERADOS", itens.get(2).get("tipo").asText());
+        assertEquals(-2, itens.get(2).get("delta").asInt());
+        assertEquals(3, itens.get(2).at("/dados/numeroDeItens").asInt());
+        assertEquals("REMOVIDO", itens.get(3).get("tipo").asText());
+        assertEquals(10, itens.get(3).get("id").asLong());
+        assertEquals(registroAlteracoes.cursor(inicio + 4), pagina.get("proximo").asText());
+    }
+
+    @Test
+    @DisplayName("Quando pedimos alterações que não existem no registro")
+    void quandoPedimosAlteracoesInexistentes() throws Exception {
+        // Act
+        String responseJsonString = driver.perform(get("/v1/alteracoes")
+                        .param("depoisDe", registroAlteracoes.cursor(registroAlteracoes.getUltima() + 1000)))
+                .andExpect(status().isGone())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        JsonNode problema = objectMapper.readTree(responseJsonString);
+        assertEquals(registroAlteracoes.primeiraDisponivel(), problema.get("primeiraDisponivel").asLong());
+        assertEquals(registroAlteracoes.cursor(registroAlteracoes.primeiraDisponivel() - 1),
+                problema.get("depoisDe").asText());
+    }
+
+    @Test
+    @DisplayName("Quando pedimos alterações com o cursor de uma execução anterior")
+    void quandoPedimosAlteracoesDeOutraExecucao() throws Exception {
+        // Arrange
+        produtoRepository.save(Produto.builder().id(10L).nome("Produto Dez").preco(100.0).build());
+
+        // Act & Assert
+        driver.perform(get("/v1/alteracoes").param("depoisDe", "0-1"))
+                .andExpect(status().isGone());
+        driver.perform(get("/v1/alteracoes").param("depoisDe", "1"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    @DisplayName("Quando esperamos e uma alteração acontece durante a espera")
+    void quandoEsperamosPelaProximaAlteracao() throws Exception {
+        // Arrange
+        MvcResult espera = driver.perform(get("/v1/alteracoes").param("esperaMs", "10000"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Act
+        produtoRepository.save(Produto.builder().id(10L).nome("Produto Dez").preco(100.0).build());
+
+        // Assert
+        String responseJsonString = driver.perform(asyncDispatch(espera))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode itens = objectMapper.readTree(responseJsonString).get("itens");
+        assertEquals(1, itens.size());
+        assertEquals(10, itens.get(0).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("Quando esperamos por uma alteração que não acontece")
+    void quandoEsperamosSemAlteracoes() throws Exception {
+        // Act
+        MvcResult espera = driver.perform(get("/v1/alteracoes").param("esperaMs", "50"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String responseJsonString = driver.perform(asyncDispatch(espera))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        JsonNode pagina = objectMapper.readTree(responseJsonString);
+        assertEquals(0, pagina.get("itens").size());
+        assertEquals(registroAlteracoes.cursor(registroAlteracoes.getUltima()), pagina.get("proximo").asText());
+    }
+}
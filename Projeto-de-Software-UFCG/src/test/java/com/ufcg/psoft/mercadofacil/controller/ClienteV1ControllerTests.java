@@ -0,0 +1,139 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.mercadofacil.model.Cliente;
+import com.ufcg.psoft.mercadofacil.repository.ClienteRepository;
+
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Testes do controlador de Clientes")
+public class ClienteV1ControllerTests {
+    @Autowired
+    MockMvc driver;
+
+    @Autowired
+    ClienteRepository<Cliente, Long> clienteRepository;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    Cliente cliente;
+
+    @BeforeEach
+    void setup() {
+        cliente = clienteRepository.save(Cliente.builder()
+                .id(10L)
+                .cpf(52998224725L)
+                .nome("Cliente Dez")
+                .idade(30)
+                .endereco("Rua Dez, 10")
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        clienteRepository.deleteAll();
+        cliente = null;
+    }
+
+    @Test
+    @DisplayName("Quando consultamos o cliente pelo CPF")
+    void quandoConsultamosClientePorCpf() throws Exception {
+        // Act
+        String responseJsonString = driver.perform(get("/v1/clientes").param("cpf", "52998224725"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertEquals(cliente, objectMapper.readValue(responseJsonString, Cliente.class));
+    }
+
+    @Test
+    @DisplayName("Quando consultamos um CPF sem cliente")
+    void quandoConsultamosCpfSemCliente() throws Exception {
+        // Act
+        driver.perform(get("/v1/clientes").param("cpf", "11144477735"))
+                // Assert
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Quando alteramos o cliente com dados válidos")
+    void quandoAlteramosClienteValido() throws Exception {
+        // Arrange
+        cliente.setEndereco("Rua Onze, 11");
+
+        // Act
+        String responseJsonString = driver.perform(put("/v1/clientes/" + cliente.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cliente)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertEquals("Rua Onze, 11", objectMapper.readValue(responseJsonString, Cliente.class).getEndereco());
+        assertEquals("Rua Onze, 11", clienteRepository.findByCpf(52998224725L).getEndereco());
+    }
+
+    @Test
+    @DisplayName("Quando alteramos o cliente com um CPF inválido")
+    void quandoAlteramosClienteComCpfInvalido() throws Exception {
+        // Arrange
+        cliente.setCpf(52998224724L);
+
+        // Act & Assert
+        driver.perform(put("/v1/clientes/" + cliente.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cliente)))
+                .andExpect(status().isBadRequest());
+        assertEquals(52998224725L, clienteRepository.find(cliente.getId()).getCpf());
+    }
+
+    @Test
+    @DisplayName("Quando alteramos o cliente para o CPF de outro cliente")
+    void quandoAlteramosClienteComCpfDuplicado() throws Exception {
+        // Arrange
+        clienteRepository.save(cliente.toBuilder().id(11L).cpf(11144477735L).nome("Cliente Onze").build());
+        Cliente alterado = cliente.toBuilder().cpf(11144477735L).build();
+
+        // Act & Assert
+        driver.perform(put("/v1/clientes/" + cliente.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(alterado)))
+                .andExpect(status().isConflict());
+        assertEquals(52998224725L, clienteRepository.find(cliente.getId()).getCpf());
+        assertEquals(11L, clienteRepository.findByCpf(11144477735L).getId());
+    }
+
+    @Test
+    @DisplayName("Quando alteramos o cliente com o nome em branco")
+    void quandoAlteramosClienteComNomeInvalido() throws Exception {
+        // Arrange
+        cliente.setNome(" ");
+
+        // Act & Assert
+        driver.perform(put("/v1/clientes/" + cliente.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cliente)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Quando listamos os clientes com limite inválido")
+    void quandoListamosClientesComLimiteInvalido() throws Exception {
+        // Act & Assert
+        driver.perform(get("/v1/clientes").param("limite", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,125 @@
+package com.ufcg.psoft.mercadofacil.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.repository.LoteRepository;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoRepository;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Testes do controlador de Lotes")
+public class LoteV1ControllerTests {
+    @Autowired
+    MockMvc driver;
+
+    @Autowired
+    ProdutoRepository<Produto, Long> produtoRepository;
+
+    @Autowired
+    LoteRepository<Lote, Long> loteRepository;
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    Produto produto;
+
+    @BeforeEach
+    void setup() {
+        produto = produtoRepository.save(Produto.builder()
+                .id(10L)
+                .codigoBarra("7899137500100")
+                .nome("Produto Dez")
+                .fabricante("Empresa Dez")
+                .preco(450.00)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        loteRepository.deleteAll();
+        produtoRepository.deleteAll();
+        produto = null;
+    }
+
+    @Test
+    @DisplayName("Quando exportamos os lotes, cada lote sai em uma linha, em ordem de id")
+    void quandoExportamosLotes() throws Exception {
+        // Arrange
+        loteRepository.save(Lote.builder().id(21L).produto(produto).numeroDeItens(7).build());
+        loteRepository.save(Lote.builder().id(20L).produto(produto).numeroDeItens(5).build());
+
+        // Act
+        MvcResult inicio = driver.perform(get("/v1/lotes").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String resposta = driver.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        // Assert
+        assertTrue(resposta.endsWith("\n"));
+        String[] linhas = resposta.split("\n");
+        assertEquals(2, linhas.length);
+        JsonNode primeiro = objectMapper.readTree(linhas[0]);
+        JsonNode segundo = objectMapper.readTree(linhas[1]);
+        assertEquals(20L, primeiro.get("id").asLong());
+        assertEquals(5, primeiro.get("numeroDeItens").asInt());
+        assertEquals(10L, primeiro.at("/produto/id").asLong());
+        assertEquals(21L, segundo.get("id").asLong());
+        assertEquals(7, segundo.get("numeroDeItens").asInt());
+    }
+
+    @Test
+    @DisplayName("Quando não há lotes, a exportação vem vazia")
+    void quandoExportamosSemLotes() throws Exception {
+        // Act
+        MvcResult inicio = driver.perform(get("/v1/lotes").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String resposta = driver.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        // Assert
+        assertEquals("", resposta);
+    }
+
+    @Test
+    @DisplayName("Quando a reserva é recusada, o status informa o motivo")
+    void quandoReservamosItensInvalidos() throws Exception {
+        // Arrange
+        loteRepository.save(Lote.builder().id(20L).produto(produto).numeroDeItens(5).build());
+
+        // Act & Assert
+        driver.perform(post("/v1/lotes/20/reservas").param("quantidade", "0"))
+                .andExpect(status().isBadRequest());
+        driver.perform(post("/v1/lotes/20/reservas").param("quantidade", "6"))
+                .andExpect(status().isConflict());
+        driver.perform(post("/v1/lotes/99/reservas").param("quantidade", "1"))
+                .andExpect(status().isNotFound());
+        driver.perform(delete("/v1/lotes/reservas/999999"))
+                .andExpect(status().isNotFound());
+        assertEquals(5, loteRepository.find(20L).getNumeroDeItens());
+    }
+}
@@ -1,22 +1,35 @@
 package com.ufcg.psoft.mercadofacil.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ufcg.psoft.mercadofacil.codec.EntradaBinaria;
+import com.ufcg.psoft.mercadofacil.codec.ProdutoCodec;
 import com.ufcg.psoft.mercadofacil.model.Produto;
 import com.ufcg.psoft.mercadofacil.repository.ProdutoRepository;
 
-import jakarta.servlet.ServletException;
-
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.charset.StandardCharsets;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -35,11 +48,18 @@ public class ProdutoV1ControllerTests {
 
     @BeforeEach
     void setup() {
-        produto = produtoRepository.find(10L);
+        produto = produtoRepository.save(Produto.builder()
+                .id(10L)
+                .codigoBarra("7899137500100")
+                .nome("Produto Dez")
+                .fabricante("Empresa Dez")
+                .preco(450.00)
+                .build());
     }
 
     @AfterEach
     void tearDown() {
+        produtoRepository.deleteAll();
         produto = null;
     }
 
@@ -75,22 +95,42 @@ public class ProdutoV1ControllerTests {
         	produto.setNome("");
         	
         	// Act:
-        	ServletException thrown = assertThrows(
-        			ServletException.class,
-        			() -> driver.perform(put("/v1/produtos/" + produto.getId())
+        	String responseJsonString = driver.perform(put("/v1/produtos/" + produto.getId())
         					.contentType(MediaType.APPLICATION_JSON)
         					.content(objectMapper.writeValueAsString(produto)))
-        			.andExpect(status().isOk())
+        			.andExpect(status().isBadRequest())
         			.andDo(print())
-        			.andReturn().getResponse().getContentAsString());
+        			.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
         	
         	// Assert:
-        	String expected = "Request processing failed: java.lang.RuntimeException: Nome inválido!";
-        	String actual = thrown.getMessage();
+        	String expected = "Nome inválido!";
+        	String actual = objectMapper.readTree(responseJsonString).at("/erros/0/mensagem").asText();
         	assertEquals(expected, actual);
         	
         }
 
+        @Test
+        @DisplayName("Quando alteramos o produto com vários campos inválidos")
+        void quandoAlteramosProdutoComVariosCamposInvalidos() throws Exception {
+            // Arrange
+            produto.setNome("");
+            produto.setFabricante("");
+
+            // Act
+            String responseJsonString = driver.perform(put("/v1/produtos/" + produto.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(produto)))
+                    .andExpect(status().isBadRequest())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+            // Assert
+            JsonNode erros = objectMapper.readTree(responseJsonString).get("erros");
+            assertEquals(2, erros.size());
+            assertEquals("NOME_INVALIDO", erros.get(0).get("codigo").asText());
+            assertEquals("FABRICANTE_INVALIDO", erros.get(1).get("codigo").asText());
+            assertEquals("Produto Dez", produtoRepository.find(10L).getNome());
+        }
+
     }
 
     @Nested
@@ -125,18 +165,16 @@ public class ProdutoV1ControllerTests {
         	produto.setPreco(-100.00);
         	
         	// Act:
-        	ServletException thrown = assertThrows(
-        			ServletException.class,
-        			() -> driver.perform(put("/v1/produtos/" + produto.getId())
+        	String responseJsonString = driver.perform(put("/v1/produtos/" + produto.getId())
         					.contentType(MediaType.APPLICATION_JSON)
         					.content(objectMapper.writeValueAsString(produto)))
-        			.andExpect(status().isOk())
+        			.andExpect(status().isBadRequest())
         			.andDo(print())
-        			.andReturn().getResponse().getContentAsString());
+        			.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
         	
         	// Assert:
-        	String expected = "Request processing failed: java.lang.RuntimeException: Preço inválido!";
-        	String actual = thrown.getMessage();
+        	String expected = "Preco inválido!";
+        	String actual = objectMapper.readTree(responseJsonString).at("/erros/0/mensagem").asText();
         	assertEquals(expected, actual);
     	}
     	
@@ -151,7 +189,7 @@ public class ProdutoV1ControllerTests {
         @DisplayName("Quando alteramos o código de barras do produto com dados válidos")
         void quandoAlteramosCodigoBarraDoProdutoValido() throws Exception {
     		// Arrange
-            produto.setCodigoBarra("1119137550604");
+            produto.setCodigoBarra("7899137500117");
 
             // Act
             String responseJsonString = driver.perform(put("/v1/produtos/" + produto.getId())
@@ -164,30 +202,43 @@ public class ProdutoV1ControllerTests {
             Produto resultado = objectMapper.readValue(responseJsonString, Produto.ProdutoBuilder.class).build();
 
             // Assert
-            assertEquals(resultado.getCodigoBarra(), "1119137550604");
+            assertEquals(resultado.getCodigoBarra(), "7899137500117");
     	}
     	
     	@Test
         @DisplayName("Quando alteramos o código de barras do produto com dados inválidos")
         void quandoAlteramosCodigoBarraDoProdutoInvalido() throws Exception {
     		// Arrange:
-        	produto.setCodigoBarra("1119137550604");
+        	produto.setCodigoBarra("789913750010");
         	
         	// Act:
-        	ServletException thrown = assertThrows(
-        			ServletException.class,
-        			() -> driver.perform(put("/v1/produtos/" + produto.getId())
+        	String responseJsonString = driver.perform(put("/v1/produtos/" + produto.getId())
         					.contentType(MediaType.APPLICATION_JSON)
         					.content(objectMapper.writeValueAsString(produto)))
-        			.andExpect(status().isOk())
+        			.andExpect(status().isBadRequest())
         			.andDo(print())
-        			.andReturn().getResponse().getContentAsString());
+        			.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
         	
         	// Assert:
-        	String expected = "Request processing failed: java.lang.RuntimeException: Código Barra inválido!";
-        	String actual = thrown.getMessage();
+        	String expected = "Código Barra inválido!";
+        	String actual = objectMapper.readTree(responseJsonString).at("/erros/0/mensagem").asText();
         	assertEquals(expected, actual);
     	}
+
+        @Test
+        @DisplayName("Quando alteramos o código de barras para um já cadastrado em outro produto")
+        void quandoAlteramosCodigoBarraDuplicado() throws Exception {
+            // Arrange
+            produtoRepository.save(produto.toBuilder().id(11L).codigoBarra("7899137500117").build());
+            produto.setCodigoBarra("7899137500117");
+
+            // Act & Assert
+            driver.perform(put("/v1/produtos/" + produto.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(produto)))
+                    .andExpect(status().isConflict());
+            assertEquals("7899137500100", produtoRepository.find(10L).getCodigoBarra());
+        }
     }
     
     @Nested
@@ -222,20 +273,295 @@ public class ProdutoV1ControllerTests {
         	produto.setFabricante("");
         	
         	// Act:
-        	ServletException thrown = assertThrows(
-        			ServletException.class,
-        			() -> driver.perform(put("/v1/produtos/" + produto.getId())
+        	String responseJsonString = driver.perform(put("/v1/produtos/" + produto.getId())
         					.contentType(MediaType.APPLICATION_JSON)
         					.content(objectMapper.writeValueAsString(produto)))
-        			.andExpect(status().isOk())
+        			.andExpect(status().isBadRequest())
         			.andDo(print())
-        			.andReturn().getResponse().getContentAsString());
+        			.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
         	
         	// Assert:
-        	String expected = "Request processing failed: java.lang.RuntimeException: Fabricante inválido!";
-        	String actual = thrown.getMessage();
+        	String expected = "Fabricante inválido!";
+        	String actual = objectMapper.readTree(responseJsonString).at("/erros/0/mensagem").asText();
         	assertEquals(expected, actual);
     	}
     }
 
+    @Nested
+    @DisplayName("Conjunto de casos de alterações condicionais pela versão")
+    class ProdutoVersao {
+
+        @Test
+        @DisplayName("Quando alteramos o produto com a versão atual no If-Match")
+        void quandoAlteramosComVersaoAtual() throws Exception {
+            // Arrange
+            produto.setPreco(500.00);
+
+            // Act & Assert
+            driver.perform(put("/v1/produtos/" + produto.getId())
+                            .header("If-Match", "\"1\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(produto)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"2\""));
+            assertEquals(500.00, produtoRepository.find(produto.getId()).getPreco());
+        }
+
+        @Test
+        @DisplayName("Quando alteramos o produto com uma versão desatualizada no If-Match")
+        void quandoAlteramosComVersaoDesatualizada() throws Exception {
+            // Arrange
+            produtoRepository.update(produto.toBuilder().nome("Produto Dez Alterado").build());
+            produto.setPreco(500.00);
+
+            // Act & Assert
+            driver.perform(put("/v1/produtos/" + produto.getId())
+                            .header("If-Match", "\"1\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(produto)))
+                    .andExpect(status().isPreconditionFailed());
+            assertEquals(450.00, produtoRepository.find(produto.getId()).getPreco());
+        }
+
+        @Test
+        @DisplayName("Quando alteramos com If-Match: * um produto que não existe")
+        void quandoAlteramosComCoringaSemProduto() throws Exception {
+            // Act & Assert
+            driver.perform(put("/v1/produtos/99")
+                            .header("If-Match", "*")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(produto.toBuilder().id(99L).build())))
+                    .andExpect(status().isPreconditionFailed());
+            assertNull(produtoRepository.find(99L));
+        }
+
+        @Test
+        @DisplayName("Quando alteramos com If-Match: * um produto que existe")
+        void quandoAlteramosComCoringa() throws Exception {
+            // Arrange
+            produto.setPreco(500.00);
+
+            // Act & Assert
+            driver.perform(put("/v1/produtos/" + produto.getId())
+                            .header("If-Match", "*")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(produto)))
+                    .andExpect(status().isOk());
+            assertEquals(500.00, produtoRepository.find(produto.getId()).getPreco());
+        }
+
+        @Test
+        @DisplayName("Quando consultamos o produto com a versão atual no If-None-Match")
+        void quandoConsultamosComVersaoAtual() throws Exception {
+            // Act & Assert
+            driver.perform(get("/v1/produtos/" + produto.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"1\""));
+            driver.perform(get("/v1/produtos/" + produto.getId()).header("If-None-Match", "\"1\""))
+                    .andExpect(status().isNotModified());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conjunto de casos do formato binário")
+    class ProdutoFormatoBinario {
+
+        @Test
+        @DisplayName("Quando alteramos o produto enviando e recebendo o formato binário")
+        void quandoAlteramosNoFormatoBinario() throws Exception {
+            // Arrange
+            produto.setPreco(500.00);
+            ByteArrayOutputStream corpo = new ByteArrayOutputStream();
+            new ProdutoCodec().escrever(produto, new DataOutputStream(corpo));
+
+            // Act
+            byte[] resposta = driver.perform(put("/v1/produtos/" + produto.getId())
+                            .contentType(ConversorBinario.BINARIO)
+                            .accept(ConversorBinario.BINARIO)
+                            .content(corpo.toByteArray()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", ConversorBinario.BINARIO_VALUE))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            // Assert
+            Produto resultado = new ProdutoCodec().ler(new EntradaBinaria(resposta));
+            assertEquals(produto, resultado);
+            assertEquals(2L, resultado.getVersao());
+        }
+
+        @Test
+        @DisplayName("Quando não pedimos o formato binário, a resposta é JSON")
+        void quandoNaoPedimosFormatoBinario() throws Exception {
+            // Act & Assert
+            driver.perform(get("/v1/produtos/" + produto.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", MediaType.APPLICATION_JSON_VALUE));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conjunto de casos da alteração em lote")
+    class ProdutoAlteracaoEmLote {
+
+        @Test
+        @DisplayName("Quando alteramos um array de produtos, cada item tem seu resultado")
+        void quandoAlteramosArrayDeProdutos() throws Exception {
+            // Arrange
+            produto.setPreco(500.00);
+            String corpo = "[" + objectMapper.writeValueAsString(produto) + ",null]";
+
+            // Act
+            String resposta = driver.perform(put("/v1/produtos/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+            // Assert
+            JsonNode resultados = objectMapper.readTree(resposta);
+            assertEquals(2, resultados.size());
+            assertTrue(resultados.get(0).get("sucesso").asBoolean());
+            assertFalse(resultados.get(1).get("sucesso").asBoolean());
+            assertEquals(500.00, produtoRepository.find(produto.getId()).getPreco());
+        }
+
+        @Test
+        @DisplayName("Quando o array está malformado no meio, a resposta termina com o erro e fecha o array")
+        void quandoArrayMalformado() throws Exception {
+            // Arrange
+            produto.setPreco(500.00);
+            String corpo = "[" + objectMapper.writeValueAsString(produto) + ",{\"id\": 10, \"nome\": }]";
+
+            // Act
+            String resposta = driver.perform(put("/v1/produtos/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+            // Assert
+            JsonNode resultados = objectMapper.readTree(resposta);
+            assertEquals(2, resultados.size());
+            assertTrue(resultados.get(0).get("sucesso").asBoolean());
+            assertEquals(1, resultados.get(1).get("indice").asLong());
+            assertFalse(resultados.get(1).get("sucesso").asBoolean());
+            assertTrue(resultados.get(1).get("erro").asText().startsWith("JSON inválido"));
+            assertEquals(500.00, produtoRepository.find(produto.getId()).getPreco());
+        }
+
+        @Test
+        @DisplayName("Quando o corpo não é um array, responde 400 antes de começar a resposta")
+        void quandoCorpoNaoEArray() throws Exception {
+            // Act & Assert
+            driver.perform(put("/v1/produtos/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"id\": 10}"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conjunto de casos da exportação NDJSON")
+    class ProdutoExportacaoNdjson {
+
+        @Test
+        @DisplayName("Quando exportamos os produtos, cada produto sai em uma linha, em ordem de id")
+        void quandoExportamosProdutos() throws Exception {
+            // Arrange
+            produtoRepository.save(produto.toBuilder().id(11L).nome("Produto Onze").codigoBarra("7899137500117").build());
+
+            // Act
+            MvcResult inicio = driver.perform(get("/v1/produtos").accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String resposta = driver.perform(asyncDispatch(inicio))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+            // Assert
+            assertTrue(resposta.endsWith("\n"));
+            String[] linhas = resposta.split("\n");
+            assertEquals(2, linhas.length);
+            assertEquals(10L, objectMapper.readTree(linhas[0]).get("id").asLong());
+            assertEquals("Produto Dez", objectMapper.readTree(linhas[0]).get("nome").asText());
+            assertEquals(11L, objectMapper.readTree(linhas[1]).get("id").asLong());
+            assertEquals("Produto Onze", objectMapper.readTree(linhas[1]).get("nome").asText());
+        }
+
+        @Test
+        @DisplayName("Quando pedimos uma busca ou projeção em NDJSON, a exportação não é usada")
+        void quandoExportamosComFiltros() throws Exception {
+            // Act & Assert
+            driver.perform(get("/v1/produtos").param("q", "dez").accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(status().isNotAcceptable());
+            driver.perform(get("/v1/produtos").param("campos", "id").accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(status().isNotAcceptable());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conjunto de casos da busca de produtos")
+    class ProdutoBusca {
+
+        @Test
+        @DisplayName("Quando buscamos pelo nome, a página traz os produtos encontrados")
+        void quandoBuscamosProdutos() throws Exception {
+            // Act
+            String responseJsonString = driver.perform(get("/v1/produtos").param("q", "dez"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+            // Assert
+            JsonNode pagina = objectMapper.readTree(responseJsonString);
+            assertEquals(1, pagina.get("itens").size());
+            assertEquals(10L, pagina.at("/itens/0/id").asLong());
+        }
+
+        @Test
+        @DisplayName("Quando buscamos com limite inválido, responde 400")
+        void quandoBuscamosComLimiteInvalido() throws Exception {
+            // Act & Assert
+            driver.perform(get("/v1/produtos").param("q", "dez").param("limite", "0"))
+                    .andExpect(status().isBadRequest());
+            driver.perform(get("/v1/produtos").param("q", "dez").param("limite", "101"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conjunto de casos da listagem paginada")
+    class ProdutoListagemPaginada {
+
+        @Test
+        @DisplayName("Quando listamos com campos, cada item traz só os campos pedidos")
+        void quandoListamosProjetados() throws Exception {
+            // Act
+            String responseJsonString = driver.perform(get("/v1/produtos")
+                            .accept(MediaType.APPLICATION_JSON)
+                            .param("campos", "id,preco"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+            // Assert
+            JsonNode item = objectMapper.readTree(responseJsonString).at("/itens/0");
+            assertEquals(2, item.size());
+            assertEquals(10L, item.get("id").asLong());
+            assertEquals(450.00, item.get("preco").asDouble());
+        }
+
+        @Test
+        @DisplayName("Quando listamos com limite inválido, responde 400")
+        void quandoListamosComLimiteInvalido() throws Exception {
+            // Act & Assert
+            driver.perform(get("/v1/produtos").accept(MediaType.APPLICATION_JSON).param("limite", "0"))
+                    .andExpect(status().isBadRequest());
+            driver.perform(get("/v1/produtos").accept(MediaType.APPLICATION_JSON).param("limite", "101"))
+                    .andExpect(status().isBadRequest());
+            driver.perform(get("/v1/produtos").accept(MediaType.APPLICATION_JSON)
+                            .param("campos", "id").param("limite", "101"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
 }
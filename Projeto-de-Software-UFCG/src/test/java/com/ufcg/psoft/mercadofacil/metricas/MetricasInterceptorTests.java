@@ -0,0 +1,150 @@
+package com.ufcg.psoft.mercadofacil.metricas;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoRepository;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoVolatilRepository;
+import com.ufcg.psoft.mercadofacil.service.ProdutoAlterarService;
+import com.ufcg.psoft.mercadofacil.service.ProdutoInvalidoException;
+import com.ufcg.psoft.mercadofacil.service.VersaoDesatualizadaException;
+import com.ufcg.psoft.mercadofacil.validacao.ErroValidacao;
+import com.ufcg.psoft.mercadofacil.validacao.ResultadoValidacao;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes das métricas de serviços e repositórios")
+class MetricasInterceptorTests {
+
+    SimpleMeterRegistry registry;
+
+    ProdutoRepository<Produto, Long> repositorio;
+
+    ServicoFalso driver;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repositorio = instrumentar(new ProdutoVolatilRepository(), MetricasInterceptor.repositorio(() -> registry));
+        driver = instrumentar(new ServicoFalso(repositorio), MetricasInterceptor.servico(() -> registry));
+    }
+
+    @Test
+    @DisplayName("Mede as chamadas ao serviço e ao repositório")
+    void medeChamadas() {
+        // Act
+        driver.alterar(produto(10.0));
+        driver.alterar(produto(20.0));
+        repositorio.find(1L);
+
+        // Assert
+        Timer servico = registry.get(MetricasInterceptor.SERVICO)
+                .tag("metodo", "alterar").tag("resultado", "sucesso").timer();
+        assertEquals(2, servico.count());
+        assertEquals(2, registry.get(MetricasInterceptor.REPOSITORIO)
+                .tag("classe", "ProdutoVolatilRepository").tag("metodo", "update").tag("resultado", "sucesso")
+                .timer().count());
+        assertEquals(1, registry.get(MetricasInterceptor.REPOSITORIO)
+                .tag("metodo", "find").tag("resultado", "sucesso").timer().count());
+    }
+
+    @Test
+    @DisplayName("Conta as rejeições por código de violação")
+    void contaRejeicoes() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertThrows(ProdutoInvalidoException.class, () -> driver.alterar(produto(-1.0)));
+        }
+        assertThrows(ProdutoInvalidoException.class,
+                () -> driver.alterar(produto(-1.0).toBuilder().nome("").build()));
+
+        // Assert
+        assertEquals(4, registry.get(MetricasInterceptor.REJEICOES).tag("codigo", "PRECO_INVALIDO").counter().count());
+        assertEquals(1, registry.get(MetricasInterceptor.REJEICOES).tag("codigo", "NOME_INVALIDO").counter().count());
+        assertEquals(4, registry.get(MetricasInterceptor.SERVICO).tag("resultado", "erro").timer().count());
+        assertEquals(0, registry.get(MetricasInterceptor.SERVICO).tag("resultado", "sucesso").timer().count());
+    }
+
+    @Test
+    @DisplayName("Conflitos de versão não contam como rejeições")
+    void naoContaConflitosComoRejeicoes() {
+        // Act
+        assertThrows(VersaoDesatualizadaException.class,
+                () -> driver.alterar(produto(10.0).toBuilder().versao(3L).build()));
+
+        // Assert
+        assertTrue(registry.find(MetricasInterceptor.REJEICOES).counters().isEmpty());
+        assertEquals(1, registry.get(MetricasInterceptor.SERVICO).tag("resultado", "erro").timer().count());
+    }
+
+    @Test
+    @DisplayName("Conta as rejeições devolvidas pela validação, sem exceção")
+    void contaRejeicoesDaValidacao() {
+        // Act
+        ResultadoValidacao invalido = driver.validar(produto(-1.0).toBuilder().nome("").build());
+        ResultadoValidacao valido = driver.validar(produto(10.0));
+
+        // Assert
+        assertFalse(invalido.isValido());
+        assertTrue(valido.isValido());
+        assertEquals(1, registry.get(MetricasInterceptor.REJEICOES).tag("codigo", "PRECO_INVALIDO").counter().count());
+        assertEquals(1, registry.get(MetricasInterceptor.REJEICOES).tag("codigo", "NOME_INVALIDO").counter().count());
+        assertEquals(2, registry.get(MetricasInterceptor.SERVICO).tag("metodo", "validar").tag("resultado", "sucesso")
+                .timer().count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T instrumentar(T alvo, Advisor metricas) {
+        ProxyFactory fabrica = new ProxyFactory(alvo);
+        fabrica.setProxyTargetClass(true);
+        fabrica.addAdvisor(metricas);
+        return (T) fabrica.getProxy();
+    }
+
+    private static Produto produto(double preco) {
+        return Produto.builder()
+                .id(1L)
+                .nome("Produto Um")
+                .codigoBarra("7899137500100")
+                .fabricante("Empresa Um")
+                .preco(preco)
+                .build();
+    }
+
+    static class ServicoFalso implements ProdutoAlterarService {
+        private final ProdutoRepository<Produto, Long> repositorio;
+
+        ServicoFalso(ProdutoRepository<Produto, Long> repositorio) {
+            this.repositorio = repositorio;
+        }
+
+        @Override
+        public Produto alterar(Produto produto) {
+            if (produto.getVersao() != null) {
+                throw new VersaoDesatualizadaException();
+            }
+            // Chamada interna, fora do proxy, como em ProdutoAlterarImplService.
+            ResultadoValidacao resultado = validar(produto);
+            if (!resultado.isValido()) {
+                throw new ProdutoInvalidoException(resultado);
+            }
+            return repositorio.update(produto);
+        }
+
+        public ResultadoValidacao validar(Produto produto) {
+            long violacoes = 0L;
+            if (produto.getPreco() <= 0) {
+                violacoes |= ResultadoValidacao.bit(ErroValidacao.PRECO_INVALIDO);
+            }
+            if (produto.getNome().isBlank()) {
+                violacoes |= ResultadoValidacao.bit(ErroValidacao.NOME_INVALIDO);
+            }
+            return ResultadoValidacao.de(violacoes);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.model.Cliente;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do repositório de Clientes")
+class ClienteRepositoryTests {
+
+    ClienteRepository<Cliente, Long> driver;
+
+    Cliente cliente;
+
+    @BeforeEach
+    void setUp() {
+        driver = new ClienteVolatilRepository();
+        cliente = Cliente.builder()
+                .id(10L)
+                .cpf(52998224725L)
+                .nome("Cliente Dez")
+                .idade(30)
+                .endereco("Rua Dez, 10")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.deleteAll();
+        cliente = null;
+    }
+
+    @Test
+    @DisplayName("Encontra o cliente salvo pelo id e pelo CPF")
+    void encontraClienteSalvo() {
+        // Act
+        driver.save(cliente);
+
+        // Assert
+        assertEquals(cliente, driver.find(10L));
+        assertEquals(cliente, driver.findByCpf(52998224725L));
+        assertNull(driver.findByCpf(11144477735L));
+    }
+
+    @Test
+    @DisplayName("Recusa um CPF já cadastrado para outro cliente")
+    void recusaCpfRepetido() {
+        // Arrange
+        driver.save(cliente);
+        Cliente outro = cliente.toBuilder().id(11L).nome("Cliente Onze").build();
+
+        // Act
+        CpfDuplicadoException thrown = assertThrows(CpfDuplicadoException.class, () -> driver.save(outro));
+
+        // Assert
+        assertEquals("CPF já cadastrado!", thrown.getMessage());
+        assertNull(driver.find(11L));
+        assertEquals(10L, driver.findByCpf(52998224725L).getId());
+    }
+
+    @Test
+    @DisplayName("Trocar o CPF libera o anterior e remover o cliente libera o atual")
+    void trocaERemocaoLiberamCpf() {
+        // Arrange
+        driver.save(cliente);
+
+        // Act
+        driver.update(cliente.toBuilder().cpf(11144477735L).build());
+
+        // Assert
+        assertNull(driver.findByCpf(52998224725L));
+        assertEquals(10L, driver.findByCpf(11144477735L).getId());
+        driver.delete(cliente);
+        assertNull(driver.findByCpf(11144477735L));
+        assertNotNull(driver.save(cliente.toBuilder().id(12L).cpf(11144477735L).build()));
+    }
+
+    @Test
+    @DisplayName("Pagina os clientes em ordem de id")
+    void paginaClientes() {
+        // Arrange
+        for (long id = 1; id <= 5; id++) {
+            driver.save(cliente.toBuilder().id(id).cpf(10_000_000_000L + id).build());
+        }
+
+        // Act
+        List<Cliente> pagina = driver.findPage(2L, 2);
+
+        // Assert
+        assertEquals(List.of(3L, 4L), pagina.stream().map(Cliente::getId).toList());
+    }
+}
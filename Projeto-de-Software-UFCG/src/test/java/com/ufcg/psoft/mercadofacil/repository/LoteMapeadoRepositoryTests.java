@@ -0,0 +1,328 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do repositório de Lotes mapeado em memória")
+class LoteMapeadoRepositoryTests {
+
+    @TempDir
+    Path diretorio;
+
+    ProdutoVolatilRepository produtos;
+
+    LoteMapeadoRepository driver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        produtos = new ProdutoVolatilRepository();
+        for (long id = 1; id <= 3; id++) {
+            produtos.save(Produto.builder()
+                    .id(id)
+                    .nome("Produto " + id)
+                    .codigoBarra("789913750010" + id)
+                    .fabricante("Empresa Um")
+                    .preco(10.0 * id)
+                    .build());
+        }
+        driver = abrir();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        driver.close();
+    }
+
+    @Test
+    @DisplayName("Encontra o lote salvo com o produto resolvido pelo id")
+    void encontraLoteSalvo() {
+        // Act
+        Lote salvo = driver.save(Lote.builder().produto(produtos.find(2L)).numeroDeItens(100).build());
+
+        // Assert
+        assertEquals(1L, salvo.getId());
+        Lote encontrado = driver.find(1L);
+        assertEquals(100, encontrado.getNumeroDeItens());
+        assertEquals(produtos.find(2L), encontrado.getProduto());
+        assertNull(driver.find(2L));
+        assertNull(driver.find(LoteMapeadoRepository.REGISTROS_POR_BLOCO * 3L));
+    }
+
+    @Test
+    @DisplayName("Atualiza e remove lotes")
+    void atualizaERemoveLotes() {
+        // Arrange
+        driver.save(Lote.builder().id(5L).produto(produtos.find(1L)).numeroDeItens(10).build());
+        driver.save(Lote.builder().id(7L).produto(produtos.find(1L)).numeroDeItens(20).build());
+
+        // Act
+        driver.update(Lote.builder().id(5L).produto(produtos.find(3L)).numeroDeItens(15).build());
+        driver.delete(Lote.builder().id(7L).build());
+
+        // Assert
+        assertEquals(List.of(5L), driver.findAll().stream().map(Lote::getId).toList());
+        assertEquals(3L, driver.find(5L).getProduto().getId());
+        assertEquals(1, driver.quantidade());
+        assertEquals(8L, driver.save(Lote.builder().numeroDeItens(1).build()).getId());
+    }
+
+    @Test
+    @DisplayName("Mantém os lotes ao reabrir o arquivo")
+    void reabreArquivo() throws IOException {
+        // Arrange
+        driver.save(Lote.builder().produto(produtos.find(1L)).numeroDeItens(10).build());
+        driver.save(Lote.builder().id(LoteMapeadoRepository.REGISTROS_POR_BLOCO + 10L)
+                .produto(produtos.find(2L)).numeroDeItens(20).build());
+
+        // Act
+        driver.close();
+        driver = abrir();
+
+        // Assert
+        assertEquals(2, driver.quantidade());
+        assertEquals(20, driver.find(LoteMapeadoRepository.REGISTROS_POR_BLOCO + 10L).getNumeroDeItens());
+        assertEquals(LoteMapeadoRepository.REGISTROS_POR_BLOCO + 11L,
+                driver.save(Lote.builder().numeroDeItens(1).build()).getId());
+    }
+
+    @Test
+    @DisplayName("Soma os itens de todos os lotes e por produto")
+    void somaItens() {
+        // Arrange
+        for (long id = 1; id <= 30; id++) {
+            driver.save(Lote.builder().produto(produtos.find(id % 3 + 1)).numeroDeItens((int) id).build());
+        }
+        driver.delete(Lote.builder().id(30L).build());
+
+        // Act & Assert
+        assertEquals(435, driver.totalDeItens());
+        assertEquals(3 + 6 + 9 + 12 + 15 + 18 + 21 + 24 + 27, driver.totalDeItens(1L));
+        assertEquals(0, driver.totalDeItens(99L));
+        assertEquals(9, driver.quantidadeDeLotes(1L));
+    }
+
+    @Test
+    @DisplayName("Pagina os lotes pulando as posições vazias")
+    void paginaLotes() {
+        // Arrange
+        for (long id = 1; id <= 10; id++) {
+            driver.save(Lote.builder().produto(produtos.find(1L)).numeroDeItens((int) id).build());
+        }
+        driver.delete(Lote.builder().id(4L).build());
+        driver.save(Lote.builder().id(LoteMapeadoRepository.REGISTROS_POR_BLOCO + 1L)
+                .produto(produtos.find(2L)).numeroDeItens(99).build());
+
+        // Act & Assert
+        assertEquals(List.of(1L, 2L, 3L, 5L), driver.findPage(null, 4).stream().map(Lote::getId).toList());
+        assertEquals(List.of(8, 9, 10, 99), driver.findPage(7L, 5, Lote::getNumeroDeItens));
+        assertTrue(driver.findPage(LoteMapeadoRepository.REGISTROS_POR_BLOCO + 1L, 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Pagina pelos ids ocupados, também depois de reabrir o arquivo")
+    void paginaDepoisDeReabrir() throws IOException {
+        // Arrange
+        long distante = 3L * LoteMapeadoRepository.REGISTROS_POR_BLOCO + 5;
+        driver.save(Lote.builder().id(1L).numeroDeItens(1).build());
+        driver.save(Lote.builder().id(2L).numeroDeItens(2).build());
+        driver.save(Lote.builder().id(distante).numeroDeItens(3).build());
+        driver.delete(Lote.builder().id(2L).build());
+        driver.close();
+
+        // Act
+        driver = abrir();
+
+        // Assert
+        assertEquals(List.of(1L, distante), driver.findPage(null, 5).stream().map(Lote::getId).toList());
+        assertEquals(List.of(3), driver.findPage(1L, 1, Lote::getNumeroDeItens));
+        driver.deleteAll();
+        assertTrue(driver.findPage(null, 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reconstrói o estoque por produto ao reabrir o arquivo")
+    void reconstroiEstoque() throws IOException {
+        // Arrange
+        driver.save(Lote.builder().produto(produtos.find(1L)).numeroDeItens(10).build());
+        driver.save(Lote.builder().produto(produtos.find(1L)).numeroDeItens(20).build());
+        driver.save(Lote.builder().produto(produtos.find(2L)).numeroDeItens(30).build());
+        driver.update(Lote.builder().id(3L).produto(produtos.find(1L)).numeroDeItens(40).build());
+        driver.alterarItens(1L, -5);
+
+        // Act
+        driver.close();
+        driver = abrir();
+
+        // Assert
+        assertEquals(65, driver.totalDeItens(1L));
+        assertEquals(3, driver.quantidadeDeLotes(1L));
+        assertEquals(0, driver.totalDeItens(2L));
+        assertEquals(0, driver.quantidadeDeLotes(2L));
+    }
+
+    @Test
+    @DisplayName("Recupera registros deixados com versão ímpar por uma escrita interrompida")
+    void recuperaEscritaInterrompida() throws IOException {
+        // Arrange
+        driver.save(Lote.builder().produto(produtos.find(1L)).numeroDeItens(10).build());
+        driver.save(Lote.builder().produto(produtos.find(2L)).numeroDeItens(20).build());
+        driver.close();
+        try (FileChannel canal = FileChannel.open(diretorio.resolve("lotes.dat"), StandardOpenOption.WRITE)) {
+            // Lote 1 com a versão ímpar, como se a escrita tivesse parado antes de liberá-lo.
+            escrever(canal, registro(1L), registro(1, 10, 1L, 1L));
+            // Lote 3 pela metade: versão ímpar e id que não corresponde à posição.
+            escrever(canal, registro(3L), registro(3, 30, 99L, 2L));
+        }
+
+        // Act
+        driver = assertTimeoutPreemptively(Duration.ofSeconds(10), this::abrir);
+
+        // Assert
+        assertEquals(10, driver.find(1L).getNumeroDeItens());
+        assertNull(driver.find(3L));
+        assertEquals(2, driver.quantidade());
+        assertEquals(10, driver.totalDeItens(1L));
+        assertEquals(9, assertTimeoutPreemptively(Duration.ofSeconds(10), () -> driver.alterarItens(1L, -1)));
+        assertEquals(3L, driver.save(Lote.builder().numeroDeItens(1).build()).getId());
+    }
+
+    @Test
+    @DisplayName("Recusa gerar ids além do máximo")
+    void recusaIdGeradoAlemDoMaximo() throws IOException {
+        // Arrange
+        driver.close();
+        try (FileChannel canal = FileChannel.open(diretorio.resolve("lotes.dat"), StandardOpenOption.WRITE)) {
+            ByteBuffer proximoId = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN)
+                    .putLong(LoteMapeadoRepository.MAXIMO_ID).flip();
+            canal.write(proximoId, 8);
+        }
+        driver = abrir();
+        Lote lote = Lote.builder().numeroDeItens(1).build();
+
+        // Act
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> driver.save(lote));
+
+        // Assert
+        assertEquals("Id de lote inválido!", thrown.getMessage());
+        assertNull(lote.getId());
+        assertEquals(0, driver.quantidade());
+    }
+
+    @Test
+    @DisplayName("Leituras concorrentes nunca veem um registro pela metade")
+    void leiturasConcorrentes() throws Exception {
+        // Arrange
+        driver.save(Lote.builder().id(1L).produto(produtos.find(1L)).numeroDeItens(1).build());
+        AtomicBoolean parar = new AtomicBoolean();
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 2; t++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < 100_000; i++) {
+                        long produto = i % 3 + 1;
+                        driver.save(Lote.builder().id(1L)
+                                .produto(produtos.find(produto)).numeroDeItens((int) produto).build());
+                    }
+                    parar.set(true);
+                }));
+            }
+            for (int t = 0; t < 2; t++) {
+                tarefas.add(executor.submit(() -> {
+                    while (!parar.get()) {
+                        Lote lote = driver.find(1L);
+                        assertEquals(lote.getProduto().getId(), (long) lote.getNumeroDeItens());
+                    }
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+
+        // Assert
+        assertEquals(1, driver.quantidade());
+    }
+
+    @Test
+    @DisplayName("Alterações simultâneas de itens não se perdem nem deixam o lote negativo")
+    void alteraItensConcorrentemente() throws Exception {
+        // Arrange
+        driver.save(Lote.builder().id(1L).produto(produtos.find(1L)).numeroDeItens(10_000).build());
+        List<Future<Integer>> tarefas = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                tarefas.add(executor.submit(() -> {
+                    int retirados = 0;
+                    for (int i = 0; i < 2_000; i++) {
+                        if (driver.alterarItens(1L, -1) >= 0) {
+                            retirados++;
+                        }
+                    }
+                    return retirados;
+                }));
+            }
+            int retirados = 0;
+            for (Future<Integer> tarefa : tarefas) {
+                retirados += tarefa.get();
+            }
+
+            // Assert
+            assertEquals(10_000, retirados);
+        }
+        assertEquals(0, driver.find(1L).getNumeroDeItens());
+        assertEquals(produtos.find(1L), driver.find(1L).getProduto());
+        assertEquals(-1, driver.alterarItens(1L, -1));
+        assertEquals(-1, driver.alterarItens(2L, 1));
+    }
+
+    private static long registro(long id) {
+        return LoteMapeadoRepository.CABECALHO + (id - 1) * LoteMapeadoRepository.TAMANHO_REGISTRO;
+    }
+
+    // [versão][itens][id][id do produto], como em LoteMapeadoRepository.
+    private static ByteBuffer registro(int versao, int itens, long id, long produtoId) {
+        return ByteBuffer.allocate(LoteMapeadoRepository.TAMANHO_REGISTRO).order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(versao)
+                .putInt(itens)
+                .putLong(id)
+                .putLong(produtoId)
+                .flip();
+    }
+
+    private static void escrever(FileChannel canal, long posicao, ByteBuffer conteudo) throws IOException {
+        while (conteudo.hasRemaining()) {
+            posicao += canal.write(conteudo, posicao);
+        }
+    }
+
+    private LoteMapeadoRepository abrir() throws IOException {
+        LoteMapeadoRepository repository = new LoteMapeadoRepository(diretorio.resolve("lotes.dat").toString());
+        repository.produtoRepository = produtos;
+        return repository;
+    }
+}
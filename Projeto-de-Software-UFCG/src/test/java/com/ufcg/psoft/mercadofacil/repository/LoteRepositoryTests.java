@@ -98,6 +98,7 @@ class LoteRepositoryTests {
 
     @AfterEach
     void tearDown() {
+        driver.deleteAll();
         produto = null;
         lote = null;
     }
@@ -149,12 +150,7 @@ class LoteRepositoryTests {
     @Test
     @DisplayName("Encontra todos os lotes de produtos no repositório")
     void encontraTodosLotes() {
-        try {
-            Lote resultado = driver.find(2L);
-            fail("IndexOutOfBoundsException");
-        } catch (IndexOutOfBoundsException e) {
-            assertTrue(true);
-        }
+        assertNull(driver.find(2L));
 
         Lote[] lotes = {lote, miguel, mateus, sergio, evaldo, gabriel, emile};
         List<Lote> result = new ArrayList<>();
@@ -171,16 +167,22 @@ class LoteRepositoryTests {
             produtos[i] = lotes[i].getProduto().getNome();
         }
 
+        // findAll devolve os lotes em ordem de id, não na ordem em que foram salvos.
+        List<Lote> todos = driver.findAll();
         boolean igual = true;
 
         for (int ii = 0; ii < 7; ii ++) {
-            if (driver.findAll().get(ii).getId().equals(result.get(ii).getId())) {
+            Lote encontrado = driver.find(ids[ii]);
+            if (!todos.contains(encontrado)) {
                 igual = false;
             }
-            if (driver.findAll().get(ii).getNumeroDeItens() == (result.get(ii).getNumeroDeItens())) {
+            if (!encontrado.getId().equals(result.get(ii).getId())) {
                 igual = false;
             }
-            if (driver.findAll().get(ii).getProduto().getNome().equals(result.get(ii).getProduto().getNome())) {
+            if (encontrado.getNumeroDeItens() != numItens[ii]) {
+                igual = false;
+            }
+            if (!encontrado.getProduto().getNome().equals(produtos[ii])) {
                 igual = false;
             }
         }
@@ -197,18 +199,111 @@ class LoteRepositoryTests {
         assertEquals(driver.findAll().size(), 0);
         Lote[] result = {driver.save(miguel), driver.save(mateus)};
         assertEquals(driver.findAll().size(), 2);
-        assertEquals(driver.find(miguel.getId()), result[0].getId());
-        assertEquals(driver.find(mateus.getId()), result[1].getId());
+        assertEquals(driver.find(miguel.getId()).getId(), result[0].getId());
+        assertEquals(driver.find(mateus.getId()).getId(), result[1].getId());
 
-        resultado = driver.update(sergio);
-        assertEquals(driver.findAll().size(), 1);
-        assertEquals(sergio.getId(), resultado.getId());
+        mateus.setNumeroDeItens(115);
+        resultado = driver.update(mateus);
+        assertEquals(driver.findAll().size(), 2);
+        assertEquals(mateus.getId(), resultado.getId());
+        assertEquals(115, driver.find(mateus.getId()).getNumeroDeItens());
+        assertEquals(105, driver.find(miguel.getId()).getNumeroDeItens());
 
         Lote resultado = driver.update(evaldo);
-        assertEquals(driver.findAll().size(), 1);
+        assertEquals(driver.findAll().size(), 3);
         assertEquals(evaldo.getId(), resultado.getId());
     }
 
+    @Test
+    @DisplayName("Gera ids distintos para lotes salvos concorrentemente")
+    void salvaLotesConcorrentemente() throws InterruptedException {
+        // Arrange
+        int threads = 8;
+        int lotesPorThread = 1000;
+        Thread[] escritores = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            escritores[t] = new Thread(() -> {
+                for (int i = 0; i < lotesPorThread; i++) {
+                    driver.save(Lote.builder().produto(manga).numeroDeItens(i).build());
+                }
+            });
+        }
+
+        // Act
+        for (Thread escritor : escritores) {
+            escritor.start();
+        }
+        for (Thread escritor : escritores) {
+            escritor.join();
+        }
+
+        // Assert
+        List<Lote> todos = driver.findAll();
+        assertEquals(threads * lotesPorThread, todos.size());
+        assertEquals(threads * lotesPorThread, todos.stream().map(Lote::getId).distinct().count());
+        for (Lote salvo : todos) {
+            assertSame(salvo, driver.find(salvo.getId()));
+        }
+    }
+
+    @Test
+    @DisplayName("Mantém o estoque de cada produto a cada escrita")
+    void mantemEstoquePorProduto() {
+        // Arrange
+        driver.save(lote);
+        driver.save(miguel);
+        driver.save(mateus);
+
+        // Act
+        mateus.setNumeroDeItens(115);
+        driver.update(mateus);
+        driver.update(Lote.builder().id(7L).produto(produto).numeroDeItens(5).build());
+        driver.alterarItens(1L, -30);
+        driver.delete(sergio);
+
+        // Assert
+        assertEquals(75, driver.totalDeItens(1L));
+        assertEquals(2, driver.quantidadeDeLotes(1L));
+        assertEquals(115, driver.totalDeItens(2L));
+        assertEquals(1, driver.quantidadeDeLotes(2L));
+        assertEquals(0, driver.totalDeItens(99L));
+    }
+
+    @Test
+    @DisplayName("O estoque do produto não perde alterações concorrentes de itens e de lotes")
+    void mantemEstoqueConcorrentemente() throws InterruptedException {
+        // Arrange
+        for (long id = 1; id <= 8; id++) {
+            driver.save(Lote.builder().id(id).produto(manga).numeroDeItens(1000).build());
+        }
+        Thread[] escritores = new Thread[8];
+        for (int t = 0; t < escritores.length; t++) {
+            long id = t + 1;
+            escritores[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    driver.alterarItens(id % 2 + 1, -1);
+                    if (i % 100 == 0) {
+                        Lote atual = driver.find(id);
+                        driver.update(Lote.builder().id(id).produto(manga)
+                                .numeroDeItens(atual.getNumeroDeItens()).build());
+                    }
+                }
+            });
+        }
+
+        // Act
+        for (Thread escritor : escritores) {
+            escritor.start();
+        }
+        for (Thread escritor : escritores) {
+            escritor.join();
+        }
+
+        // Assert
+        long soma = driver.findAll().stream().mapToLong(Lote::getNumeroDeItens).sum();
+        assertEquals(soma, driver.totalDeItens(2L));
+        assertEquals(8, driver.quantidadeDeLotes(2L));
+    }
 
     @Test
     @DisplayName("Deleta 1 lote de produtos no repositório")
@@ -0,0 +1,142 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do cache de Produtos")
+class ProdutoCacheRepositoryTests {
+
+    ContadorRepository repositorio;
+
+    ProdutoCacheRepository driver;
+
+    @BeforeEach
+    void setUp() {
+        repositorio = new ContadorRepository();
+        for (long id = 1; id <= 100; id++) {
+            repositorio.save(produto(id, 10.0));
+        }
+        driver = new ProdutoCacheRepository(repositorio, 10);
+    }
+
+    @Test
+    @DisplayName("Busca no repositório apenas na primeira leitura")
+    void buscaUmaVez() {
+        // Act
+        driver.find(1L);
+        driver.find(1L);
+        driver.find(1L);
+
+        // Assert
+        assertEquals(1, repositorio.leituras.get());
+        assertEquals(2, driver.estatisticas().hitCount());
+        assertEquals(1, driver.estatisticas().missCount());
+    }
+
+    @Test
+    @DisplayName("Invalida o produto alterado ou removido")
+    void invalidaNaEscrita() {
+        // Arrange
+        driver.find(1L);
+        driver.find(2L);
+
+        // Act
+        driver.update(produto(1L, 99.0));
+        driver.delete(Produto.builder().id(2L).build());
+
+        // Assert
+        assertEquals(99.0, driver.find(1L).getPreco());
+        assertNull(driver.find(2L));
+        assertEquals(4, repositorio.leituras.get());
+    }
+
+    @Test
+    @DisplayName("Alterações no produto retornado não afetam o cache")
+    void retornaCopia() {
+        // Arrange
+        driver.find(1L).setPreco(-1.0);
+
+        // Act
+        Produto encontrado = driver.find(1L);
+
+        // Assert
+        assertEquals(10.0, encontrado.getPreco());
+    }
+
+    @Test
+    @DisplayName("Agrupa leituras simultâneas do mesmo produto ausente")
+    void agrupaFaltasSimultaneas() throws Exception {
+        // Arrange
+        repositorio.atraso = new CountDownLatch(1);
+        List<Future<Produto>> leituras = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                leituras.add(executor.submit(() -> driver.find(1L)));
+            }
+            Thread.sleep(100);
+            repositorio.atraso.countDown();
+            for (Future<Produto> leitura : leituras) {
+                assertEquals(1L, leitura.get().getId());
+            }
+        }
+
+        // Assert
+        assertEquals(1, repositorio.leituras.get());
+    }
+
+    @Test
+    @DisplayName("Remove produtos ao atingir o tamanho máximo")
+    void removePorTamanho() {
+        // Act
+        for (long id = 1; id <= 100; id++) {
+            driver.find(id);
+        }
+        driver.getCache().cleanUp();
+
+        // Assert
+        assertTrue(driver.tamanho() <= 10);
+        assertTrue(driver.estatisticas().evictionCount() >= 90);
+    }
+
+    private static Produto produto(long id, double preco) {
+        return Produto.builder()
+                .id(id)
+                .nome("Produto " + id)
+                .codigoBarra(String.valueOf(7_899_137_000_000L + id * 10))
+                .fabricante("Empresa Um")
+                .preco(preco)
+                .build();
+    }
+
+    static class ContadorRepository extends ProdutoVolatilRepository {
+        final AtomicInteger leituras = new AtomicInteger();
+        volatile CountDownLatch atraso;
+
+        @Override
+        public Produto find(Long id) {
+            leituras.incrementAndGet();
+            if (atraso != null) {
+                try {
+                    atraso.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.find(id);
+        }
+    }
+}
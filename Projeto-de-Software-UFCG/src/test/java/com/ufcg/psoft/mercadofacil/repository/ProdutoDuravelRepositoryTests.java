@@ -0,0 +1,264 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.repository.persistencia.Diario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do repositório durável de Produtos")
+class ProdutoDuravelRepositoryTests {
+
+    @TempDir
+    Path diretorio;
+
+    ProdutoDuravelRepository driver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        driver = abrir(1_000_000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (driver != null) {
+            driver.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Recupera produtos salvos, alterados e removidos ao reabrir")
+    void recuperaDoDiario() throws IOException {
+        // Arrange
+        driver.save(produto(1L, "7899137500100", "Empresa Um"));
+        driver.save(produto(2L, "7899137500117", "Empresa Um"));
+        driver.save(produto(1L, "7899137500124", "Empresa Dois"));
+        driver.delete(Produto.builder().id(2L).build());
+
+        // Act
+        driver = reabrir(1_000_000);
+
+        // Assert
+        assertEquals(1, driver.findAll().size());
+        assertEquals("Empresa Dois", driver.find(1L).getFabricante());
+        assertNull(driver.findByCodigoBarra("7899137500100"));
+        assertEquals(1L, driver.findByCodigoBarra("7899137500124").getId());
+        assertEquals(4, driver.getArmazenamento().getRegistrosRecuperados());
+    }
+
+    @Test
+    @DisplayName("Recupera do instantâneo e reaplica apenas o final do diário")
+    void recuperaDoInstantaneo() throws IOException {
+        // Arrange
+        for (long id = 1; id <= 100; id++) {
+            driver.save(produto(id, codigoBarra(id), "Empresa Um"));
+        }
+        driver.getArmazenamento().instantaneo();
+        driver.save(produto(101L, codigoBarra(101), "Empresa Um"));
+        driver.deleteAll();
+        driver.save(produto(102L, codigoBarra(102), "Empresa Um"));
+
+        // Act
+        driver = reabrir(1_000_000);
+
+        // Assert
+        assertEquals(List.of(102L), driver.findAll().stream().map(Produto::getId).toList());
+        assertEquals(103, driver.getArmazenamento().getRegistrosRecuperados());
+        assertEquals(2L, Diario.segmentos(diretorio, "produtos").get(0));
+    }
+
+    @Test
+    @DisplayName("Reconstrói os índices quando um código de barras troca de produto")
+    void trocaCodigoBarraEntreProdutos() throws IOException {
+        // Arrange
+        driver.save(produto(1L, "7899137500100", "Empresa Um"));
+        driver.getArmazenamento().instantaneo();
+        driver.save(produto(1L, "7899137500117", "Empresa Um"));
+        driver.save(produto(2L, "7899137500100", "Empresa Um"));
+
+        // Act
+        driver = reabrir(1_000_000);
+
+        // Assert
+        assertEquals(2L, driver.findByCodigoBarra("7899137500100").getId());
+        assertEquals(1L, driver.findByCodigoBarra("7899137500117").getId());
+        assertEquals(2, driver.findByFabricante("Empresa Um").size());
+    }
+
+    @Test
+    @DisplayName("Ignora um registro incompleto no final do diário")
+    void ignoraRegistroIncompleto() throws IOException {
+        // Arrange
+        driver.save(produto(1L, "7899137500100", "Empresa Um"));
+        driver.close();
+        Path segmento = Diario.caminho(diretorio, "produtos", Diario.segmentos(diretorio, "produtos").get(0));
+        Files.write(segmento, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        // Act
+        driver = abrir(1_000_000);
+
+        // Assert
+        assertEquals(1, driver.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Ignora um segmento criado sem cabeçalho completo")
+    void ignoraSegmentoSemCabecalho() throws IOException {
+        // Arrange
+        driver.save(produto(1L, "7899137500100", "Empresa Um"));
+        driver.close();
+        long ultimo = Diario.segmentos(diretorio, "produtos").get(0);
+        Files.write(Diario.caminho(diretorio, "produtos", ultimo + 1), new byte[]{0x4D, 0x46});
+
+        // Act
+        driver = abrir(1_000_000);
+
+        // Assert
+        assertEquals(1, driver.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Recusa um diário gravado com outra versão do esquema")
+    void recusaDiarioDeOutraVersao() throws IOException {
+        // Arrange
+        driver.save(produto(1L, "7899137500100", "Empresa Um"));
+        driver.close();
+        Path segmento = Diario.caminho(diretorio, "produtos", Diario.segmentos(diretorio, "produtos").get(0));
+        alterarByte(segmento, 5, (byte) 99);
+
+        // Act
+        IOException thrown = assertThrows(IOException.class, () -> abrir(1_000_000));
+
+        // Assert
+        assertTrue(thrown.getMessage().startsWith("Segmento do diário em formato desconhecido"));
+        driver = null;
+    }
+
+    @Test
+    @DisplayName("Recusa um instantâneo gravado com outra versão do esquema")
+    void recusaInstantaneoDeOutraVersao() throws IOException {
+        // Arrange
+        driver.save(produto(1L, "7899137500100", "Empresa Um"));
+        driver.getArmazenamento().instantaneo();
+        driver.close();
+        alterarByte(diretorio.resolve("produtos.snapshot"), 5, (byte) 99);
+
+        // Act
+        IOException thrown = assertThrows(IOException.class, () -> abrir(1_000_000));
+
+        // Assert
+        assertTrue(thrown.getMessage().startsWith("Instantâneo em formato desconhecido"));
+        driver = null;
+    }
+
+    @Test
+    @DisplayName("Escritas concorrentes compartilham sincronizações com o disco")
+    void agrupaEscritasConcorrentes() throws Exception {
+        // Arrange
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (long id = 1; id <= 2_000; id++) {
+                long atual = id;
+                tarefas.add(executor.submit(() -> driver.save(produto(atual, codigoBarra(atual), "Empresa Um"))));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+
+        // Assert
+        Diario diario = driver.getArmazenamento().getDiario();
+        assertEquals(2_000, diario.getRegistrosGravados());
+        assertTrue(diario.getSincronizacoes() < 2_000);
+        assertEquals(2_000, reabrir(1_000_000).findAll().size());
+    }
+
+    @Test
+    @DisplayName("Grava instantâneos automaticamente e descarta segmentos antigos")
+    void instantaneoAutomatico() throws Exception {
+        // Arrange
+        driver.close();
+        driver = abrir(100);
+
+        // Act
+        for (long id = 1; id <= 1_000; id++) {
+            driver.save(produto(id, codigoBarra(id), "Empresa Um"));
+        }
+        driver = reabrir(100);
+
+        // Assert
+        assertEquals(1_000, driver.findAll().size());
+        assertTrue(Files.exists(diretorio.resolve("produtos.snapshot")));
+        assertTrue(Diario.segmentos(diretorio, "produtos").size() < 10);
+    }
+
+    @Test
+    @DisplayName("Um instantâneo que falha é informado e não interrompe as escritas")
+    void informaFalhaDoInstantaneo() throws Exception {
+        // Arrange
+        driver.close();
+        driver = abrir(10);
+        Files.createDirectories(diretorio.resolve("produtos.snapshot.tmp").resolve("bloqueio"));
+
+        // Act
+        for (long id = 1; id <= 20; id++) {
+            driver.save(produto(id, codigoBarra(id), "Empresa Um"));
+        }
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (driver.getArmazenamento().getFalhaInstantaneo() == null && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertNotNull(driver.getArmazenamento().getFalhaInstantaneo());
+        assertFalse(Files.exists(diretorio.resolve("produtos.snapshot")));
+        assertEquals(20, reabrir(1_000_000).findAll().size());
+    }
+
+    private static void alterarByte(Path arquivo, int posicao, byte valor) throws IOException {
+        byte[] conteudo = Files.readAllBytes(arquivo);
+        conteudo[posicao] = valor;
+        Files.write(arquivo, conteudo);
+    }
+
+    private ProdutoDuravelRepository abrir(long registrosPorInstantaneo) throws IOException {
+        return new ProdutoDuravelRepository(diretorio.toString(), registrosPorInstantaneo);
+    }
+
+    private ProdutoDuravelRepository reabrir(long registrosPorInstantaneo) throws IOException {
+        driver.close();
+        driver = abrir(registrosPorInstantaneo);
+        return driver;
+    }
+
+    private static Produto produto(long id, String codigoBarra, String fabricante) {
+        return Produto.builder()
+                .id(id)
+                .codigoBarra(codigoBarra)
+                .nome("Produto " + id)
+                .fabricante(fabricante)
+                .preco(10.0 + id)
+                .build();
+    }
+
+    private static String codigoBarra(long id) {
+        return String.valueOf(7_899_137_000_000L + id * 10);
+    }
+}
@@ -0,0 +1,197 @@
+package com.ufcg.psoft.mercadofacil.repository;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do repositório de Produtos")
+class ProdutoRepositoryTests {
+
+    ProdutoRepository<Produto, Long> driver;
+
+    Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        driver = new ProdutoVolatilRepository();
+        produto = Produto.builder()
+                .id(10L)
+                .codigoBarra("7899137500104")
+                .nome("Produto Dez")
+                .fabricante("Empresa Dez")
+                .preco(450.00)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.deleteAll();
+        produto = null;
+    }
+
+    @Test
+    @DisplayName("Encontra o produto salvo pelo id e pelo código de barras")
+    void encontraProdutoSalvo() {
+        // Act
+        driver.save(produto);
+
+        // Assert
+        assertEquals(produto, driver.find(10L));
+        assertEquals(produto, driver.findByCodigoBarra("7899137500104"));
+        assertEquals(1, driver.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Gera id para o produto salvo sem id")
+    void geraIdParaProdutoSemId() {
+        // Arrange
+        driver.save(produto);
+        Produto semId = Produto.builder()
+                .codigoBarra("7899137500111")
+                .nome("Produto Onze")
+                .fabricante("Empresa Dez")
+                .preco(10.00)
+                .build();
+
+        // Act
+        Produto resultado = driver.save(semId);
+
+        // Assert
+        assertEquals(11L, resultado.getId());
+        assertEquals(2, driver.findByFabricante("Empresa Dez").size());
+    }
+
+    @Test
+    @DisplayName("Alterar o produto devolvido não altera o repositório")
+    void alteracaoExternaNaoAfetaRepositorio() {
+        // Arrange
+        Produto salvo = driver.save(produto);
+
+        // Act
+        salvo.setFabricante("Empresa Onze");
+
+        // Assert
+        assertEquals("Empresa Dez", driver.find(10L).getFabricante());
+        assertTrue(driver.findByFabricante("Empresa Onze").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Atualiza os índices de código de barras e fabricante")
+    void atualizaIndicesSecundarios() {
+        // Arrange
+        driver.save(produto);
+        produto.setCodigoBarra("7899137550604");
+        produto.setFabricante("Empresa Dez Alterado");
+
+        // Act
+        driver.update(produto);
+
+        // Assert
+        assertNull(driver.findByCodigoBarra("7899137500104"));
+        assertEquals(10L, driver.findByCodigoBarra("7899137550604").getId());
+        assertTrue(driver.findByFabricante("Empresa Dez").isEmpty());
+        List<Produto> resultado = driver.findByFabricante("Empresa Dez Alterado");
+        assertEquals(1, resultado.size());
+    }
+
+    @Test
+    @DisplayName("Recusa código de barras já cadastrado para outro produto")
+    void recusaCodigoBarraDuplicado() {
+        // Arrange
+        driver.save(produto);
+        Produto outro = produto.toBuilder().id(11L).build();
+
+        // Act
+        CodigoBarraDuplicadoException thrown = assertThrows(
+                CodigoBarraDuplicadoException.class,
+                () -> driver.save(outro)
+        );
+
+        // Assert
+        assertEquals("Código de barras já cadastrado!", thrown.getMessage());
+        assertNull(driver.find(11L));
+    }
+
+    @Test
+    @DisplayName("Remove o produto e suas entradas nos índices")
+    void removeProduto() {
+        // Arrange
+        driver.save(produto);
+
+        // Act
+        driver.delete(produto);
+
+        // Assert
+        assertNull(driver.find(10L));
+        assertNull(driver.findByCodigoBarra("7899137500104"));
+        assertTrue(driver.findByFabricante("Empresa Dez").isEmpty());
+        assertTrue(driver.findAll().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Busca produtos por trechos do nome e do fabricante")
+    void buscaPorTexto() {
+        // Arrange
+        driver.save(produto);
+        driver.save(produto.toBuilder().id(11L).codigoBarra("7899137500111").nome("Produto Onze").build());
+        driver.save(produto.toBuilder().id(12L).codigoBarra("7899137500128").nome("Caneta Azul").build());
+
+        // Act
+        driver.update(produto.toBuilder().nome("Caderno").build());
+
+        // Assert
+        assertEquals(List.of(11L), driver.findByTexto("produto", null, 10).stream().map(Produto::getId).toList());
+        assertEquals(List.of(10L, 12L), driver.findByTexto("ca empresa", null, 10).stream().map(Produto::getId).toList());
+        assertEquals(List.of(12L), driver.findByTexto("ca", 10L, 10).stream().map(Produto::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Atualiza apenas na versão esperada")
+    void atualizaNaVersaoEsperada() {
+        // Arrange
+        Produto salvo = driver.save(produto);
+        Produto alterado = produto.toBuilder().preco(500.00).build();
+
+        // Act
+        Produto atualizado = driver.update(alterado, salvo.getVersao());
+        Produto repetido = driver.update(alterado, salvo.getVersao());
+        Produto desatualizado = driver.update(produto.toBuilder().preco(1.00).build(), salvo.getVersao());
+
+        // Assert
+        assertEquals(1L, salvo.getVersao());
+        assertEquals(2L, atualizado.getVersao());
+        assertEquals(2L, repetido.getVersao());
+        assertNull(desatualizado);
+        assertNull(driver.update(produto.toBuilder().id(99L).build(), 1L));
+        assertEquals(500.00, driver.find(10L).getPreco());
+        assertEquals(2L, driver.save(alterado).getVersao());
+    }
+
+    @Test
+    @DisplayName("Pagina os produtos em ordem de id a partir do cursor")
+    void paginaProdutos() {
+        // Arrange
+        for (long id = 1; id <= 25; id++) {
+            driver.save(produto.toBuilder().id(id).codigoBarra(String.valueOf(7_899_137_000_000L + id)).preco(id).build());
+        }
+        driver.delete(produto.toBuilder().id(12L).build());
+
+        // Act
+        List<Produto> primeira = driver.findPage(null, 10);
+        List<Double> segunda = driver.findPage(10L, 10, Produto::getPreco);
+        primeira.get(0).setPreco(-1.0);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), primeira.stream().map(Produto::getId).toList());
+        assertEquals(List.of(11.0, 13.0, 14.0, 15.0, 16.0, 17.0, 18.0, 19.0, 20.0, 21.0), segunda);
+        assertEquals(4, driver.findPage(21L, 10).size());
+        assertTrue(driver.findPage(25L, 10).isEmpty());
+        assertEquals(1.0, driver.find(1L).getPreco());
+    }
+}
@@ -0,0 +1,89 @@
+package com.ufcg.psoft.mercadofacil.repository.indice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do conjunto compacto de valores long")
+class ConjuntoLongCompactoTests {
+
+    ConjuntoLongCompacto driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = new ConjuntoLongCompacto();
+    }
+
+    @Test
+    @DisplayName("Percorre os valores em ordem, com páginas esparsas e densas")
+    void percorreEmOrdem() {
+        // Arrange
+        TreeSet<Long> esperado = new TreeSet<>();
+        Random aleatorio = new Random(11);
+        for (int i = 0; i < 50_000; i++) {
+            long valor = i % 2 == 0 ? aleatorio.nextInt(8192) : aleatorio.nextInt(10_000_000) - 5000L;
+            assertEquals(esperado.add(valor), driver.add(valor));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            long valor = aleatorio.nextInt(8192);
+            assertEquals(esperado.remove(valor), driver.remove(valor));
+        }
+
+        // Act
+        List<Long> resultado = todos(Long.MIN_VALUE);
+
+        // Assert
+        assertEquals(List.copyOf(esperado), resultado);
+        assertEquals(esperado.size(), driver.size());
+        assertEquals(List.copyOf(esperado.tailSet(4000L, false)), todos(4000L));
+        for (int i = 0; i < 1000; i++) {
+            long valor = aleatorio.nextInt(8192);
+            assertEquals(esperado.contains(valor), driver.contains(valor));
+        }
+    }
+
+    @Test
+    @DisplayName("Passa de array a mapa de bits e volta conforme a página enche e esvazia")
+    void trocaRepresentacaoDaPagina() {
+        // Arrange
+        for (int valor = 0; valor < ConjuntoLongCompacto.LIMITE_ARRAY; valor++) {
+            driver.add(valor * 2L);
+        }
+        long comArray = driver.bytes();
+
+        // Act
+        driver.add(1L);
+        long comBits = driver.bytes();
+        for (int valor = 0; valor < ConjuntoLongCompacto.LIMITE_ARRAY; valor++) {
+            driver.remove(valor * 2L);
+        }
+
+        // Assert
+        assertTrue(comBits > comArray);
+        assertEquals(List.of(1L), todos(Long.MIN_VALUE));
+        assertTrue(driver.bytes() < comArray);
+        driver.remove(1L);
+        assertEquals(0, driver.size());
+        assertEquals(List.of(), todos(Long.MIN_VALUE));
+    }
+
+    private List<Long> todos(long depoisDe) {
+        List<Long> valores = new ArrayList<>();
+        long[] bloco = new long[100];
+        int lidos;
+        while ((lidos = driver.proximos(depoisDe, bloco)) > 0) {
+            for (int i = 0; i < lidos; i++) {
+                valores.add(bloco[i]);
+            }
+            depoisDe = bloco[lidos - 1];
+        }
+        return valores;
+    }
+}
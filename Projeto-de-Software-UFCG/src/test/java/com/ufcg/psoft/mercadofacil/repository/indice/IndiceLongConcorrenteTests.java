@@ -0,0 +1,93 @@
+package com.ufcg.psoft.mercadofacil.repository.indice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do índice concorrente de chaves long")
+class IndiceLongConcorrenteTests {
+
+    IndiceLongConcorrente<String> driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = new IndiceLongConcorrente<>(4);
+    }
+
+    @Test
+    @DisplayName("Insere, substitui e remove apenas a chave informada")
+    void insereSubstituiRemove() {
+        // Arrange
+        driver.put(1L, "um");
+        driver.put(2L, "dois");
+
+        // Act
+        String anterior = driver.put(1L, "UM");
+        String removido = driver.remove(2L);
+
+        // Assert
+        assertEquals("um", anterior);
+        assertEquals("dois", removido);
+        assertEquals("UM", driver.get(1L));
+        assertNull(driver.get(2L));
+        assertEquals(1, driver.size());
+    }
+
+    @Test
+    @DisplayName("Mantém a consistência após muitas inserções e remoções aleatórias")
+    void operacoesAleatorias() {
+        // Arrange
+        Map<Long, String> esperado = new HashMap<>();
+        Random aleatorio = new Random(42);
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            long chave = aleatorio.nextInt(5_000) - 2_500L;
+            if (aleatorio.nextBoolean()) {
+                assertEquals(esperado.put(chave, "v" + i), driver.put(chave, "v" + i));
+            } else {
+                assertEquals(esperado.remove(chave), driver.remove(chave));
+            }
+        }
+
+        // Assert
+        assertEquals(esperado.size(), driver.size());
+        esperado.forEach((chave, valor) -> assertEquals(valor, driver.get(chave)));
+    }
+
+    @Test
+    @DisplayName("Não perde escritas concorrentes em chaves distintas")
+    void escritasConcorrentes() throws InterruptedException {
+        // Arrange
+        int threads = 8;
+        int chavesPorThread = 20_000;
+        Thread[] escritores = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * chavesPorThread;
+            escritores[t] = new Thread(() -> {
+                for (long i = base; i < base + chavesPorThread; i++) {
+                    driver.put(i, "v" + i);
+                    assertEquals("v" + i, driver.get(i));
+                }
+            });
+        }
+
+        // Act
+        for (Thread escritor : escritores) {
+            escritor.start();
+        }
+        for (Thread escritor : escritores) {
+            escritor.join();
+        }
+
+        // Assert
+        assertEquals(threads * chavesPorThread, driver.size());
+        assertEquals(threads * chavesPorThread, driver.values().size());
+    }
+}
@@ -0,0 +1,81 @@
+package com.ufcg.psoft.mercadofacil.repository.indice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do índice ordenado de chaves long")
+class IndiceLongOrdenadoTests {
+
+    IndiceLongOrdenado<String> driver;
+
+    @BeforeEach
+    void setUp() {
+        driver = new IndiceLongOrdenado<>();
+    }
+
+    @Test
+    @DisplayName("Percorre os valores em ordem crescente de chave")
+    void percorreEmOrdem() {
+        // Arrange
+        TreeMap<Long, String> esperado = new TreeMap<>();
+        Random aleatorio = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            long chave = aleatorio.nextInt(1_000_000) - 10_000L;
+            esperado.put(chave, "v" + chave);
+            driver.put(chave, "v" + chave);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            long chave = aleatorio.nextInt(1_000_000) - 10_000L;
+            esperado.remove(chave);
+            driver.remove(chave);
+        }
+
+        // Act
+        List<String> resultado = driver.values();
+
+        // Assert
+        assertEquals(List.copyOf(esperado.values()), resultado);
+    }
+
+    @Test
+    @DisplayName("Retoma o percurso a partir de uma chave")
+    void retomaAPartirDeUmaChave() {
+        // Arrange
+        for (long chave = 1; chave <= 10_000; chave += 3) {
+            driver.put(chave, "v" + chave);
+        }
+        driver.put(1L << 40, "distante");
+
+        // Act
+        List<String> resultado = driver.stream(4_096L).limit(3).collect(Collectors.toList());
+        List<String> cauda = driver.stream(9_999L).collect(Collectors.toList());
+
+        // Assert
+        assertEquals(List.of("v4099", "v4102", "v4105"), resultado);
+        assertEquals(List.of("v10000", "distante"), cauda);
+    }
+
+    @Test
+    @DisplayName("Não devolve valores removidos")
+    void naoDevolveRemovidos() {
+        // Arrange
+        driver.put(1L, "um");
+        driver.put(2L, "dois");
+        driver.put(3L, "tres");
+
+        // Act
+        driver.remove(2L);
+
+        // Assert
+        assertEquals(List.of("um", "tres"), driver.values());
+        assertEquals(2, driver.size());
+    }
+}
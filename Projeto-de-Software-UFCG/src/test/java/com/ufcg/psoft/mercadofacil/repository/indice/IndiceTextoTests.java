@@ -0,0 +1,93 @@
+package com.ufcg.psoft.mercadofacil.repository.indice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do índice de texto por trigramas")
+class IndiceTextoTests {
+
+    Map<Long, String> documentos;
+
+    IndiceTexto driver;
+
+    @BeforeEach
+    void setUp() {
+        documentos = new HashMap<>();
+        driver = new IndiceTexto();
+        indexar(1L, "Café Torrado", "Três Corações");
+        indexar(2L, "Café Solúvel", "Nescafé");
+        indexar(3L, "Açúcar Cristal", "União");
+        indexar(4L, "Arroz Branco", "Tio João");
+    }
+
+    @Test
+    @DisplayName("Encontra trechos do nome e do fabricante sem diferenciar acentos e maiúsculas")
+    void encontraTrechos() {
+        // Act & Assert
+        assertArrayEquals(new long[]{1, 2}, buscar("CAFE", Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[]{2}, buscar("café nesca", Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[]{1}, buscar("orac", Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[]{3}, buscar("acucar uniao", Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[]{}, buscar("cafe uniao", Long.MIN_VALUE, 10));
+    }
+
+    @Test
+    @DisplayName("Termos de duas letras casam apenas com o início de uma palavra")
+    void termoCurtoCasaComInicioDePalavra() {
+        // Act & Assert
+        assertArrayEquals(new long[]{4}, buscar("ti", Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[]{}, buscar("io", Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[]{}, buscar("a", Long.MIN_VALUE, 10));
+    }
+
+    @Test
+    @DisplayName("Cada termo pode casar com um campo diferente")
+    void termosEmCamposDiferentes() {
+        // Act & Assert
+        assertArrayEquals(new long[]{1}, buscar("torrado tres", Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[]{}, buscar("torradotres", Long.MIN_VALUE, 10));
+    }
+
+    @Test
+    @DisplayName("Pagina os resultados a partir do último id")
+    void paginaResultados() {
+        // Act
+        long[] primeira = buscar("caf", Long.MIN_VALUE, 1);
+        long[] segunda = buscar("caf", primeira[0], 1);
+        long[] terceira = buscar("caf", segunda[0], 1);
+
+        // Assert
+        assertArrayEquals(new long[]{1}, primeira);
+        assertArrayEquals(new long[]{2}, segunda);
+        assertArrayEquals(new long[]{}, terceira);
+    }
+
+    @Test
+    @DisplayName("Deixa de encontrar o texto anterior após a atualização")
+    void atualizaDocumento() {
+        // Act
+        indexar(2L, "Chá Mate", "Leão");
+        driver.atualizar(4L, documentos.remove(4L), null);
+
+        // Assert
+        assertArrayEquals(new long[]{1}, buscar("cafe", Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[]{2}, buscar("cha leao", Long.MIN_VALUE, 10));
+        assertArrayEquals(new long[]{}, buscar("arroz", Long.MIN_VALUE, 10));
+        assertTrue(driver.bytes() > 0);
+    }
+
+    private void indexar(long id, String nome, String fabricante) {
+        String documento = IndiceTexto.documento(nome, fabricante);
+        driver.atualizar(id, documentos.put(id, documento), documento);
+    }
+
+    private long[] buscar(String consulta, long depoisDe, int limite) {
+        return driver.buscar(consulta, depoisDe, limite, documentos::get);
+    }
+}
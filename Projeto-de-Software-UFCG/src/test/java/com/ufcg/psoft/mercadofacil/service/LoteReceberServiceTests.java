@@ -0,0 +1,132 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.repository.LoteVolatilRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do serviço de recebimento de lotes")
+class LoteReceberServiceTests {
+
+    LoteReceberImplService driver;
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    @DisplayName("Lotes recebidos de várias threads são gravados em grupos e recebem id")
+    void recebeLotesConcorrentes() throws Exception {
+        // Arrange
+        LoteVolatilRepository loteRepository = new LoteVolatilRepository();
+        driver = new LoteReceberImplService(loteRepository, 1024, 64, 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Lote>> recebidos = new ArrayList<>();
+
+        // Act
+        try {
+            List<CompletableFuture<CompletableFuture<Lote>>> envios = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                int itens = i;
+                envios.add(CompletableFuture.supplyAsync(
+                        () -> driver.receber(Lote.builder().numeroDeItens(itens).build()), executor));
+            }
+            for (CompletableFuture<CompletableFuture<Lote>> envio : envios) {
+                recebidos.add(envio.get(10, TimeUnit.SECONDS));
+            }
+            CompletableFuture.allOf(recebidos.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertEquals(2000, loteRepository.findAll().size());
+        for (CompletableFuture<Lote> recebido : recebidos) {
+            Lote lote = recebido.join();
+            assertNotNull(lote.getId());
+            assertSame(lote, loteRepository.find(lote.getId()));
+        }
+        assertEquals(2000, driver.getGravados());
+        assertTrue(driver.getGrupos() <= 2000);
+    }
+
+    @Test
+    @DisplayName("Com a fila cheia o lote é recusado sem ser gravado")
+    void recusaComFilaCheia() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        LoteVolatilRepository loteRepository = new LoteVolatilRepository() {
+            @Override
+            public List<Lote> saveAll(List<Lote> lista) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.saveAll(lista);
+            }
+        };
+        driver = new LoteReceberImplService(loteRepository, 2, 1, 0);
+        CompletableFuture<Lote> primeiro = driver.receber(Lote.builder().numeroDeItens(1).build());
+        while (driver.getPendentes() > 0) {
+            Thread.onSpinWait();
+        }
+        driver.receber(Lote.builder().numeroDeItens(2).build());
+        driver.receber(Lote.builder().numeroDeItens(3).build());
+
+        // Act
+        RecebimentoSaturadoException thrown = assertThrows(RecebimentoSaturadoException.class,
+                () -> driver.receber(Lote.builder().numeroDeItens(4).build()));
+
+        // Assert
+        assertEquals("Recebimento de lotes saturado!", thrown.getMessage());
+        assertEquals(1, driver.getRecusados());
+        liberar.countDown();
+        assertEquals(1, primeiro.get(10, TimeUnit.SECONDS).getNumeroDeItens());
+        driver.close();
+        assertEquals(3, loteRepository.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Um lote recusado pelo repositório não impede a gravação dos demais do grupo")
+    void erroAtribuidoAoLote() throws Exception {
+        // Arrange
+        LoteVolatilRepository loteRepository = new LoteVolatilRepository() {
+            @Override
+            public Lote save(Lote lote) {
+                if (lote.getNumeroDeItens() < 0) {
+                    throw new RuntimeException("Número de itens inválido!");
+                }
+                return super.save(lote);
+            }
+        };
+        driver = new LoteReceberImplService(loteRepository, 16, 16, 0);
+
+        // Act
+        CompletableFuture<Lote> anterior = driver.receber(Lote.builder().numeroDeItens(0).build());
+        CompletableFuture<Lote> invalido = driver.receber(Lote.builder().numeroDeItens(-1).build());
+        CompletableFuture<Lote> valido = driver.receber(Lote.builder().numeroDeItens(5).build());
+
+        // Assert
+        assertNotNull(anterior.get(10, TimeUnit.SECONDS).getId());
+        assertEquals(5, valido.get(10, TimeUnit.SECONDS).getNumeroDeItens());
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> invalido.get(10, TimeUnit.SECONDS));
+        assertEquals("Número de itens inválido!", thrown.getCause().getMessage());
+        assertEquals(2, loteRepository.findAll().size());
+        assertEquals(2, driver.getGravados());
+    }
+}
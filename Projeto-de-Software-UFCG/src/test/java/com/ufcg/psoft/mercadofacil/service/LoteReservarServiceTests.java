@@ -0,0 +1,222 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Reserva;
+import com.ufcg.psoft.mercadofacil.repository.LoteVolatilRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do serviço de reserva de itens de lotes")
+class LoteReservarServiceTests {
+
+    LoteReservarImplService driver;
+    LoteVolatilRepository loteRepository;
+    Relogio relogio;
+
+    @BeforeEach
+    void setup() {
+        loteRepository = new LoteVolatilRepository();
+        loteRepository.save(Lote.builder().id(1L).numeroDeItens(10).build());
+        relogio = new Relogio(Instant.parse("2023-05-01T12:00:00Z"));
+        driver = new LoteReservarImplService(loteRepository, 60_000, 0, relogio, false);
+    }
+
+    @Test
+    @DisplayName("Reservar retira os itens e liberar os devolve")
+    void reservaELibera() {
+        // Act
+        Reserva reserva = driver.reservar(1L, 4);
+
+        // Assert
+        assertEquals(6, loteRepository.find(1L).getNumeroDeItens());
+        driver.liberar(reserva.getId());
+        assertEquals(10, loteRepository.find(1L).getNumeroDeItens());
+    }
+
+    @Test
+    @DisplayName("Confirmar mantém os itens retirados e encerra a reserva")
+    void confirmaReserva() {
+        // Arrange
+        Reserva reserva = driver.reservar(1L, 4);
+
+        // Act
+        driver.confirmar(reserva.getId());
+
+        // Assert
+        assertEquals(6, loteRepository.find(1L).getNumeroDeItens());
+        ReservaNaoEncontradaException thrown = assertThrows(ReservaNaoEncontradaException.class,
+                () -> driver.liberar(reserva.getId()));
+        assertEquals("Reserva não encontrada!", thrown.getMessage());
+        assertEquals(6, loteRepository.find(1L).getNumeroDeItens());
+    }
+
+    @Test
+    @DisplayName("Não reserva mais itens do que o lote tem")
+    void recusaEstoqueInsuficiente() {
+        // Act
+        EstoqueInsuficienteException insuficiente = assertThrows(EstoqueInsuficienteException.class,
+                () -> driver.reservar(1L, 11));
+        LoteNaoEncontradoException inexistente = assertThrows(LoteNaoEncontradoException.class,
+                () -> driver.reservar(2L, 1));
+        ParametroInvalidoException invalida = assertThrows(ParametroInvalidoException.class,
+                () -> driver.reservar(1L, 0));
+
+        // Assert
+        assertEquals("Estoque insuficiente!", insuficiente.getMessage());
+        assertEquals("Lote não encontrado!", inexistente.getMessage());
+        assertEquals("Quantidade inválida!", invalida.getMessage());
+        assertEquals(10, loteRepository.find(1L).getNumeroDeItens());
+    }
+
+    @Test
+    @DisplayName("Reservas vencidas devolvem os itens ao lote e não podem mais ser confirmadas")
+    void expiraReservas() {
+        // Arrange
+        Reserva vencida = driver.reservar(1L, 4);
+        relogio.avancar(Duration.ofSeconds(30));
+        Reserva valida = driver.reservar(1L, 2);
+        relogio.avancar(Duration.ofSeconds(30));
+
+        // Act
+        int expiradas = driver.expirar();
+
+        // Assert
+        assertEquals(1, expiradas);
+        assertEquals(Instant.parse("2023-05-01T12:01:00Z"), vencida.getExpiraEm());
+        assertEquals(8, loteRepository.find(1L).getNumeroDeItens());
+        assertThrows(ReservaNaoEncontradaException.class, () -> driver.confirmar(vencida.getId()));
+        driver.confirmar(valida.getId());
+        assertEquals(0, driver.getPendentes());
+    }
+
+    @Test
+    @DisplayName("Liberar a reserva de um lote removido informa o erro")
+    void liberaReservaDeLoteRemovido() {
+        // Arrange
+        Reserva reserva = driver.reservar(1L, 4);
+        loteRepository.delete(loteRepository.find(1L));
+
+        // Act
+        LoteNaoEncontradoException thrown = assertThrows(LoteNaoEncontradoException.class,
+                () -> driver.liberar(reserva.getId()));
+
+        // Assert
+        assertEquals("Lote não encontrado!", thrown.getMessage());
+        assertEquals(0, driver.getPendentes());
+    }
+
+    @Test
+    @DisplayName("Ao encerrar, as reservas pendentes devolvem os itens ao lote")
+    void encerraDevolvendoPendentes() {
+        // Arrange
+        driver.reservar(1L, 4);
+        driver.confirmar(driver.reservar(1L, 3).getId());
+
+        // Act
+        driver.close();
+
+        // Assert
+        assertEquals(7, loteRepository.find(1L).getNumeroDeItens());
+        assertEquals(0, driver.getPendentes());
+    }
+
+    @Test
+    @DisplayName("Com lotes persistidos, as reservas são recusadas sem tocar no estoque")
+    void recusaComLotesPersistidos() {
+        // Arrange
+        driver = new LoteReservarImplService(loteRepository, 60_000, 0, relogio, true);
+
+        // Act
+        assertThrows(ReservasIndisponiveisException.class, () -> driver.reservar(1L, 4));
+
+        // Assert
+        assertEquals(10, loteRepository.find(1L).getNumeroDeItens());
+        assertEquals(0, driver.getPendentes());
+    }
+
+    @Test
+    @DisplayName("Reservas simultâneas no mesmo lote não perdem atualizações nem vendem além do estoque")
+    void reservasConcorrentes() throws Exception {
+        // Arrange
+        loteRepository.save(Lote.builder().id(1L).numeroDeItens(40_000).build());
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> tarefas = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newFixedThreadPool(64)) {
+            for (int t = 0; t < 64; t++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    int reservados = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        try {
+                            Reserva reserva = driver.reservar(1L, 1);
+                            reservados++;
+                            if (i % 4 == 0) {
+                                driver.liberar(reserva.getId());
+                                reservados--;
+                            } else {
+                                driver.confirmar(reserva.getId());
+                            }
+                        } catch (EstoqueInsuficienteException e) {
+                            // o estoque acabou
+                        }
+                    }
+                    return reservados;
+                }));
+            }
+            largada.countDown();
+            int confirmados = 0;
+            for (Future<Integer> tarefa : tarefas) {
+                confirmados += tarefa.get();
+            }
+
+            // Assert
+            int restantes = loteRepository.find(1L).getNumeroDeItens();
+            assertTrue(restantes >= 0);
+            assertEquals(40_000, confirmados + restantes);
+        }
+    }
+
+    private static class Relogio extends Clock {
+        private Instant agora;
+
+        Relogio(Instant agora) {
+            this.agora = agora;
+        }
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
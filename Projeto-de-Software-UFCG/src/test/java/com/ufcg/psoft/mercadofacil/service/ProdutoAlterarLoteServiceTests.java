@@ -0,0 +1,119 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.model.ProdutoAlteracaoResultado;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoVolatilRepository;
+import com.ufcg.psoft.mercadofacil.validacao.CodigoBarraValidator;
+import com.ufcg.psoft.mercadofacil.validacao.RegrasProduto;
+import com.ufcg.psoft.mercadofacil.validacao.ValidadorProduto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do serviço de alteração de produtos em lote")
+class ProdutoAlterarLoteServiceTests {
+
+    ProdutoAlterarLoteImplService driver;
+    ProdutoVolatilRepository produtoRepository;
+
+    @BeforeEach
+    void setup() {
+        produtoRepository = new ProdutoVolatilRepository();
+        ProdutoAlterarImplService produtoAlterarService = new ProdutoAlterarImplService();
+        produtoAlterarService.produtoRepository = produtoRepository;
+        produtoAlterarService.validadorProduto = new ValidadorProduto(RegrasProduto.padrao(new CodigoBarraValidator()));
+        driver = new ProdutoAlterarLoteImplService();
+        driver.produtoAlterarService = produtoAlterarService;
+        driver.produtoRepository = produtoRepository;
+    }
+
+    Produto produto(long id, String codigoBarra) {
+        return Produto.builder()
+                .id(id)
+                .codigoBarra(codigoBarra)
+                .nome("Produto " + id)
+                .fabricante("Empresa Dez")
+                .preco(10.0 + id)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Um produto inválido não impede a alteração dos demais")
+    void produtoInvalidoNaoFalhaOLote() {
+        // Arrange
+        List<Produto> produtos = List.of(
+                produto(10L, "7899137500100"),
+                produto(11L, "1119137550604"),
+                produto(12L, "7899137550600"));
+
+        // Act
+        List<ProdutoAlteracaoResultado> resultados = driver.alterarTodos(produtos);
+
+        // Assert
+        assertEquals(3, resultados.size());
+        assertTrue(resultados.get(0).isSucesso());
+        assertFalse(resultados.get(1).isSucesso());
+        assertEquals("País inválido!", resultados.get(1).getErro());
+        assertEquals(11L, resultados.get(1).getId());
+        assertTrue(resultados.get(2).isSucesso());
+        assertNotNull(produtoRepository.find(10L));
+        assertNull(produtoRepository.find(11L));
+        assertNotNull(produtoRepository.find(12L));
+    }
+
+    @Test
+    @DisplayName("Atribui ao produto certo a recusa feita pelo repositório")
+    void recusaDoRepositorio() {
+        // Arrange
+        produtoRepository.save(produto(1L, "7899137500100"));
+        List<Produto> produtos = List.of(
+                produto(10L, "7899137550600"),
+                produto(11L, "7899137500100"));
+
+        // Act
+        List<ProdutoAlteracaoResultado> resultados = driver.alterarTodos(produtos);
+
+        // Assert
+        assertTrue(resultados.get(0).isSucesso());
+        assertFalse(resultados.get(1).isSucesso());
+        assertEquals("Código de barras já cadastrado!", resultados.get(1).getErro());
+    }
+
+    @Test
+    @DisplayName("Entrega os resultados na ordem da entrada em vários lotes")
+    void resultadosEmOrdem() {
+        // Arrange
+        int quantidade = ProdutoAlterarLoteImplService.TAMANHO_LOTE * 3 + 7;
+        List<Produto> produtos = new ArrayList<>();
+        for (long id = 0; id < quantidade; id++) {
+            String codigoBarra = id % 2 == 0 ? codigoBarra(id) : "0000000000000";
+            produtos.add(produto(id, codigoBarra));
+        }
+
+        // Act
+        List<ProdutoAlteracaoResultado> resultados = driver.alterarTodos(produtos);
+
+        // Assert
+        assertEquals(quantidade, resultados.size());
+        for (int i = 0; i < quantidade; i++) {
+            assertEquals(i, resultados.get(i).getIndice());
+            assertEquals(i % 2 == 0, resultados.get(i).isSucesso());
+        }
+        assertEquals((quantidade + 1) / 2, produtoRepository.findAll().size());
+    }
+
+    static String codigoBarra(long id) {
+        String semVerificador = String.format("7899137%05d", id);
+        int soma = 0;
+        for (int i = 0; i < 12; i++) {
+            int digito = semVerificador.charAt(i) - '0';
+            soma += (i & 1) == 0 ? digito : digito * 3;
+        }
+        return semVerificador + (10 - soma % 10) % 10;
+    }
+}
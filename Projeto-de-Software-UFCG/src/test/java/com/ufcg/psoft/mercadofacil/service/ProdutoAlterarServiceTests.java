@@ -29,7 +29,7 @@ public class ProdutoAlterarServiceTests {
         Mockito.when(produtoRepository.find(10L))
                 .thenReturn(Produto.builder()
                         .id(10L)
-                        .codigoBarra("7899137500104")
+                        .codigoBarra("7899137500100")
                         .nome("Produto Dez")
                         .fabricante("Empresa Dez")
                         .preco(450.00)
@@ -46,7 +46,7 @@ public class ProdutoAlterarServiceTests {
         Mockito.when(produtoRepository.update(produto))
                 .thenReturn(Produto.builder()
                         .id(10L)
-                        .codigoBarra("7899137500104")
+                        .codigoBarra("7899137500100")
                         .nome("Produto Dez Atualizado")
                         .fabricante("Empresa Dez")
                         .preco(450.00)
@@ -66,6 +66,7 @@ public class ProdutoAlterarServiceTests {
         /* AAA Pattern */
         //Arrange
         produto.setNome("Nome Produto Alterado");
+        Mockito.when(produtoRepository.update(produto)).thenReturn(produto);
         //Act
         Produto resultado = driver.alterar(produto);
         //Assert
@@ -83,7 +84,7 @@ public class ProdutoAlterarServiceTests {
                 () -> driver.alterar(produto)
         );
         //Assert
-        assertEquals("Preco invalido!", thrown.getMessage());
+        assertEquals("Preco inválido!", thrown.getMessage());
     }
 
     /**
@@ -98,7 +99,7 @@ public class ProdutoAlterarServiceTests {
         Mockito.when(produtoRepository.update(produto))
                 .thenReturn(Produto.builder()
                         .id(7L)
-                        .codigoBarra("7899137500104")
+                        .codigoBarra("7899137500100")
                         .nome("Produto Dez")
                         .fabricante("Empresa Dez Atualizado")
                         .preco(450.00)
@@ -123,7 +124,7 @@ public class ProdutoAlterarServiceTests {
                 () -> driver.alterar(produto)
         );
         //Assert
-        assertEquals("Nome invalido!", thrown.getMessage());
+        assertEquals("Nome inválido!", thrown.getMessage());
     }
 
     @Test
@@ -134,7 +135,7 @@ public class ProdutoAlterarServiceTests {
         Mockito.when(produtoRepository.update(produto))
                 .thenReturn(Produto.builder()
                         .id(10L)
-                        .codigoBarra("7899137500104")
+                        .codigoBarra("7899137500100")
                         .nome("Produto Dez Atualizado")
                         .fabricante("Empresa Dez")
                         .preco(225.50)
@@ -152,11 +153,11 @@ public class ProdutoAlterarServiceTests {
     @DisplayName("Quando o código de barras é válido")
     void codigoBarraValido() {
     	// Arrange
-        produto.setCodigoBarra("7899137550604");
+        produto.setCodigoBarra("7899137550600");
         Mockito.when(produtoRepository.update(produto))
                 .thenReturn(Produto.builder()
                         .id(10L)
-                        .codigoBarra("7899137550604")
+                        .codigoBarra("7899137550600")
                         .nome("Produto Dez Atualizado")
                         .fabricante("Empresa Dez")
                         .preco(225.50)
@@ -167,7 +168,7 @@ public class ProdutoAlterarServiceTests {
         Produto resultado = driver.alterar(produto);
 
         // Assert
-        assertEquals("7899137550604", resultado.getCodigoBarra());
+        assertEquals("7899137550600", resultado.getCodigoBarra());
     }
 
     @Test
@@ -181,7 +182,7 @@ public class ProdutoAlterarServiceTests {
                 () -> driver.alterar(produto)
         );
         //Assert
-        assertEquals("País invalido!", thrown.getMessage());
+        assertEquals("País inválido!", thrown.getMessage());
         
     }
 
@@ -196,21 +197,21 @@ public class ProdutoAlterarServiceTests {
                 () -> driver.alterar(produto)
         );
         //Assert
-        assertEquals("Empresa invalido!", thrown.getMessage());
+        assertEquals("Empresa inválido!", thrown.getMessage());
     }
 
     @Test
     @DisplayName("Quando o dígito verificador no código de barras é inválido")
     void codigoBarraIvnalidoDigitoVerificador() {
     	// Arrange
-        produto.setCodigoBarra("7898137545674");
+        produto.setCodigoBarra("7899137545674");
         // Act
         RuntimeException thrown = assertThrows(
                 RuntimeException.class,
                 () -> driver.alterar(produto)
         );
         //Assert
-        assertEquals("Produto invalido!", thrown.getMessage());
+        assertEquals("Produto inválido!", thrown.getMessage());
     }
 
     @Test
@@ -221,7 +222,7 @@ public class ProdutoAlterarServiceTests {
         Mockito.when(produtoRepository.update(produto))
                 .thenReturn(Produto.builder()
                         .id(10L)
-                        .codigoBarra("7899137500104")
+                        .codigoBarra("7899137500100")
                         .nome("Produto Dez")
                         .fabricante("Empresa Dez Atualizado")
                         .preco(450.00)
@@ -241,6 +242,7 @@ public class ProdutoAlterarServiceTests {
         /* AAA Pattern */
         //Arrange
         produto.setFabricante("Empresa Dez Alterado");
+        Mockito.when(produtoRepository.update(produto)).thenReturn(produto);
         //Act
         Produto resultado = driver.alterar(produto);
         //Assert
@@ -258,7 +260,7 @@ public class ProdutoAlterarServiceTests {
                 () -> driver.alterar(produto)
         );
         //Assert
-        assertEquals("Fabricante invalido!", thrown.getMessage());
+        assertEquals("Fabricante inválido!", thrown.getMessage());
     }
     
 }
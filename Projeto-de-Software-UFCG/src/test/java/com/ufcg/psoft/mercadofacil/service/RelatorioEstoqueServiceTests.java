@@ -0,0 +1,134 @@
+package com.ufcg.psoft.mercadofacil.service;
+
+import com.ufcg.psoft.mercadofacil.model.Estoque;
+import com.ufcg.psoft.mercadofacil.model.HistogramaPrecos;
+import com.ufcg.psoft.mercadofacil.model.Lote;
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import com.ufcg.psoft.mercadofacil.model.ValorEstoque;
+import com.ufcg.psoft.mercadofacil.repository.LoteVolatilRepository;
+import com.ufcg.psoft.mercadofacil.repository.ProdutoVolatilRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do serviço de relatórios de estoque")
+class RelatorioEstoqueServiceTests {
+
+    RelatorioEstoqueImplService driver;
+    ProdutoVolatilRepository produtoRepository;
+    LoteVolatilRepository loteRepository;
+
+    @BeforeEach
+    void setup() {
+        produtoRepository = new ProdutoVolatilRepository();
+        loteRepository = new LoteVolatilRepository();
+        driver = new RelatorioEstoqueImplService(4);
+        driver.produtoRepository = produtoRepository;
+        driver.loteRepository = loteRepository;
+        // Produtos 1 a 10.000, com preço 1 a 100 e dez fabricantes; lotes de id % 7 itens.
+        for (long id = 1; id <= 10_000; id++) {
+            Produto produto = produtoRepository.save(Produto.builder()
+                    .id(id)
+                    .nome("Produto " + id)
+                    .fabricante("Empresa " + id % 10)
+                    .preco(1.0 + id % 100)
+                    .build());
+            loteRepository.save(Lote.builder().produto(produto).numeroDeItens((int) (id % 7)).build());
+            loteRepository.save(Lote.builder().produto(produto).numeroDeItens((int) (id % 7)).build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    @DisplayName("O valor por fabricante soma preço vezes itens de cada produto")
+    void valorPorFabricante() {
+        // Arrange
+        double[] valor = new double[10];
+        long[] itens = new long[10];
+        for (long id = 1; id <= 10_000; id++) {
+            itens[(int) (id % 10)] += 2 * (id % 7);
+            valor[(int) (id % 10)] += 2 * (id % 7) * (1.0 + id % 100);
+        }
+
+        // Act
+        List<ValorEstoque> relatorio = driver.valorPorFabricante();
+
+        // Assert
+        assertEquals(10, relatorio.size());
+        for (ValorEstoque linha : relatorio) {
+            int fabricante = Integer.parseInt(linha.getFabricante().substring("Empresa ".length()));
+            assertEquals(1000, linha.getProdutos());
+            assertEquals(itens[fabricante], linha.getItens());
+            assertEquals(valor[fabricante], linha.getValor(), 1e-6);
+        }
+        for (int i = 1; i < relatorio.size(); i++) {
+            assertTrue(relatorio.get(i - 1).getValor() >= relatorio.get(i).getValor());
+        }
+    }
+
+    @Test
+    @DisplayName("O estoque baixo lista os produtos abaixo do limiar, do menor estoque para o maior")
+    void estoqueBaixo() {
+        // Act
+        List<Estoque> relatorio = driver.estoqueBaixo(3, 1000);
+
+        // Assert
+        assertEquals(1000, relatorio.size());
+        assertEquals(7L, relatorio.get(0).getProdutoId());
+        assertEquals(0, relatorio.get(0).getItens());
+        assertEquals(2, relatorio.get(0).getLotes());
+        for (int i = 1; i < relatorio.size(); i++) {
+            assertTrue(relatorio.get(i - 1).getItens() <= relatorio.get(i).getItens());
+            assertTrue(relatorio.get(i).getItens() < 3);
+        }
+        ParametroInvalidoException thrown = assertThrows(ParametroInvalidoException.class, () -> driver.estoqueBaixo(3, 0));
+        assertEquals("Limite inválido!", thrown.getMessage());
+    }
+
+    @Test
+    @DisplayName("O histograma divide os preços em faixas de mesma largura")
+    void histogramaPrecos() {
+        // Act
+        HistogramaPrecos histograma = driver.histogramaPrecos(4);
+
+        // Assert
+        assertEquals(1.0, histograma.getMinimo());
+        assertEquals(100.0, histograma.getMaximo());
+        assertEquals(4, histograma.getFaixas().size());
+        assertEquals(100.0, histograma.getFaixas().get(3).getFim());
+        long produtos = 0;
+        long itens = 0;
+        for (HistogramaPrecos.Faixa faixa : histograma.getFaixas()) {
+            produtos += faixa.getProdutos();
+            itens += faixa.getItens();
+        }
+        assertEquals(10_000, produtos);
+        assertEquals(driver.valorPorFabricante().stream().mapToLong(ValorEstoque::getItens).sum(), itens);
+        ParametroInvalidoException thrown = assertThrows(ParametroInvalidoException.class, () -> driver.histogramaPrecos(0));
+        assertEquals("Número de faixas inválido!", thrown.getMessage());
+    }
+
+    @Test
+    @DisplayName("Sem produtos, os relatórios vêm vazios")
+    void semProdutos() {
+        // Arrange
+        produtoRepository.deleteAll();
+
+        // Act
+        HistogramaPrecos histograma = driver.histogramaPrecos(10);
+
+        // Assert
+        assertTrue(histograma.getFaixas().isEmpty());
+        assertTrue(driver.valorPorFabricante().isEmpty());
+        assertTrue(driver.estoqueBaixo(10, 100).isEmpty());
+    }
+}
@@ -0,0 +1,52 @@
+package com.ufcg.psoft.mercadofacil.validacao;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do validador de código de barras")
+class CodigoBarraValidatorTests {
+
+    CodigoBarraValidator driver = new CodigoBarraValidator();
+
+    @Test
+    @DisplayName("Quando o código de barras é válido")
+    void codigoBarraValido() {
+        assertEquals(CodigoBarraValidacao.VALIDO, driver.validar("7899137500100"));
+        assertEquals(CodigoBarraValidacao.VALIDO, driver.validar("7899137550600"));
+    }
+
+    @Test
+    @DisplayName("Quando o código de barras não tem 13 dígitos")
+    void tamanhoInvalido() {
+        assertEquals(CodigoBarraValidacao.TAMANHO_INVALIDO, driver.validar("789913750010"));
+        assertEquals(CodigoBarraValidacao.TAMANHO_INVALIDO, driver.validar(null));
+    }
+
+    @Test
+    @DisplayName("Quando o código de barras contém caracteres que não são dígitos")
+    void caractereInvalido() {
+        assertEquals(CodigoBarraValidacao.CARACTERE_INVALIDO, driver.validar("78991375001a0"));
+    }
+
+    @Test
+    @DisplayName("Quando o país no código de barras é inválido")
+    void paisInvalido() {
+        assertEquals(CodigoBarraValidacao.PAIS_INVALIDO, driver.validar("1119137550604"));
+    }
+
+    @Test
+    @DisplayName("Quando a empresa no código de barras é inválida")
+    void empresaInvalida() {
+        assertEquals(CodigoBarraValidacao.EMPRESA_INVALIDA, driver.validar("7898137500104"));
+    }
+
+    @Test
+    @DisplayName("Quando o dígito verificador no código de barras é inválido")
+    void digitoVerificadorInvalido() {
+        CodigoBarraValidacao resultado = driver.validar("7899137545674");
+        assertEquals(CodigoBarraValidacao.DIGITO_VERIFICADOR_INVALIDO, resultado);
+        assertEquals("Produto inválido!", resultado.getMensagem());
+    }
+}
@@ -0,0 +1,87 @@
+package com.ufcg.psoft.mercadofacil.validacao;
+
+import com.ufcg.psoft.mercadofacil.model.Produto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do validador de produtos")
+class ValidadorProdutoTests {
+
+    ValidadorProduto driver = new ValidadorProduto(RegrasProduto.padrao(new CodigoBarraValidator()));
+
+    Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        produto = Produto.builder()
+                .id(10L)
+                .codigoBarra("7899137500100")
+                .nome("Produto Dez")
+                .fabricante("Empresa Dez")
+                .preco(450.00)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Quando o produto é válido")
+    void produtoValido() {
+        assertSame(ResultadoValidacao.VALIDO, driver.validar(produto));
+    }
+
+    @Test
+    @DisplayName("Reúne todas as violações em uma única passada, na ordem das regras")
+    void reuneTodasAsViolacoes() {
+        // Arrange
+        produto.setPreco(0.0);
+        produto.setNome(null);
+        produto.setFabricante(" ");
+        produto.setCodigoBarra("1119137550604");
+
+        // Act
+        ResultadoValidacao resultado = driver.validar(produto);
+
+        // Assert
+        assertEquals(List.of(
+                ErroValidacao.PRECO_INVALIDO,
+                ErroValidacao.NOME_INVALIDO,
+                ErroValidacao.FABRICANTE_INVALIDO,
+                ErroValidacao.PAIS_INVALIDO), resultado.getErros());
+        assertEquals("Preco inválido!", resultado.getMensagem());
+    }
+
+    @Test
+    @DisplayName("O resultado de uma única violação é pré-alocado")
+    void violacaoUnicaPreAlocada() {
+        // Arrange
+        produto.setCodigoBarra("7899137545674");
+
+        // Act
+        ResultadoValidacao resultado = driver.validar(produto);
+
+        // Assert
+        assertSame(resultado, driver.validar(produto));
+        assertTrue(resultado.contem(ErroValidacao.DIGITO_VERIFICADOR_INVALIDO));
+        assertEquals("Produto inválido!", resultado.getMensagem());
+    }
+
+    @Test
+    @DisplayName("Uma regra nova entra na cadeia")
+    void regraAdicional() {
+        // Arrange
+        ValidadorProduto comLimite = new ValidadorProduto(List.of(
+                RegrasProduto.preco(),
+                p -> p.getPreco() > 1000 ? ErroValidacao.PRECO_INVALIDO : null));
+        produto.setPreco(1500.0);
+
+        // Act
+        ResultadoValidacao resultado = comLimite.validar(produto);
+
+        // Assert
+        assertEquals(List.of(ErroValidacao.PRECO_INVALIDO), resultado.getErros());
+    }
+}